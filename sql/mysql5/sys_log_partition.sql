@@ -0,0 +1,31 @@
+# YouLai_Boot 系统日志表按月分区迁移脚本(MySQL 5.x)
+# 已有数据库升级时执行：sys_log 改为 InnoDB，主键加入 create_time，并按 create_time 建立 RANGE 分区
+# 迁移只创建 MAXVALUE 分区 pmax，月份分区由定时任务 logPartitionJobHandler 首次执行时从 pmax 拆分，
+# 首次拆分会重建表中已有数据，数据量较大时请在业务低峰期执行本脚本和首次任务
+
+use youlai_boot;
+
+SET NAMES utf8mb4;
+
+-- 创建时间为空的历史日志无法归入月份分区，转存到 sys_log_untimed 后从日志表删除
+CREATE TABLE IF NOT EXISTS `sys_log_untimed` LIKE `sys_log`;
+INSERT INTO `sys_log_untimed` SELECT * FROM `sys_log` WHERE `create_time` IS NULL;
+DELETE FROM `sys_log` WHERE `create_time` IS NULL;
+
+ALTER TABLE `sys_log` ENGINE = InnoDB;
+
+ALTER TABLE `sys_log`
+    MODIFY COLUMN `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+
+ALTER TABLE `sys_log`
+    PARTITION BY RANGE (TO_DAYS(`create_time`)) (
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
+
+-- 日志保留月数，过期分区归档后删除，0 表示永久保留
+INSERT INTO `sys_config` (`config_name`, `config_key`, `config_value`, `remark`, `create_time`, `create_by`, `is_deleted`)
+SELECT '日志保留月数', 'LOG_RETENTION_MONTHS', '6', '操作日志按月分区保留的月数，过期分区归档后删除，0 表示永久保留', NOW(), 1, 0
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM `sys_config` WHERE `config_key` = 'LOG_RETENTION_MONTHS' AND `is_deleted` = 0);
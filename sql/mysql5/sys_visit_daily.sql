@@ -0,0 +1,51 @@
+# YouLai_Boot 访问量日统计表迁移脚本(MySQL 5.x)
+# 已有数据库升级时执行：创建 sys_visit_daily、sys_visit_daily_uri 并根据 sys_log 回填历史数据
+# Redis 中的访客数 HyperLogLog 由定时任务 visitStatsBackfillJobHandler 回填
+
+use youlai_boot;
+
+SET NAMES utf8;
+
+CREATE TABLE IF NOT EXISTS `sys_visit_daily` (
+                                   `stat_date` date NOT NULL COMMENT '统计日期',
+                                   `pv` bigint NOT NULL DEFAULT 0 COMMENT '浏览量(PV)',
+                                   `uv` bigint NOT NULL DEFAULT 0 COMMENT '访客数(UV，按IP去重)',
+                                   `update_time` datetime DEFAULT NULL COMMENT '更新时间',
+                                   PRIMARY KEY (`stat_date`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8 COLLATE = utf8_general_ci COMMENT = '访问量日统计表' ROW_FORMAT = DYNAMIC;
+
+CREATE TABLE IF NOT EXISTS `sys_visit_daily_uri` (
+                                       `stat_date` date NOT NULL COMMENT '统计日期',
+                                       `request_uri` varchar(255) NOT NULL DEFAULT '' COMMENT '请求路径(接口路径模板)',
+                                       `pv` bigint NOT NULL DEFAULT 0 COMMENT '浏览量(PV)',
+                                       PRIMARY KEY (`stat_date`, `request_uri`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8 COLLATE = utf8_general_ci COMMENT = '接口访问量日统计表' ROW_FORMAT = DYNAMIC;
+
+-- 回填今天之前的历史数据，今天的数据由应用实时统计
+INSERT INTO `sys_visit_daily` (`stat_date`, `pv`, `uv`, `update_time`)
+SELECT
+    DATE(create_time),
+    COUNT(*),
+    COUNT(DISTINCT ip),
+    NOW()
+FROM
+    sys_log
+WHERE
+    is_deleted = 0 AND create_time < CURDATE()
+GROUP BY
+    DATE(create_time)
+ON DUPLICATE KEY UPDATE `pv` = VALUES(`pv`), `uv` = VALUES(`uv`), `update_time` = VALUES(`update_time`);
+
+-- 历史日志中没有接口路径模板，按请求路径统计
+INSERT INTO `sys_visit_daily_uri` (`stat_date`, `request_uri`, `pv`)
+SELECT
+    DATE(create_time),
+    IFNULL(request_uri, ''),
+    COUNT(*)
+FROM
+    sys_log
+WHERE
+    is_deleted = 0 AND create_time < CURDATE()
+GROUP BY
+    DATE(create_time), IFNULL(request_uri, '')
+ON DUPLICATE KEY UPDATE `pv` = VALUES(`pv`);
@@ -0,0 +1,30 @@
+# YouLai_Boot 部门闭包表迁移脚本(MySQL 8.x)
+# 已有数据库升级时执行：创建 sys_dept_closure 并根据 sys_dept.tree_path 回填
+
+use youlai_boot;
+
+SET NAMES utf8mb4;
+
+CREATE TABLE IF NOT EXISTS `sys_dept_closure`  (
+                                     `ancestor_id` bigint NOT NULL COMMENT '祖先部门ID',
+                                     `descendant_id` bigint NOT NULL COMMENT '后代部门ID',
+                                     `depth` int NOT NULL DEFAULT 0 COMMENT '层级距离(0-自身)',
+                                     PRIMARY KEY (`ancestor_id`, `descendant_id`) USING BTREE,
+                                     INDEX `idx_descendant`(`descendant_id`, `ancestor_id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '部门闭包表' ROW_FORMAT = DYNAMIC;
+
+START TRANSACTION;
+
+DELETE FROM `sys_dept_closure`;
+
+-- 每个部门与其自身及 tree_path 中的每个祖先部门(不含虚拟根节点 0)各一条记录，层级距离为两者 tree_path 段数之差
+INSERT INTO `sys_dept_closure` (`ancestor_id`, `descendant_id`, `depth`)
+SELECT
+    a.id,
+    d.id,
+    (LENGTH(d.tree_path) - LENGTH(REPLACE(d.tree_path, ',', ''))) - (LENGTH(a.tree_path) - LENGTH(REPLACE(a.tree_path, ',', '')))
+FROM
+    sys_dept d
+    INNER JOIN sys_dept a ON a.id = d.id OR FIND_IN_SET(a.id, d.tree_path);
+
+COMMIT;
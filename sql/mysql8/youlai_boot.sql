@@ -48,6 +48,27 @@ INSERT INTO `sys_dept` VALUES (1, '有来技术', 'YOULAI', 0, '0', 1, 1, 1, NUL
 INSERT INTO `sys_dept` VALUES (2, '研发部门', 'RD001', 1, '0,1', 1, 1, 2, NULL, 2, '2022-04-19 12:46:37', 0);
 INSERT INTO `sys_dept` VALUES (3, '测试部门', 'QA001', 1, '0,1', 1, 1, 2, NULL, 2, '2022-04-19 12:46:37', 0);
 
+-- ----------------------------
+-- Table structure for sys_dept_closure
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_dept_closure`;
+CREATE TABLE `sys_dept_closure`  (
+                                     `ancestor_id` bigint NOT NULL COMMENT '祖先部门ID',
+                                     `descendant_id` bigint NOT NULL COMMENT '后代部门ID',
+                                     `depth` int NOT NULL DEFAULT 0 COMMENT '层级距离(0-自身)',
+                                     PRIMARY KEY (`ancestor_id`, `descendant_id`) USING BTREE,
+                                     INDEX `idx_descendant`(`descendant_id`, `ancestor_id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '部门闭包表' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of sys_dept_closure
+-- ----------------------------
+INSERT INTO `sys_dept_closure` VALUES (1, 1, 0);
+INSERT INTO `sys_dept_closure` VALUES (1, 2, 1);
+INSERT INTO `sys_dept_closure` VALUES (1, 3, 1);
+INSERT INTO `sys_dept_closure` VALUES (2, 2, 0);
+INSERT INTO `sys_dept_closure` VALUES (3, 3, 0);
+
 -- ----------------------------
 -- Table structure for sys_dict
 -- ----------------------------
@@ -417,11 +438,37 @@ CREATE TABLE `sys_log` (
                            `browser_version` varchar(100)  DEFAULT NULL COMMENT '浏览器版本',
                            `os` varchar(100)  DEFAULT NULL COMMENT '终端系统',
                            `create_by` bigint DEFAULT NULL COMMENT '创建人ID',
-                           `create_time` datetime DEFAULT NULL COMMENT '创建时间',
+                           `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
                            `is_deleted` tinyint NOT NULL DEFAULT '0' COMMENT '逻辑删除标识(1-已删除 0-未删除)',
-                           PRIMARY KEY (`id`) USING BTREE,
+                           PRIMARY KEY (`id`, `create_time`) USING BTREE,
                            KEY `idx_create_time` (`create_time`)
-) ENGINE=MyISAM DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci ROW_FORMAT=DYNAMIC COMMENT='系统日志表';
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci ROW_FORMAT=DYNAMIC COMMENT='系统日志表'
+PARTITION BY RANGE (TO_DAYS(`create_time`)) (
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- ----------------------------
+-- Table structure for sys_visit_daily
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_visit_daily`;
+CREATE TABLE `sys_visit_daily` (
+                                   `stat_date` date NOT NULL COMMENT '统计日期',
+                                   `pv` bigint NOT NULL DEFAULT 0 COMMENT '浏览量(PV)',
+                                   `uv` bigint NOT NULL DEFAULT 0 COMMENT '访客数(UV，按IP去重)',
+                                   `update_time` datetime DEFAULT NULL COMMENT '更新时间',
+                                   PRIMARY KEY (`stat_date`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '访问量日统计表' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Table structure for sys_visit_daily_uri
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_visit_daily_uri`;
+CREATE TABLE `sys_visit_daily_uri` (
+                                       `stat_date` date NOT NULL COMMENT '统计日期',
+                                       `request_uri` varchar(255) NOT NULL DEFAULT '' COMMENT '请求路径(接口路径模板)',
+                                       `pv` bigint NOT NULL DEFAULT 0 COMMENT '浏览量(PV)',
+                                       PRIMARY KEY (`stat_date`, `request_uri`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '接口访问量日统计表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
 -- Table structure for gen_config
@@ -490,6 +537,7 @@ CREATE TABLE `sys_config` (
 ) ENGINE=InnoDB COMMENT='系统配置表';
 
 INSERT INTO `sys_config` VALUES (1, '系统限流QPS', 'IP_QPS_THRESHOLD_LIMIT', '10', '单个IP请求的最大每秒查询数（QPS）阈值Key', now(), 1, NULL, NULL, 0);
+INSERT INTO `sys_config` VALUES (2, '日志保留月数', 'LOG_RETENTION_MONTHS', '6', '操作日志按月分区保留的月数，过期分区归档后删除，0 表示永久保留', now(), 1, NULL, NULL, 0);
 
 -- ----------------------------
 -- 通知公告表
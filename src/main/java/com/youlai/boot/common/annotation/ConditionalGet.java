@@ -0,0 +1,27 @@
+package com.youlai.boot.common.annotation;
+
+import com.youlai.boot.common.enums.DataDomainEnum;
+
+import java.lang.annotation.*;
+
+/**
+ * 条件请求注解
+ * <p>
+ * 标注在 GET 接口上，响应携带由所依赖数据域的版本号和当前用户身份生成的 ETag；
+ * 请求头 If-None-Match 与之匹配时直接返回 304，不执行接口方法。
+ * 不要与 {@link Log} 同时使用：304 不执行接口方法，操作日志和访问统计无法记录，同时标注时条件处理不生效。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    /**
+     * 接口数据所依赖的数据域
+     */
+    DataDomainEnum[] value();
+
+}
@@ -7,6 +7,7 @@ import java.lang.annotation.*;
  * 防止重复提交注解
  * <p>
  * 该注解用于方法上，防止在指定时间内的重复提交。 默认时间为5秒。
+ * 同一令牌、请求方法、请求路径和请求参数视为同一次提交。
  *
  * @author Ray.Hao
  * @since 2.3.0
@@ -24,4 +25,12 @@ public @interface RepeatSubmit {
      */
     int expire() default 5;
 
+    /**
+     * 是否重放首次响应
+     * <p>
+     * 开启后，有效期内的重复提交直接返回首次提交的响应结果，而不是提示重复提交；
+     * 首次提交仍在处理中时依然提示重复提交
+     */
+    boolean replay() default false;
+
 }
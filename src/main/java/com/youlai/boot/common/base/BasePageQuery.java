@@ -1,7 +1,10 @@
 package com.youlai.boot.common.base;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -25,5 +28,18 @@ public class BasePageQuery implements Serializable {
     @Schema(description = "每页记录数", requiredMode = Schema.RequiredMode.REQUIRED, example = "10")
     private int pageSize = 10;
 
+    @Schema(description = "分页游标(传入时启用游标分页：首页传空字符串，后续页传上一页返回的 nextCursor，忽略页码)")
+    private String cursor;
+
+    @Schema(description = "是否统计总数(不统计时 total 为 -1；游标分页只在首页统计)", example = "true")
+    private boolean searchCount = true;
+
+    /**
+     * 解析后的游标位置，由 {@link CursorPage#of(BasePageQuery)} 写入，不接收请求参数
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    @Setter(AccessLevel.PACKAGE)
+    private transient PageCursor seek;
 
 }
@@ -0,0 +1,104 @@
+package com.youlai.boot.common.base;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+
+import java.io.Serial;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页对象
+ * <p>
+ * 请求中携带 {@code cursor} 参数时启用游标分页：按 (排序值, ID) 从上一页最后一条记录之后查询，
+ * 多查询一条记录判断是否存在下一页，不再使用 OFFSET；总数只在首页统计，随游标传递给后续页。
+ * 未携带 {@code cursor} 时仍为页码分页。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Getter
+public class CursorPage<T> extends Page<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 每页记录数
+     */
+    private final int pageSize;
+
+    /**
+     * 下一页游标，没有下一页时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否存在下一页
+     */
+    private boolean hasNext;
+
+    private CursorPage(int pageSize, PageCursor seek, boolean searchCount) {
+        // 首页且需要统计时才执行 COUNT，多查询一条用于判断是否存在下一页
+        super(1, pageSize + 1L, seek == null && searchCount);
+        this.pageSize = pageSize;
+        if (!searchCount) {
+            setTotal(-1);
+        } else if (seek != null) {
+            setTotal(seek.getTotal());
+        }
+    }
+
+    /**
+     * 根据查询参数构建分页对象
+     * <p>
+     * 同时解析游标并写入查询参数，供 SQL 拼接游标条件
+     *
+     * @param queryParams 分页查询参数
+     * @return 游标分页对象或页码分页对象
+     */
+    public static <T> Page<T> of(BasePageQuery queryParams) {
+        String cursor = queryParams.getCursor();
+        if (cursor == null) {
+            queryParams.setSeek(null);
+            Page<T> page = new Page<>(queryParams.getPageNum(), queryParams.getPageSize(), queryParams.isSearchCount());
+            if (!queryParams.isSearchCount()) {
+                page.setTotal(-1);
+            }
+            return page;
+        }
+        PageCursor seek = StrUtil.isBlank(cursor) ? null : PageCursor.decode(cursor);
+        queryParams.setSeek(seek);
+        return new CursorPage<>(Math.max(queryParams.getPageSize(), 1), seek, queryParams.isSearchCount());
+    }
+
+    /**
+     * 查询完成后截取本页记录并生成下一页游标，页码分页时不处理
+     *
+     * @param page      分页结果
+     * @param sortValue 记录的排序值
+     * @param id        记录的ID
+     */
+    public static <T> void complete(IPage<T> page, Function<T, LocalDateTime> sortValue, Function<T, Long> id) {
+        if (page instanceof CursorPage<T> cursorPage) {
+            cursorPage.complete(sortValue, id);
+        }
+    }
+
+    private void complete(Function<T, LocalDateTime> sortValue, Function<T, Long> id) {
+        List<T> records = getRecords();
+        hasNext = records.size() > pageSize;
+        if (hasNext) {
+            records = records.subList(0, pageSize);
+            setRecords(records);
+            T last = records.get(records.size() - 1);
+            LocalDateTime lastSortValue = sortValue.apply(last);
+            nextCursor = new PageCursor(lastSortValue != null ? lastSortValue : PageCursor.NULL_SORT_VALUE,
+                    id.apply(last), getTotal()).encode();
+        }
+        setSize(pageSize);
+    }
+}
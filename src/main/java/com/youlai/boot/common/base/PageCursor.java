@@ -0,0 +1,81 @@
+package com.youlai.boot.common.base;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import com.youlai.boot.common.exception.BusinessException;
+import com.youlai.boot.common.result.ResultCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分页游标
+ * <p>
+ * 记录上一页最后一条记录的 (排序值, ID)，下一页从该位置之后继续查询，无需 OFFSET 扫描；
+ * 同时携带首页统计的总数，后续页不再重复统计。对外以 Base64 编码的不透明字符串传递。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 排序值为空的记录使用的排序值
+     * <p>
+     * 排序字段可为空时，SQL 以 COALESCE(排序字段, '1970-01-01 00:00:00') 排序和比较游标，
+     * 游标中的排序值同样替换为该值，避免 = NULL 比较导致后续页为空
+     */
+    public static final LocalDateTime NULL_SORT_VALUE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * 排序字段值
+     */
+    private final LocalDateTime sortValue;
+
+    /**
+     * 记录ID
+     */
+    private final Long id;
+
+    /**
+     * 总数，未统计时为 -1
+     */
+    private final long total;
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = StrUtil.toStringOrNull(sortValue) + SEPARATOR + id + SEPARATOR + total;
+        return Base64.encodeUrlSafe(raw, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串
+     * @return 分页游标
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            List<String> parts = StrUtil.split(Base64.decodeStr(cursor, StandardCharsets.UTF_8), SEPARATOR);
+            if (parts.size() != 3) {
+                throw new IllegalArgumentException("分页游标格式错误");
+            }
+            return new PageCursor(
+                    "null".equals(parts.get(0)) ? null : LocalDateTime.parse(parts.get(0)),
+                    Long.valueOf(parts.get(1)),
+                    Long.parseLong(parts.get(2))
+            );
+        } catch (RuntimeException e) {
+            throw new BusinessException(ResultCode.PARAMETER_FORMAT_MISMATCH, "无效的分页游标");
+        }
+    }
+}
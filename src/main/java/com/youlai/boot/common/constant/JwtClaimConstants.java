@@ -30,4 +30,24 @@ public interface JwtClaimConstants {
      */
     String AUTHORITIES = "authorities";
 
+    /**
+     * 用户ID(紧凑格式)
+     */
+    String COMPACT_USER_ID = "uid";
+
+    /**
+     * 部门ID(紧凑格式)
+     */
+    String COMPACT_DEPT_ID = "did";
+
+    /**
+     * 数据权限(紧凑格式)
+     */
+    String COMPACT_DATA_SCOPE = "ds";
+
+    /**
+     * 角色Code集合(紧凑格式，不含 ROLE_ 前缀)
+     */
+    String COMPACT_ROLES = "rol";
+
 }
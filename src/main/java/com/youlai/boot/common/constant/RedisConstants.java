@@ -18,6 +18,16 @@ public interface RedisConstants {
      */
     String IP_RATE_LIMITER_KEY = "rate:limiter:ip:";
 
+    /**
+     * 用户限流 Redis 键
+     */
+    String USER_RATE_LIMITER_KEY = "rate:limiter:user:";
+
+    /**
+     * 路由限流 Redis 键
+     */
+    String ROUTE_RATE_LIMITER_KEY = "rate:limiter:route:";
+
     /**
      * 防重复提交 Redis 键前缀
      */
@@ -37,4 +47,74 @@ public interface RedisConstants {
      * 绑定或更换邮箱验证码 Redis 键前缀
      */
     String EMAIL_CHANGE_CODE_PREFIX = "code:email:change:";
+
+    /**
+     * 令牌认证缓存失效消息频道
+     */
+    String TOKEN_CACHE_EVICT_TOPIC = "topic:token:cache:evict";
+
+    /**
+     * 令牌黑名单同步消息频道
+     */
+    String TOKEN_BLACKLIST_TOPIC = "topic:token:blacklist";
+
+    /**
+     * 角色权限变更消息频道
+     */
+    String ROLE_PERMS_EVICT_TOPIC = "topic:role:perms:evict";
+
+    /**
+     * 系统配置变更消息频道
+     */
+    String SYSTEM_CONFIG_CHANGE_TOPIC = "topic:system:config:change";
+
+    /**
+     * 用户认证信息缓存失效消息频道
+     */
+    String USER_AUTH_EVICT_TOPIC = "topic:user:auth:evict";
+
+    /**
+     * 部门快照版本号 Redis 键
+     */
+    String DEPT_SNAPSHOT_VERSION_KEY = "dept:snapshot:version";
+
+    /**
+     * 部门数据变更消息频道
+     */
+    String DEPT_CHANGE_TOPIC = "topic:dept:change";
+
+    /**
+     * 菜单路由缓存失效消息频道
+     */
+    String MENU_ROUTES_EVICT_TOPIC = "topic:menu:routes:evict";
+
+    /**
+     * 数据域版本号 Redis 键前缀
+     */
+    String DATA_VERSION_PREFIX = "data:version:";
+
+    /**
+     * 访问量日统计 Redis 键前缀(Hash：total 及各小时 00~23 的浏览量)，后接日期 yyyyMMdd
+     */
+    String VISIT_PV_PREFIX = "visit:pv:";
+
+    /**
+     * 接口访问量日统计 Redis 键前缀(Hash：接口路径 -> 浏览量)，后接日期 yyyyMMdd
+     */
+    String VISIT_URI_PREFIX = "visit:uri:";
+
+    /**
+     * 访客 HyperLogLog Redis 键前缀(按小时)，后接 yyyyMMddHH
+     */
+    String VISIT_UV_PREFIX = "visit:uv:";
+
+    /**
+     * 累计访客 HyperLogLog Redis 键
+     */
+    String VISIT_UV_TOTAL_KEY = "visit:uv:total";
+
+    /**
+     * 累计浏览量 Redis 键
+     */
+    String VISIT_PV_TOTAL_KEY = "visit:pv:total";
 }
@@ -23,6 +23,21 @@ public interface SecurityConstants {
      */
     String BLACKLIST_TOKEN_PREFIX = "token:blacklist:";
 
+    /**
+     * 访问令牌会话缓存前缀(Redis Token 模式)
+     */
+    String ACCESS_TOKEN_PREFIX = "token:access:";
+
+    /**
+     * 刷新令牌会话缓存前缀(Redis Token 模式)
+     */
+    String REFRESH_TOKEN_PREFIX = "token:refresh:";
+
+    /**
+     * 用户会话索引缓存前缀(Redis Token 模式)，ZSET 结构，分值为令牌的过期时间戳(秒)
+     */
+    String USER_TOKENS_PREFIX = "token:user-tokens:";
+
     /**
      * 登录路径
      */
@@ -29,4 +29,9 @@ public interface SystemConstants {
      */
     String SYSTEM_CONFIG_IP_QPS_LIMIT_KEY = "IP_QPS_THRESHOLD_LIMIT";
 
+    /**
+     * 系统配置 操作日志保留月数的KEY
+     */
+    String SYSTEM_CONFIG_LOG_RETENTION_MONTHS_KEY = "LOG_RETENTION_MONTHS";
+
 }
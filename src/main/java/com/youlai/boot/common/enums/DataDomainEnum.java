@@ -0,0 +1,27 @@
+package com.youlai.boot.common.enums;
+
+import lombok.Getter;
+
+/**
+ * 数据域枚举
+ * <p>
+ * 每个数据域在 Redis 中保存一个递增的版本号，数据变更时递增，用于生成条件请求的 ETag
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Getter
+public enum DataDomainEnum {
+
+    MENU("menu"),
+    DICT("dict"),
+    DEPT("dept"),
+    ROLE("role"),
+    CONFIG("config");
+
+    private final String code;
+
+    DataDomainEnum(String code) {
+        this.code = code;
+    }
+}
@@ -2,12 +2,14 @@ package com.youlai.boot.common.exception;
 
 import cn.hutool.core.util.StrUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.youlai.boot.common.result.IResultCode;
 import com.youlai.boot.common.result.Result;
 import com.youlai.boot.common.result.ResultCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.security.access.AccessDeniedException;
@@ -213,16 +215,20 @@ public class GlobalExceptionHandler {
     /**
      * 处理业务异常
      * <p>
-     * 当业务逻辑发生错误时，会抛出 BusinessException 异常。
+     * 当业务逻辑发生错误时，会抛出 BusinessException 异常。请求次数或并发数超出限制时返回 429，其他返回 400。
      */
     @ExceptionHandler(BusinessException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public <T> Result<T> handleBizException(BusinessException e) {
+    public <T> ResponseEntity<Result<T>> handleBizException(BusinessException e) {
         log.error("biz exception", e);
-        if (e.getResultCode() != null) {
-            return Result.failed(e.getResultCode(), e.getMessage());
+        IResultCode resultCode = e.getResultCode();
+        HttpStatus status = resultCode == ResultCode.REQUEST_LIMIT_EXCEEDED
+                || resultCode == ResultCode.REQUEST_CONCURRENCY_LIMIT_EXCEEDED
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.BAD_REQUEST;
+        if (resultCode != null) {
+            return ResponseEntity.status(status).body(Result.failed(resultCode, e.getMessage()));
         }
-        return Result.failed(e.getMessage());
+        return ResponseEntity.status(status).body(Result.failed(e.getMessage()));
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.youlai.boot.common.result;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.youlai.boot.common.base.CursorPage;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -28,6 +30,10 @@ public class PageResult<T> implements Serializable {
         Data<T> data = new Data<>();
         data.setList(page.getRecords());
         data.setTotal(page.getTotal());
+        if (page instanceof CursorPage<T> cursorPage) {
+            data.setNextCursor(cursorPage.getNextCursor());
+            data.setHasNext(cursorPage.isHasNext());
+        }
 
         result.setData(data);
         result.setMsg(ResultCode.SUCCESS.getMsg());
@@ -41,6 +47,18 @@ public class PageResult<T> implements Serializable {
 
         private long total;
 
+        /**
+         * 下一页游标(仅游标分页)
+         */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String nextCursor;
+
+        /**
+         * 是否存在下一页(仅游标分页)
+         */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean hasNext;
+
     }
 
 }
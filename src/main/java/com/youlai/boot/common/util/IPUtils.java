@@ -1,6 +1,8 @@
 package com.youlai.boot.common.util;
 
 import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -11,9 +13,7 @@ import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.List;
 
 /**
  * IP工具类
@@ -32,23 +32,32 @@ import java.nio.file.StandardCopyOption;
 public class IPUtils {
 
     private static final String DB_PATH = "/data/ip2region.xdb";
+
+    /**
+     * ip2region 占位值，表示该字段未知
+     */
+    private static final String UNKNOWN_REGION = "0";
+
+    /**
+     * 基于内存缓冲区的查询器，查询时不访问磁盘，可在多线程间共享
+     */
     private static Searcher searcher;
 
+    /**
+     * 已解析的IP归属地缓存：IP -> 归属地
+     */
+    private static final Cache<String, Region> REGION_CACHE = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .build();
+
     @PostConstruct
     public void init() {
-        try {
-            // 从类路径加载资源文件
-            InputStream inputStream = getClass().getResourceAsStream(DB_PATH);
+        // 从类路径加载整个 xdb 文件到内存
+        try (InputStream inputStream = getClass().getResourceAsStream(DB_PATH)) {
             if (inputStream == null) {
                 throw new FileNotFoundException("Resource not found: " + DB_PATH);
             }
-
-            // 将资源文件复制到临时文件
-            Path tempDbPath = Files.createTempFile("ip2region", ".xdb");
-            Files.copy(inputStream, tempDbPath, StandardCopyOption.REPLACE_EXISTING);
-
-            // 使用临时文件初始化 Searcher 对象
-            searcher = Searcher.newWithFileOnly(tempDbPath.toString());
+            searcher = Searcher.newWithBuffer(inputStream.readAllBytes());
         } catch (Exception e) {
             log.error("IpRegionUtil initialization ERROR, {}", e.getMessage());
         }
@@ -136,4 +145,59 @@ public class IPUtils {
             return null;
         }
     }
+
+    /**
+     * 根据IP地址获取解析后的地理位置信息，结果按IP缓存
+     *
+     * @param ip IP地址
+     * @return 地理位置信息，查询失败时返回 null
+     */
+    public static Region getIpRegion(String ip) {
+        if (StrUtil.isBlank(ip)) {
+            return null;
+        }
+        Region region = REGION_CACHE.getIfPresent(ip);
+        if (region != null) {
+            return region;
+        }
+        String regionStr = getRegion(ip);
+        if (regionStr == null) {
+            return null;
+        }
+        region = parseRegion(regionStr);
+        REGION_CACHE.put(ip, region);
+        return region;
+    }
+
+    /**
+     * 解析地理位置信息，格式：国家|区域|省份|城市|ISP，如 中国|0|四川省|成都市|电信
+     */
+    private static Region parseRegion(String regionStr) {
+        List<String> parts = StrUtil.split(regionStr, '|');
+        return new Region(
+                regionPart(parts, 0),
+                regionPart(parts, 2),
+                regionPart(parts, 3),
+                regionPart(parts, 4)
+        );
+    }
+
+    private static String regionPart(List<String> parts, int index) {
+        if (index >= parts.size()) {
+            return null;
+        }
+        String part = parts.get(index);
+        return StrUtil.isBlank(part) || UNKNOWN_REGION.equals(part) ? null : part;
+    }
+
+    /**
+     * IP地理位置信息
+     *
+     * @param country  国家
+     * @param province 省份
+     * @param city     城市
+     * @param isp      运营商
+     */
+    public record Region(String country, String province, String city, String isp) {
+    }
 }
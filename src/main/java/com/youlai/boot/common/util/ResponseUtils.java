@@ -76,6 +76,7 @@ public class ResponseUtils {
     private static int getHttpStatus(ResultCode resultCode) {
         return switch (resultCode) {
             case ACCESS_UNAUTHORIZED, ACCESS_TOKEN_INVALID, REFRESH_TOKEN_INVALID -> HttpStatus.UNAUTHORIZED.value();
+            case REQUEST_LIMIT_EXCEEDED, REQUEST_CONCURRENCY_LIMIT_EXCEEDED -> HttpStatus.TOO_MANY_REQUESTS.value();
             default -> HttpStatus.BAD_REQUEST.value();
         };
     }
@@ -7,6 +7,9 @@ import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionIntercepto
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.youlai.boot.core.handler.MyDataPermissionHandler;
 import com.youlai.boot.core.handler.MyMetaObjectHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -21,20 +24,37 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 public class MybatisConfig {
 
+    /**
+     * 数据权限控制器
+     */
+    @Bean
+    public MyDataPermissionHandler myDataPermissionHandler() {
+        return new MyDataPermissionHandler();
+    }
+
     /**
      * 分页插件和数据权限插件
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(MyDataPermissionHandler myDataPermissionHandler) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         //数据权限
-        interceptor.addInnerInterceptor(new DataPermissionInterceptor(new MyDataPermissionHandler()));
+        interceptor.addInnerInterceptor(new DataPermissionInterceptor(myDataPermissionHandler));
         //分页插件
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
 
         return interceptor;
     }
 
+    /**
+     * 启动时登记所有语句的数据权限规则
+     */
+    @Bean
+    public SmartInitializingSingleton dataPermissionRuleRegistrar(MyDataPermissionHandler myDataPermissionHandler,
+                                                                  ObjectProvider<SqlSessionFactory> sqlSessionFactories) {
+        return () -> sqlSessionFactories.forEach(factory -> myDataPermissionHandler.register(factory.getConfiguration()));
+    }
+
     /**
      * 自动填充数据库创建人、创建时间、更新人、更新时间
      */
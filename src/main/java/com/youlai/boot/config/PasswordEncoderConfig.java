@@ -1,5 +1,6 @@
 package com.youlai.boot.config;
 
+import com.youlai.boot.config.property.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -18,7 +19,7 @@ public class PasswordEncoderConfig {
      * 密码编码器
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityProperties securityProperties) {
+        return new BCryptPasswordEncoder(securityProperties.getPasswordHash().getStrength());
     }
 }
@@ -5,14 +5,16 @@ import cn.hutool.captcha.generator.CodeGenerator;
 import cn.hutool.core.util.ArrayUtil;
 import com.youlai.boot.config.property.SecurityProperties;
 import com.youlai.boot.core.filter.RateLimiterFilter;
+import com.youlai.boot.core.ratelimit.RateLimiter;
 import com.youlai.boot.core.security.exception.MyAccessDeniedHandler;
 import com.youlai.boot.core.security.exception.MyAuthenticationEntryPoint;
 import com.youlai.boot.core.security.extension.sms.SmsAuthenticationProvider;
 import com.youlai.boot.core.security.extension.wechat.WechatAuthenticationProvider;
 import com.youlai.boot.core.security.filter.CaptchaValidationFilter;
 import com.youlai.boot.core.security.filter.JwtAuthenticationFilter;
+import com.youlai.boot.core.security.manager.TokenManager;
+import com.youlai.boot.core.security.service.PasswordHashingExecutor;
 import com.youlai.boot.core.security.service.SysUserDetailsService;
-import com.youlai.boot.core.security.manager.JwtTokenManager;
 import com.youlai.boot.system.service.ConfigService;
 import com.youlai.boot.system.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -47,14 +49,16 @@ public class SecurityConfig {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    private final JwtTokenManager jwtTokenService;
+    private final TokenManager tokenManager;
     private final WxMaService wxMaService;
     private final UserService userService;
     private final SysUserDetailsService userDetailsService;
 
     private final CodeGenerator codeGenerator;
     private final ConfigService configService;
+    private final RateLimiter rateLimiter;
     private final SecurityProperties securityProperties;
 
     /**
@@ -89,12 +93,16 @@ public class SecurityConfig {
                 .httpBasic(AbstractHttpConfigurer::disable) // 禁用 HTTP Basic 认证，避免弹窗式登录
                 // 禁用 X-Frame-Options 响应头，允许页面被嵌套到 iframe 中
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
-                // 限流过滤器
-                .addFilterBefore(new RateLimiterFilter(redisTemplate, configService), UsernamePasswordAuthenticationFilter.class)
+                // 限流过滤器：IP 限流和路由限流(位于令牌解析之前，无效令牌同样计入限流)
+                .addFilterBefore(new RateLimiterFilter(RateLimiterFilter.Phase.PRE_AUTH, configService,
+                        securityProperties.getRateLimit(), rateLimiter), UsernamePasswordAuthenticationFilter.class)
                 // 验证码校验过滤器
                 .addFilterBefore(new CaptchaValidationFilter(redisTemplate, codeGenerator), UsernamePasswordAuthenticationFilter.class)
                 // JWT 验证和解析过滤器
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(tokenManager), UsernamePasswordAuthenticationFilter.class)
+                // 限流过滤器：用户限流(位于令牌解析之后，按登录用户计数)
+                .addFilterBefore(new RateLimiterFilter(RateLimiterFilter.Phase.POST_AUTH, configService,
+                        securityProperties.getRateLimit(), rateLimiter), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
@@ -119,8 +127,11 @@ public class SecurityConfig {
     @Bean
     public DaoAuthenticationProvider daoAuthenticationProvider() {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
-        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        // 密码校验在独立的有界线程池中执行，避免登录高峰占满请求线程
+        daoAuthenticationProvider.setPasswordEncoder(passwordHashingExecutor.wrap(passwordEncoder));
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        // 哈希强度调整后，登录成功时自动升级密码哈希
+        daoAuthenticationProvider.setUserDetailsPasswordService(userDetailsService);
         return daoAuthenticationProvider;
     }
 
@@ -1,9 +1,8 @@
 package com.youlai.boot.config;
 
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.jwt.JWTPayload;
-import cn.hutool.jwt.JWTUtil;
 import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.core.security.manager.TokenManager;
 import com.youlai.boot.system.event.UserConnectionEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -12,12 +11,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -35,9 +36,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final ApplicationEventPublisher eventPublisher;
+    private final TokenManager tokenManager;
 
-    public WebSocketConfig(ApplicationEventPublisher eventPublisher) {
+    public WebSocketConfig(ApplicationEventPublisher eventPublisher, TokenManager tokenManager) {
         this.eventPublisher = eventPublisher;
+        this.tokenManager = tokenManager;
     }
     /**
      * 注册一个端点，客户端通过这个端点进行连接
@@ -71,7 +74,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     /**
      * 配置客户端入站通道拦截器
      * <p>
-     * 添加 ChannelInterceptor 拦截器，用于在消息发送前，从请求头中获取 token 并解析出用户信息(username)，用于点对点发送消息给指定用户
+     * 添加 ChannelInterceptor 拦截器，用于在消息发送前，从请求头中获取 token 并通过 {@link TokenManager} 解析出用户信息(username)，用于点对点发送消息给指定用户
      *
      * @param registration 通道注册器
      */
@@ -86,7 +89,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         String bearerToken = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
                         if (StrUtil.isNotBlank(bearerToken) && bearerToken.startsWith("Bearer ")) {
                             bearerToken = bearerToken.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
-                            String username = JWTUtil.parseToken(bearerToken).getPayloads().getStr(JWTPayload.SUBJECT);
+                            // 与 HTTP 请求相同，由当前会话方式的 TokenManager 校验令牌(验签、过期、黑名单)并解析用户
+                            Authentication authentication = tokenManager.getAuthentication(bearerToken);
+                            if (authentication == null) {
+                                throw new MessagingException(message, "无效的访问令牌");
+                            }
+                            String username = authentication.getName();
                             if (StrUtil.isNotBlank(username)) {
                                 accessor.setUser(() -> username);
                                 eventPublisher.publishEvent(new UserConnectionEvent(this, username, true));
@@ -54,6 +54,11 @@ public class CaptchaProperties {
      */
     private FontProperties font;
 
+    /**
+     * 验证码图片池配置
+     */
+    private PoolProperties pool = new PoolProperties();
+
     /**
      * 验证码字符配置
      */
@@ -88,5 +93,24 @@ public class CaptchaProperties {
         private int size;
     }
 
+    /**
+     * 验证码图片池配置
+     */
+    @Data
+    public static class PoolProperties {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+        /**
+         * 池容量(预渲染的图片数量)
+         */
+        private int size = 100;
+        /**
+         * 后台渲染线程数
+         */
+        private int refillThreads = 1;
+    }
+
 
 }
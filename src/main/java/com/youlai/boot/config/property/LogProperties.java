@@ -0,0 +1,168 @@
+package com.youlai.boot.config.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 操作日志 属性配置
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@ConfigurationProperties(prefix = "log")
+@Data
+public class LogProperties {
+
+    /**
+     * 异步写入配置
+     */
+    private WriterProperties writer = new WriterProperties();
+
+    /**
+     * 接口耗时统计配置
+     */
+    private LatencyProperties latency = new LatencyProperties();
+
+    /**
+     * 日志分区和归档配置
+     */
+    private PartitionProperties partition = new PartitionProperties();
+
+    /**
+     * 日志检索索引配置
+     */
+    private IndexProperties index = new IndexProperties();
+
+    /**
+     * 异步写入配置
+     */
+    @Data
+    public static class WriterProperties {
+        /**
+         * 缓冲区容量(向上取整为 2 的幂)
+         */
+        private int bufferSize = 8192;
+        /**
+         * 每批写入的最大条数
+         */
+        private int batchSize = 200;
+        /**
+         * 未满一批时的最长等待时间，单位：毫秒
+         */
+        private long flushInterval = 1000;
+        /**
+         * 缓冲区满时的处理策略 drop-丢弃|sample-采样|block-阻塞等待
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        /**
+         * 采样策略下，缓冲区使用率超过该值后开始采样(0.0-1.0)
+         */
+        private double sampleThreshold = 0.8;
+        /**
+         * 采样策略下保留日志的比例(0.0-1.0)，异常日志始终保留
+         */
+        private double sampleRatio = 0.1;
+        /**
+         * 阻塞策略下的最长等待时间，超时后丢弃，单位：毫秒
+         */
+        private long blockTimeout = 100;
+    }
+
+    /**
+     * 接口耗时统计配置
+     */
+    @Data
+    public static class LatencyProperties {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+        /**
+         * 统计时间窗口，单位：秒
+         */
+        private long window = 300;
+        /**
+         * 时间窗口划分的时间片数量，窗口按时间片滚动
+         */
+        private int slices = 10;
+    }
+
+    /**
+     * 日志分区和归档配置
+     * <p>
+     * sys_log 按月分区，保留月数读取系统配置 {@code LOG_RETENTION_MONTHS}
+     */
+    @Data
+    public static class PartitionProperties {
+        /**
+         * 预先创建的未来月份分区数量
+         */
+        private int precreateMonths = 3;
+        /**
+         * 删除过期分区前是否归档
+         */
+        private boolean archiveEnabled = true;
+        /**
+         * 归档文件目录
+         */
+        private String archivePath = "data/log-archive";
+        /**
+         * 归档时每次读取的记录数
+         */
+        private int archiveBatchSize = 1000;
+    }
+
+    /**
+     * 日志检索索引配置
+     * <p>
+     * 本地磁盘上的二元分词倒排索引，覆盖日志内容、请求路径、IP、操作人和日志模块
+     */
+    @Data
+    public static class IndexProperties {
+        /**
+         * 是否启用，关闭时关键字检索使用 LIKE 查询
+         */
+        private boolean enabled = true;
+        /**
+         * 索引文件目录
+         */
+        private String path = "data/log-index";
+        /**
+         * 每个索引段的日志条数，内存中的日志达到该数量后写入磁盘
+         */
+        private int segmentSize = 100000;
+        /**
+         * 从数据库同步新日志的间隔，单位：毫秒
+         */
+        private long refreshInterval = 5000;
+        /**
+         * 同步时每次读取的记录数
+         */
+        private int batchSize = 1000;
+        /**
+         * 提交延迟窗口，单位：毫秒。日志首次读取后在该窗口内每次同步时重新检查更小的ID，补录提交较晚的日志，
+         * 应大于日志写入事务的最长耗时
+         */
+        private long commitLag = 60000;
+    }
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新日志
+         */
+        DROP,
+        /**
+         * 缓冲区使用率超过阈值后按比例采样，满时丢弃
+         */
+        SAMPLE,
+        /**
+         * 阻塞请求线程等待空间，超时后丢弃
+         */
+        BLOCK
+    }
+}
@@ -3,6 +3,7 @@ package com.youlai.boot.config.property;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +26,31 @@ public class SecurityProperties {
      */
     private JwtProperty jwt;
 
+    /**
+     * Redis Token 配置
+     */
+    private RedisTokenProperty redisToken = new RedisTokenProperty();
+
+    /**
+     * 令牌认证缓存配置
+     */
+    private TokenCacheProperty tokenCache = new TokenCacheProperty();
+
+    /**
+     * 令牌黑名单本地副本配置
+     */
+    private BlacklistProperty blacklist = new BlacklistProperty();
+
+    /**
+     * 限流配置
+     */
+    private RateLimitProperty rateLimit = new RateLimitProperty();
+
+    /**
+     * 密码哈希配置
+     */
+    private PasswordHashProperty passwordHash = new PasswordHashProperty();
+
     /**
      * 白名单 URL 集合
      */
@@ -61,5 +87,174 @@ public class SecurityProperties {
          */
         private Integer refreshTokenTimeToLive;
 
+        /**
+         * 是否使用紧凑格式签发(缩短声明名称和角色列表，减小请求头体积)
+         */
+        private Boolean compactClaims = false;
+
+    }
+
+    /**
+     * Redis Token 配置
+     */
+    @Data
+    public static class RedisTokenProperty {
+
+        /**
+         * 访问令牌有效期(单位：秒)，活跃使用期间自动续期
+         */
+        private Integer accessTokenTimeToLive = 3600;
+
+        /**
+         * 刷新令牌有效期(单位：秒)
+         */
+        private Integer refreshTokenTimeToLive = 604800;
+
+        /**
+         * 续期批量刷新间隔(单位：秒)
+         */
+        private Integer touchFlushInterval = 30;
+
+    }
+
+    /**
+     * 令牌认证缓存配置
+     * <p>
+     * 缓存已验签且未被拉黑的认证信息，避免每次请求重复解析令牌和查询黑名单
+     */
+    @Data
+    public static class TokenCacheProperty {
+
+        /**
+         * 是否启用
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 最大缓存条目数
+         */
+        private Integer maximumSize = 10000;
+
+        /**
+         * 缓存最长有效期(单位：秒)，实际有效期不超过令牌的过期时间
+         */
+        private Integer timeToLive = 300;
+
+    }
+
+    /**
+     * 令牌黑名单本地副本配置
+     * <p>
+     * 各节点在内存中维护黑名单副本，通过 Redis 发布订阅增量同步并定时全量校准
+     */
+    @Data
+    public static class BlacklistProperty {
+
+        /**
+         * 全量同步间隔(单位：秒)，即消息丢失时副本最长的不一致时间
+         */
+        private Integer resyncInterval = 60;
+
+        /**
+         * 布隆过滤器预期容量
+         */
+        private Integer expectedInsertions = 100000;
+
+    }
+
+    /**
+     * 限流配置
+     * <p>
+     * IP 限流阈值读取系统配置 {@code IP_QPS_THRESHOLD_LIMIT}，用户限流和路由限流在此配置
+     */
+    @Data
+    public static class RateLimitProperty {
+
+        /**
+         * 是否启用
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 限流模式：redis(每个请求访问 Redis，全局精确)、lease(本地令牌桶向 Redis 租用额度)
+         */
+        private String mode = "redis";
+
+        /**
+         * 租约模式下每次租用的许可数量
+         */
+        private Integer leaseSize = 10;
+
+        /**
+         * 租约模式下租约的最长有效期(单位：毫秒)，即节点间额度分配的最长不一致时间
+         */
+        private Long leaseTimeToLive = 1000L;
+
+        /**
+         * IP 限流和用户限流的窗口长度(单位：秒)
+         */
+        private Integer window = 1;
+
+        /**
+         * 单个登录用户窗口内的最大请求数，小于等于 0 表示不限制
+         */
+        private Integer userLimit = 0;
+
+        /**
+         * 路由限流规则，在令牌解析前按 IP 计数
+         */
+        private List<RouteLimit> routes = new ArrayList<>();
+
+    }
+
+    /**
+     * 路由限流规则
+     */
+    @Data
+    public static class RouteLimit {
+
+        /**
+         * 请求路径匹配模式，如 /api/v1/auth/login/**
+         */
+        private String pattern;
+
+        /**
+         * 窗口内的最大请求数
+         */
+        private Integer limit;
+
+        /**
+         * 窗口长度(单位：秒)
+         */
+        private Integer window = 1;
+
+    }
+
+    /**
+     * 密码哈希配置
+     */
+    @Data
+    public static class PasswordHashProperty {
+
+        /**
+         * BCrypt 强度(4-31)，调整后用户下次登录成功时自动按新强度重新哈希
+         */
+        private Integer strength = 10;
+
+        /**
+         * 哈希线程数，小于等于 0 表示使用 CPU 核数
+         */
+        private Integer threads = 0;
+
+        /**
+         * 等待队列容量，队列已满时登录请求直接返回 429
+         */
+        private Integer queueCapacity = 200;
+
+        /**
+         * 最长等待时间(单位：毫秒)，超时返回 429
+         */
+        private Long timeout = 3000L;
+
     }
 }
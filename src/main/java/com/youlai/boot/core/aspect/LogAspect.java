@@ -1,38 +1,33 @@
 package com.youlai.boot.core.aspect;
 
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.date.TimeInterval;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.DigestUtil;
-import cn.hutool.http.useragent.UserAgent;
-import cn.hutool.http.useragent.UserAgentUtil;
 import cn.hutool.json.JSONUtil;
-import com.alibaba.excel.util.StringUtils;
 import com.aliyun.oss.HttpMethod;
 import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.common.util.IPUtils;
+import com.youlai.boot.core.log.AsyncLogWriter;
+import com.youlai.boot.core.log.LogEvent;
 import com.youlai.boot.core.security.util.SecurityUtils;
+import com.youlai.boot.core.web.LatencyInterceptor;
 import com.youlai.boot.system.model.entity.Log;
-import com.youlai.boot.system.service.LogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.HandlerMapping;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * 日志切面
@@ -45,9 +40,8 @@ import java.util.Objects;
 @Component
 @RequiredArgsConstructor
 public class LogAspect {
-    private final LogService logService;
+    private final AsyncLogWriter asyncLogWriter;
     private final HttpServletRequest request;
-    private final CacheManager cacheManager;
 
     /**
      * 切点
@@ -57,25 +51,27 @@ public class LogAspect {
     }
 
     /**
-     * 处理完请求后执行
+     * 环绕执行，记录执行时间
+     * <p>
+     * 执行时间从 {@link LatencyInterceptor} 记录的请求开始时间起算，与接口耗时统计一致；
+     * 未经过拦截器时从进入切面起算。
      *
-     * @param joinPoint 切点
-     */
-    @AfterReturning(pointcut = "logPointcut() && @annotation(logAnnotation)", returning = "jsonResult")
-    public void doAfterReturning(JoinPoint joinPoint, com.youlai.boot.common.annotation.Log logAnnotation, Object jsonResult) {
-        this.saveLog(joinPoint, null, jsonResult, logAnnotation);
-    }
-
-
-    /**
-     * 拦截异常操作
-     *
-     * @param joinPoint 切点
-     * @param e         异常
+     * @param joinPoint     切点
+     * @param logAnnotation 日志注解
      */
-    @AfterThrowing(value = "logPointcut()", throwing = "e")
-    public void doAfterThrowing(JoinPoint joinPoint, Exception e) {
-        this.saveLog(joinPoint, e, null, null);
+    @Around("logPointcut() && @annotation(logAnnotation)")
+    public Object doAround(ProceedingJoinPoint joinPoint, com.youlai.boot.common.annotation.Log logAnnotation) throws Throwable {
+        long startTime = System.nanoTime();
+        Object jsonResult;
+        try {
+            jsonResult = joinPoint.proceed();
+        } catch (Exception e) {
+            // 拦截异常操作
+            this.saveLog(joinPoint, e, null, null, LatencyInterceptor.elapsedMillis(request, startTime));
+            throw e;
+        }
+        this.saveLog(joinPoint, null, jsonResult, logAnnotation, LatencyInterceptor.elapsedMillis(request, startTime));
+        return jsonResult;
     }
 
     /**
@@ -85,14 +81,11 @@ public class LogAspect {
      * @param e             异常
      * @param jsonResult    响应结果
      * @param logAnnotation 日志注解
+     * @param executionTime 执行时间(毫秒)
      */
-    private void saveLog(final JoinPoint joinPoint, final Exception e, Object jsonResult, com.youlai.boot.common.annotation.Log logAnnotation) {
+    private void saveLog(final JoinPoint joinPoint, final Exception e, Object jsonResult, com.youlai.boot.common.annotation.Log logAnnotation, long executionTime) {
         String requestURI = request.getRequestURI();
 
-        TimeInterval timer = DateUtil.timer();
-        // 执行方法
-        long executionTime = timer.interval();
-
         // 创建日志记录
         Log log = new Log();
         if (logAnnotation == null && e != null) {
@@ -115,33 +108,14 @@ public class LogAspect {
         log.setRequestUri(requestURI);
         Long userId = SecurityUtils.getUserId();
         log.setCreateBy(userId);
-        String ipAddr = IPUtils.getIpAddr(request);
-        if (StrUtil.isNotBlank(ipAddr)) {
-            log.setIp(ipAddr);
-            String region = IPUtils.getRegion(ipAddr);
-            // 中国|0|四川省|成都市|电信 解析省和市
-            if (StrUtil.isNotBlank(region)) {
-                String[] regionArray = region.split("\\|");
-                if (regionArray.length > 2) {
-                    log.setProvince(regionArray[2]);
-                    log.setCity(regionArray[3]);
-                }
-            }
-        }
-
+        log.setIp(IPUtils.getIpAddr(request));
         log.setExecutionTime(executionTime);
-        // 获取浏览器和终端系统信息
-        String userAgentString = request.getHeader("User-Agent");
-        UserAgent userAgent = resolveUserAgent(userAgentString);
-        if (Objects.nonNull(userAgent)) {
-            // 系统信息
-            log.setOs(userAgent.getOs().getName());
-            // 浏览器信息
-            log.setBrowser(userAgent.getBrowser().getName());
-            log.setBrowserVersion(userAgent.getBrowser().getVersion(userAgentString));
-        }
-        // 保存日志到数据库
-        logService.save(log);
+        // 批量写入不经过自动填充，在请求线程记录创建时间
+        log.setCreateTime(LocalDateTime.now());
+        // 访问统计使用接口路径模板，避免路径参数导致统计维度膨胀
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // 提交异步写入，IP 归属地和浏览器信息由写入线程解析
+        asyncLogWriter.submit(new LogEvent(log, request.getHeader("User-Agent"), pattern != null ? pattern.toString() : requestURI));
     }
 
     /**
@@ -205,27 +179,4 @@ public class LogAspect {
         return obj instanceof MultipartFile || obj instanceof HttpServletRequest || obj instanceof HttpServletResponse;
     }
 
-
-    /**
-     * 解析UserAgent
-     *
-     * @param userAgentString UserAgent字符串
-     * @return UserAgent
-     */
-    public UserAgent resolveUserAgent(String userAgentString) {
-        if (StringUtils.isBlank(userAgentString)) {
-            return null;
-        }
-        // 给userAgentStringMD5加密一次防止过长
-        String userAgentStringMD5 = DigestUtil.md5Hex(userAgentString);
-        //判断是否命中缓存
-        UserAgent userAgent = Objects.requireNonNull(cacheManager.getCache("userAgent")).get(userAgentStringMD5, UserAgent.class);
-        if (userAgent != null) {
-            return userAgent;
-        }
-        userAgent = UserAgentUtil.parse(userAgentString);
-        Objects.requireNonNull(cacheManager.getCache("userAgent")).put(userAgentStringMD5, userAgent);
-        return userAgent;
-    }
-
 }
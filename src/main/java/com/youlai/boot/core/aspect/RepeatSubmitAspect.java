@@ -1,13 +1,18 @@
 package com.youlai.boot.core.aspect;
 
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.jwt.JWTUtil;
-import cn.hutool.jwt.RegisteredPayload;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.youlai.boot.common.annotation.RepeatSubmit;
 import com.youlai.boot.common.constant.RedisConstants;
-import com.youlai.boot.common.constant.SecurityConstants;
-import com.youlai.boot.common.result.ResultCode;
 import com.youlai.boot.common.exception.BusinessException;
-import com.youlai.boot.common.annotation.RepeatSubmit;
+import com.youlai.boot.common.result.ResultCode;
+import com.youlai.boot.core.security.util.SecurityUtils;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,17 +20,31 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 防重复提交切面
+ * <p>
+ * 以 令牌 + 请求方法 + 请求路径 + 请求参数摘要 作为幂等键：
+ * <ul>
+ *     <li>先查询本节点的短时去重窗口，同一节点上的连续重复提交无需访问 Redis</li>
+ *     <li>再通过一次 SET NX EX 占用幂等键，占用失败即为重复提交</li>
+ *     <li>业务执行异常时立即释放幂等键，允许修正后重新提交</li>
+ *     <li>占位值每次请求唯一，释放幂等键和保存响应前校验占位值，幂等键过期后不会影响后续请求占用的幂等键</li>
+ *     <li>开启 {@link RepeatSubmit#replay()} 时保存首次响应，重复提交直接返回该响应</li>
+ * </ul>
  *
  * @author Ray.Hao
  * @since 2.3.0
@@ -36,7 +55,30 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class RepeatSubmitAspect {
 
-    private final RedissonClient redissonClient;
+    /**
+     * 首次提交处理中的占位值前缀，占位值为 前缀 + 请求唯一标识
+     */
+    private static final String PROCESSING = "PROCESSING:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>();
+    private static final DefaultRedisScript<Long> REPLAY_SCRIPT = new DefaultRedisScript<>();
+
+    static {
+        RELEASE_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource("script/repeat_submit_release.lua")));
+        RELEASE_SCRIPT.setResultType(Long.class);
+        REPLAY_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource("script/repeat_submit_replay.lua")));
+        REPLAY_SCRIPT.setResultType(Long.class);
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 本节点短时去重窗口：幂等键 -> 占位
+     */
+    private final Cache<String, Boolean> localDedupWindow = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofSeconds(1))
+            .build();
 
     /**
      * 防重复提交切点
@@ -52,51 +94,82 @@ public class RepeatSubmitAspect {
      */
     @Around("repeatSubmitPointCut(repeatSubmit)")
     public Object handleRepeatSubmit(ProceedingJoinPoint pjp, RepeatSubmit repeatSubmit) throws Throwable {
-        String lockKey = buildLockKey();
-        if (lockKey == null) {
-            log.warn("无法生成防重复提交锁的 key，跳过防重复提交逻辑");
+        String key = buildIdempotencyKey(pjp);
+        if (key == null) {
+            log.warn("无法生成防重复提交的幂等键，跳过防重复提交逻辑");
             return pjp.proceed();
         }
 
-        int expire = repeatSubmit.expire(); // 防重提交锁过期时间
-        RLock lock = redissonClient.getLock(lockKey);
+        // 本节点去重窗口内的重复提交直接拒绝(重放模式需要读取首次响应，仍需访问 Redis)
+        if (!repeatSubmit.replay() && localDedupWindow.getIfPresent(key) != null) {
+            log.warn("重复提交请求，幂等键：{}", key);
+            throw new BusinessException(ResultCode.USER_DUPLICATE_REQUEST);
+        }
 
-        boolean locked = lock.tryLock(0, expire, TimeUnit.SECONDS);
-        log.info("获取防重复提交锁，key：{}，是否成功：{}", lockKey, locked);
-        if (!locked) {
-            log.warn("重复提交请求，锁 key：{}", lockKey);
+        String processing = PROCESSING + IdUtil.fastSimpleUUID();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, processing, repeatSubmit.expire(), TimeUnit.SECONDS);
+        localDedupWindow.put(key, Boolean.TRUE);
+        if (!Boolean.TRUE.equals(acquired)) {
+            if (repeatSubmit.replay()) {
+                Object response = redisTemplate.opsForValue().get(key);
+                if (response != null && !(response instanceof String value && value.startsWith(PROCESSING))) {
+                    log.info("重复提交请求，返回首次响应，幂等键：{}", key);
+                    return response;
+                }
+            }
+            log.warn("重复提交请求，幂等键：{}", key);
             throw new BusinessException(ResultCode.USER_DUPLICATE_REQUEST);
         }
 
-        return pjp.proceed();
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            // 执行失败时释放幂等键，允许重新提交；幂等键已过期并被其他请求占用时不删除
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), processing);
+            localDedupWindow.invalidate(key);
+            throw e;
+        }
+
+        if (repeatSubmit.replay() && result != null) {
+            // 保存首次响应，供有效期内的重复提交重放
+            redisTemplate.execute(REPLAY_SCRIPT, List.of(key), processing, result, repeatSubmit.expire());
+        }
+        return result;
     }
 
 
     /**
-     * 生成防重复提交锁的 key
+     * 生成幂等键
+     * <p>
+     * 令牌取摘要，无需重新解析令牌；请求参数取 JSON 摘要(忽略请求、响应和文件对象)。
      *
-     * @return 锁的 key，如果无法生成则返回 null
+     * @return 幂等键，未登录或不在请求上下文中时返回 null
      */
-    private String buildLockKey() {
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        String token = request.getHeader(HttpHeaders.AUTHORIZATION);
-
-        if (StrUtil.isBlank(token) || !token.startsWith(SecurityConstants.JWT_TOKEN_PREFIX)) {
-            log.warn("请求头中未找到有效的 JWT Token");
+    private String buildIdempotencyKey(ProceedingJoinPoint pjp) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes servletRequestAttributes)) {
             return null;
         }
+        HttpServletRequest request = servletRequestAttributes.getRequest();
 
-        // 解析 JWT Token 获取 jti
-        token = token.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
-        String jti = (String) JWTUtil.parseToken(token).getPayload(RegisteredPayload.JWT_ID);
-
-        if (StrUtil.isBlank(jti)) {
-            log.warn("JWT Token 中未找到 jti");
+        String token = SecurityUtils.getTokenFromRequest();
+        if (StrUtil.isBlank(token)) {
+            log.warn("请求头中未找到有效的 Token");
             return null;
         }
 
-        // 生成锁的 key：前缀 + jti + 请求方法 + 请求路径
-        return RedisConstants.RESUBMIT_LOCK_PREFIX + jti + ":" + request.getMethod() + "-" + request.getRequestURI();
+        StringBuilder args = new StringBuilder();
+        for (Object arg : pjp.getArgs()) {
+            if (arg == null || arg instanceof ServletRequest || arg instanceof ServletResponse || arg instanceof MultipartFile) {
+                continue;
+            }
+            args.append(JSONUtil.toJsonStr(arg)).append('|');
+        }
+
+        // 幂等键：前缀 + 令牌摘要 + 请求方法 + 请求路径 + 请求参数摘要
+        return RedisConstants.RESUBMIT_LOCK_PREFIX + DigestUtil.md5Hex(token) + ":"
+                + request.getMethod() + "-" + request.getRequestURI() + ":" + DigestUtil.md5Hex(args.toString());
     }
 
 }
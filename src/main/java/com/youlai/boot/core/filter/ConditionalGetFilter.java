@@ -0,0 +1,108 @@
+package com.youlai.boot.core.filter;
+
+import com.youlai.boot.core.web.ConditionalGetInterceptor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 条件请求响应大小统计过滤器
+ * <p>
+ * 对 GET 请求统计写出的响应体字节数(不缓存响应内容)，由 {@link ConditionalGetInterceptor} 生成 ETag 的完整响应
+ * 在请求结束时记录其大小，用于估算 304 节省的流量。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain chain) throws ServletException, IOException {
+        CountingResponseWrapper responseWrapper = new CountingResponseWrapper(response);
+        chain.doFilter(request, responseWrapper);
+
+        Object etag = request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        if (etag != null && response.getStatus() == HttpServletResponse.SC_OK) {
+            conditionalGetInterceptor.recordResponseSize((String) etag, responseWrapper.getByteCount());
+        }
+    }
+
+    /**
+     * 统计输出流字节数的响应包装
+     */
+    private static final class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private long byteCount;
+
+        private CountingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getByteCount() {
+            return byteCount;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        byteCount++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        byteCount += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
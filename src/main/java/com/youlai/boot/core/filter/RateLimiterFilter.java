@@ -6,73 +6,115 @@ import com.youlai.boot.common.constant.SystemConstants;
 import com.youlai.boot.common.result.ResultCode;
 import com.youlai.boot.common.util.IPUtils;
 import com.youlai.boot.common.util.ResponseUtils;
+import com.youlai.boot.config.property.SecurityProperties;
+import com.youlai.boot.core.ratelimit.RateLimitResult;
+import com.youlai.boot.core.ratelimit.RateLimitRule;
+import com.youlai.boot.core.ratelimit.RateLimiter;
+import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.system.service.ConfigService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * IP限流过滤器
+ * 限流过滤器
+ * <p>
+ * 支持三类规则，分两个阶段校验：
+ * <ul>
+ *     <li>认证前({@link Phase#PRE_AUTH})：
+ *     <ul>
+ *         <li>IP 限流：阈值读取系统配置 {@code IP_QPS_THRESHOLD_LIMIT}(本地副本，配置刷新时同步)</li>
+ *         <li>路由限流：按路径匹配，按 IP 计数</li>
+ *     </ul>
+ *     位于令牌解析之前，携带无效令牌的请求同样计入限流，避免伪造令牌绕过限流</li>
+ *     <li>认证后({@link Phase#POST_AUTH})：用户限流，按登录用户计数</li>
+ * </ul>
+ * 每个阶段命中的所有规则交由 {@link RateLimiter} 一次校验(实现由 {@code security.rate-limit.mode} 选择)，
+ * 并通过 RateLimit-Limit、RateLimit-Remaining、RateLimit-Reset 响应头返回限流状态。
  *
  * @author Theo
  * @since 2024/08/10 14:38
  */
-@Slf4j
 public class RateLimiterFilter extends OncePerRequestFilter {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ConfigService configService;
+    private static final String RATE_LIMIT_LIMIT_HEADER = "RateLimit-Limit";
+    private static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
 
     private static final long DEFAULT_IP_LIMIT = 10L; // 默认 IP 限流阈值
 
-    public RateLimiterFilter(RedisTemplate<String, Object> redisTemplate, ConfigService configService) {
-        this.redisTemplate = redisTemplate;
+    private final Phase phase;
+    private final ConfigService configService;
+    private final SecurityProperties.RateLimitProperty rateLimitProperty;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiterFilter(Phase phase, ConfigService configService,
+                             SecurityProperties.RateLimitProperty rateLimitProperty, RateLimiter rateLimiter) {
+        this.phase = phase;
         this.configService = configService;
+        this.rateLimitProperty = rateLimitProperty;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
-     * 判断 IP 是否触发限流
-     * 默认限制同一 IP 每秒最多请求 10 次，可通过系统配置调整。
-     * 如果系统未配置限流阈值，默认跳过限流。
+     * 校验请求是否触发限流
+     * <p>
+     * 未配置 IP 限流阈值时跳过 IP 限流；限流组件不可用时放行，避免限流故障导致服务不可用。
      *
-     * @param ip IP 地址
-     * @return 是否限流：true 表示限流；false 表示未限流
+     * @param request 请求
+     * @return 限流结果，没有命中任何规则时返回 null
      */
-    public boolean rateLimit(String ip) {
-        // 限流 Redis 键
-        String key = RedisConstants.IP_RATE_LIMITER_KEY + ip;
-
-        // 自增请求计数
-        Long count = redisTemplate.opsForValue().increment(key);
-        if (count == null || count == 1) {
-            // 第一次访问时设置过期时间为 1 秒
-            redisTemplate.expire(key, 1, TimeUnit.SECONDS);
-        }
+    public RateLimitResult rateLimit(HttpServletRequest request) {
+        long windowMillis = rateLimitProperty.getWindow() * 1000L;
+        List<RateLimitRule> rules = new ArrayList<>();
+
+        if (phase == Phase.PRE_AUTH) {
+            String ip = IPUtils.getIpAddr(request);
+            // 同一请求的限流键在一次 EVAL 中访问，以IP作为哈希标签使其落在同一槽位，兼容 Redis Cluster
+            String ipTag = "{" + ip + "}";
+
+            // IP 限流，阈值读取系统配置本地副本，未配置时跳过
+            Object systemConfig = configService.getSystemConfig(SystemConstants.SYSTEM_CONFIG_IP_QPS_LIMIT_KEY);
+            long ipLimit = systemConfig != null ? Convert.toLong(systemConfig, DEFAULT_IP_LIMIT) : 0L;
+            if (ipLimit > 0) {
+                rules.add(new RateLimitRule(RedisConstants.IP_RATE_LIMITER_KEY + ipTag, ipLimit, windowMillis));
+            }
 
-        // 获取系统配置的限流阈值
-        Object systemConfig = configService.getSystemConfig(SystemConstants.SYSTEM_CONFIG_IP_QPS_LIMIT_KEY);
-        if (systemConfig == null) {
-            // 系统未配置限流，跳过限流逻辑
-            log.warn("系统未配置限流阈值，跳过限流");
-            return false;
+            // 路由限流
+            List<SecurityProperties.RouteLimit> routes = rateLimitProperty.getRoutes();
+            String path = request.getRequestURI();
+            for (int i = 0; i < routes.size(); i++) {
+                SecurityProperties.RouteLimit route = routes.get(i);
+                if (route.getLimit() != null && route.getLimit() > 0 && pathMatcher.match(route.getPattern(), path)) {
+                    rules.add(new RateLimitRule(RedisConstants.ROUTE_RATE_LIMITER_KEY + i + ":ip:" + ipTag,
+                            route.getLimit(), route.getWindow() * 1000L));
+                }
+            }
+        } else {
+            // 用户限流
+            Long userId = SecurityUtils.getUserId();
+            Integer userLimit = rateLimitProperty.getUserLimit();
+            if (userId != null && userLimit != null && userLimit > 0) {
+                rules.add(new RateLimitRule(RedisConstants.USER_RATE_LIMITER_KEY + userId, userLimit, windowMillis));
+            }
         }
 
-        // 转换系统配置为限流值，默认为 10
-        long limit = Convert.toLong(systemConfig, DEFAULT_IP_LIMIT);
-        return count != null && count > limit;
+        return rules.isEmpty() ? null : rateLimiter.tryAcquire(rules);
     }
 
     /**
-     * 执行 IP 限流逻辑
-     * 如果 IP 请求超出限制，直接返回限流响应；否则继续执行过滤器链。
+     * 执行限流逻辑
+     * 如果请求超出限制，直接返回限流响应；否则继续执行过滤器链。
      *
      * @param request     请求体
      * @param response    响应体
@@ -81,17 +123,54 @@ public class RateLimiterFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
                                     @NotNull FilterChain filterChain) throws ServletException, IOException {
-        // 获取请求的 IP 地址
-        String ip = IPUtils.getIpAddr(request);
-
-        // 判断是否限流
-        if (rateLimit(ip)) {
-            // 返回限流错误信息
-            ResponseUtils.writeErrMsg(response, ResultCode.REQUEST_CONCURRENCY_LIMIT_EXCEEDED);
+        if (!Boolean.TRUE.equals(rateLimitProperty.getEnabled())) {
+            filterChain.doFilter(request, response);
             return;
         }
 
+        RateLimitResult result = rateLimit(request);
+        if (result != null) {
+            response.setHeader(RATE_LIMIT_LIMIT_HEADER, String.valueOf(result.limit()));
+            response.setHeader(RATE_LIMIT_REMAINING_HEADER, String.valueOf(result.remaining()));
+            response.setHeader(RATE_LIMIT_RESET_HEADER, String.valueOf(toSeconds(result.resetMillis())));
+
+            if (!result.allowed()) {
+                // 返回限流错误信息
+                response.setHeader(RETRY_AFTER_HEADER, String.valueOf(toSeconds(result.retryAfterMillis())));
+                ResponseUtils.writeErrMsg(response, ResultCode.REQUEST_CONCURRENCY_LIMIT_EXCEEDED);
+                return;
+            }
+        }
+
         // 未触发限流，继续执行过滤器链
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * 同一请求在两个阶段各执行一次，按阶段区分已执行标记
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + phase.name();
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1L, (millis + 999) / 1000);
+    }
+
+    /**
+     * 限流阶段
+     */
+    public enum Phase {
+
+        /**
+         * 令牌解析前：IP 限流和路由限流
+         */
+        PRE_AUTH,
+
+        /**
+         * 令牌解析后：用户限流
+         */
+        POST_AUTH
+    }
 }
@@ -4,19 +4,35 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
 import com.youlai.boot.common.annotation.DataPermission;
-import com.youlai.boot.common.base.IBaseEnum;
 import com.youlai.boot.common.enums.DataScopeEnum;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.util.SecurityUtils;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.NullValue;
 import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 数据权限控制器
+ * <p>
+ * 启动时遍历所有 MyBatis 语句，解析 {@link DataPermission} 注解并登记到 语句ID -> 数据权限规则 的注册表中，
+ * 未标注注解的语句登记为 {@link DataPermissionRule#NONE}。执行 SQL 时只需一次查表，
+ * 过滤条件由预先构建的列表达式直接绑定用户ID或部门ID，不再拼接和解析 SQL 字符串。
  *
  * @author zc
  * @since 2021-12-10 13:28
@@ -24,6 +40,31 @@ import java.lang.reflect.Method;
 @Slf4j
 public class MyDataPermissionHandler implements DataPermissionHandler {
 
+    private static final Table DEPT_CLOSURE_TABLE = new Table("sys_dept_closure");
+    private static final Column ANCESTOR_ID_COLUMN = new Column("ancestor_id");
+    private static final Column DESCENDANT_ID_COLUMN = new Column("descendant_id");
+
+    /**
+     * 数据权限规则注册表：mapper接口方法的全路径 -> 数据权限规则
+     */
+    private final Map<String, DataPermissionRule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * 登记所有语句的数据权限规则
+     *
+     * @param configuration MyBatis 配置
+     */
+    public void register(Configuration configuration) {
+        for (Object statement : configuration.getMappedStatements()) {
+            // StrictMap 中同时存在简称和歧义占位对象，只处理 MappedStatement
+            if (statement instanceof MappedStatement mappedStatement) {
+                rules.computeIfAbsent(mappedStatement.getId(), MyDataPermissionHandler::resolveRule);
+            }
+        }
+        long annotated = rules.values().stream().filter(rule -> rule != DataPermissionRule.NONE).count();
+        log.info("数据权限规则登记完成，语句数：{}，启用数据权限：{}", rules.size(), annotated);
+    }
+
     /**
      * 获取数据权限的sql片段
      * @param where 查询条件
@@ -31,37 +72,26 @@ public class MyDataPermissionHandler implements DataPermissionHandler {
      * @return sql片段
      */
     @Override
-    @SneakyThrows
     public Expression getSqlSegment(Expression where, String mappedStatementId) {
+        // 未标注数据权限注解的语句直接返回；启动后动态添加的语句首次执行时登记
+        DataPermissionRule rule = rules.computeIfAbsent(mappedStatementId, MyDataPermissionHandler::resolveRule);
+        if (rule == DataPermissionRule.NONE) {
+            return where;
+        }
         // 如果是未登录，或者是定时任务执行的SQL，或者是超级管理员，直接返回
-        if(SecurityUtils.getUserId() == null || SecurityUtils.isRoot()){
+        PrincipalSnapshot principal = SecurityUtils.getPrincipal();
+        if (principal == null || principal.getUserId() == null || principal.isRoot()) {
             return where;
         }
-        // 获取当前用户的数据权限
-        Integer dataScope = SecurityUtils.getDataScope();
-        DataScopeEnum dataScopeEnum = IBaseEnum.getEnumByValue(dataScope, DataScopeEnum.class);
-        // 如果是全部数据权限，直接返回
+        DataScopeEnum dataScopeEnum = principal.getDataScopeEnum();
         if (DataScopeEnum.ALL.equals(dataScopeEnum)) {
             return where;
         }
-        // 获取当前执行的接口类
-        Class<?> clazz = Class.forName(mappedStatementId.substring(0, mappedStatementId.lastIndexOf(StringPool.DOT)));
-        // 获取当前执行的方法名称
-        String methodName = mappedStatementId.substring(mappedStatementId.lastIndexOf(StringPool.DOT) + 1);
-        // 获取当前执行的接口类里所有的方法
-        Method[] methods = clazz.getDeclaredMethods();
-        for (Method method : methods) {
-            //找到当前执行的方法
-            if (method.getName().equals(methodName)) {
-                DataPermission annotation = method.getAnnotation(DataPermission.class);
-                // 判断当前执行的方法是否有权限注解，如果没有注解直接返回
-                if (annotation == null ) {
-                    return where;
-                }
-                return dataScopeFilter(annotation.deptAlias(), annotation.deptIdColumnName(), annotation.userAlias(), annotation.userIdColumnName(), dataScopeEnum,where);
-            }
+        // 无角色或数据权限未映射时按最小范围（本人数据）过滤，不放开全部数据
+        if (dataScopeEnum == null) {
+            dataScopeEnum = DataScopeEnum.SELF;
         }
-        return where;
+        return dataScopeFilter(rule, dataScopeEnum, principal.getDeptId(), principal.getUserId(), where);
     }
 
     /**
@@ -70,46 +100,105 @@ public class MyDataPermissionHandler implements DataPermissionHandler {
      * @param where 当前查询条件
      * @return 构建后查询条件
      */
-    @SneakyThrows
-    public static Expression dataScopeFilter(String deptAlias, String deptIdColumnName, String userAlias, String userIdColumnName,DataScopeEnum dataScopeEnum, Expression where) {
-
-        // 获取部门和用户的别名
-        String deptColumnName = StrUtil.isNotBlank(deptAlias) ? (deptAlias + StringPool.DOT + deptIdColumnName) : deptIdColumnName;
-        String userColumnName = StrUtil.isNotBlank(userAlias) ? (userAlias + StringPool.DOT + userIdColumnName) : userIdColumnName;
-
-        Long deptId, userId;
-        String appendSqlStr;
-        switch (dataScopeEnum) {
-            case ALL:
-                return where;
-            case DEPT:
-                deptId = SecurityUtils.getDeptId();
-                appendSqlStr = deptColumnName + StringPool.EQUALS + deptId;
-                break;
-            case SELF:
-                userId = SecurityUtils.getUserId();
-                appendSqlStr = userColumnName + StringPool.EQUALS + userId;
-                break;
+    private static Expression dataScopeFilter(DataPermissionRule rule, DataScopeEnum dataScopeEnum,
+                                              Long deptId, Long userId, Expression where) {
+        Expression appendExpression = switch (dataScopeEnum) {
+            case ALL -> null;
+            case DEPT -> new EqualsTo(rule.deptColumn(), toValue(deptId));
+            case SELF -> new EqualsTo(rule.userColumn(), toValue(userId));
             // 默认部门及子部门数据权限
-            default:
-                deptId = SecurityUtils.getDeptId();
-                appendSqlStr = deptColumnName + " IN ( SELECT id FROM sys_dept WHERE id = " + deptId + " OR FIND_IN_SET( " + deptId + " , tree_path ) )";
-                break;
-        }
+            default -> new InExpression(rule.deptColumn(), deptAndSubSelect(deptId));
+        };
 
-        if (StrUtil.isBlank(appendSqlStr)) {
+        if (appendExpression == null) {
             return where;
         }
-
-        Expression appendExpression = CCJSqlParserUtil.parseCondExpression(appendSqlStr);
-
         if (where == null) {
             return appendExpression;
         }
-
         return new AndExpression(where, appendExpression);
     }
 
+    /**
+     * 部门及子部门ID子查询：SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = #{deptId}
+     * <p>
+     * 闭包表包含部门自身记录，按主键前缀查询，无需扫描部门表
+     */
+    private static SubSelect deptAndSubSelect(Long deptId) {
+        PlainSelect plainSelect = new PlainSelect();
+        plainSelect.setSelectItems(List.of(new SelectExpressionItem(DESCENDANT_ID_COLUMN)));
+        plainSelect.setFromItem(DEPT_CLOSURE_TABLE);
+        plainSelect.setWhere(new EqualsTo(ANCESTOR_ID_COLUMN, toValue(deptId)));
+
+        SubSelect subSelect = new SubSelect();
+        subSelect.setSelectBody(plainSelect);
+        return subSelect;
+    }
 
-}
+    private static Expression toValue(Long id) {
+        return id != null ? new LongValue(id) : new NullValue();
+    }
+
+    /**
+     * 解析语句的数据权限规则
+     * <p>
+     * 优先使用方法上的注解，其次使用 mapper 接口上的注解
+     *
+     * @param mappedStatementId mapper接口方法的全路径
+     * @return 数据权限规则，未标注注解时返回 {@link DataPermissionRule#NONE}
+     */
+    private static DataPermissionRule resolveRule(String mappedStatementId) {
+        int index = mappedStatementId.lastIndexOf(StringPool.DOT);
+        if (index < 0) {
+            return DataPermissionRule.NONE;
+        }
+        String className = mappedStatementId.substring(0, index);
+        String methodName = mappedStatementId.substring(index + 1);
 
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            // XML 中 namespace 不是 mapper 接口的语句
+            return DataPermissionRule.NONE;
+        }
+
+        DataPermission annotation = null;
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getName().equals(methodName)) {
+                annotation = method.getAnnotation(DataPermission.class);
+                break;
+            }
+        }
+        if (annotation == null) {
+            annotation = clazz.getAnnotation(DataPermission.class);
+        }
+        return annotation != null ? DataPermissionRule.of(annotation) : DataPermissionRule.NONE;
+    }
+
+    /**
+     * 数据权限规则
+     *
+     * @param deptColumn 部门ID列
+     * @param userColumn 用户ID列
+     */
+    private record DataPermissionRule(Column deptColumn, Column userColumn) {
+
+        /**
+         * 未标注数据权限注解
+         */
+        static final DataPermissionRule NONE = new DataPermissionRule(null, null);
+
+        static DataPermissionRule of(DataPermission annotation) {
+            return new DataPermissionRule(
+                    column(annotation.deptAlias(), annotation.deptIdColumnName()),
+                    column(annotation.userAlias(), annotation.userIdColumnName())
+            );
+        }
+
+        private static Column column(String alias, String columnName) {
+            return new Column(StrUtil.isNotBlank(alias) ? new Table(alias) : null, columnName);
+        }
+    }
+
+}
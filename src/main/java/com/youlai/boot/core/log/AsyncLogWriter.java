@@ -0,0 +1,309 @@
+package com.youlai.boot.core.log;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import com.youlai.boot.common.enums.LogModuleEnum;
+import com.youlai.boot.common.util.IPUtils;
+import com.youlai.boot.config.property.LogProperties;
+import com.youlai.boot.core.log.index.LogSearchIndex;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import com.youlai.boot.system.mapper.LogMapper;
+import com.youlai.boot.system.model.entity.Log;
+import com.youlai.boot.system.service.VisitStatsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 操作日志异步批量写入器
+ * <p>
+ * 请求线程将日志放入有界无锁环形缓冲区后立即返回；单个写入线程批量取出日志，
+ * 补全 IP 归属地和 UserAgent 信息后以多行 INSERT 写入 sys_log。
+ * 满一批或超过刷新间隔时写入，缓冲区满时按配置的策略丢弃、采样或阻塞，应用正常关闭时写完剩余日志。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AsyncLogWriter implements RuntimeStatsContributor {
+
+    private final LogProperties logProperties;
+    private final LogMapper logMapper;
+    private final VisitStatsService visitStatsService;
+    private final CacheManager cacheManager;
+    private final LogSearchIndex logSearchIndex;
+
+    private LogRingBuffer<LogEvent> buffer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder sampledOutCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        LogProperties.WriterProperties writerProperties = logProperties.getWriter();
+        buffer = new LogRingBuffer<>(writerProperties.getBufferSize());
+        running = true;
+        writerThread = ThreadFactoryBuilder.create()
+                .setNamePrefix("log-writer-")
+                .setDaemon(true)
+                .build()
+                .newThread(this::runWriter);
+        writerThread.start();
+        log.info("操作日志异步写入已启动，缓冲区容量：{}，批量大小：{}，溢出策略：{}",
+                buffer.capacity(), writerProperties.getBatchSize(), writerProperties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("操作日志异步写入关闭超时，剩余 {} 条未写入", buffer.size());
+        }
+    }
+
+    /**
+     * 提交日志，由请求线程调用
+     *
+     * @param event 待写入的日志
+     */
+    public void submit(LogEvent event) {
+        LogProperties.WriterProperties writerProperties = logProperties.getWriter();
+        boolean alwaysKeep = event.log().getModule() == LogModuleEnum.EXCEPTION;
+        if (writerProperties.getOverflowPolicy() == LogProperties.OverflowPolicy.SAMPLE && !alwaysKeep
+                && buffer.size() >= buffer.capacity() * writerProperties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextDouble() >= writerProperties.getSampleRatio()) {
+            sampledOutCount.increment();
+            return;
+        }
+
+        boolean accepted = buffer.offer(event);
+        if (!accepted && writerProperties.getOverflowPolicy() == LogProperties.OverflowPolicy.BLOCK) {
+            accepted = offerBlocking(event, writerProperties.getBlockTimeout());
+        }
+        if (!accepted) {
+            droppedCount.increment();
+            return;
+        }
+        enqueuedCount.increment();
+        // 攒够一批时唤醒写入线程，否则等待刷新间隔
+        if (buffer.size() >= writerProperties.getBatchSize()) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * 缓冲区满时等待写入线程腾出空间
+     */
+    private boolean offerBlocking(LogEvent event, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        LockSupport.unpark(writerThread);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (buffer.offer(event)) {
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入线程：满一批或超过刷新间隔时写入，关闭时写完缓冲区中的剩余日志
+     */
+    private void runWriter() {
+        LogProperties.WriterProperties writerProperties = logProperties.getWriter();
+        int batchSize = Math.max(1, writerProperties.getBatchSize());
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, writerProperties.getFlushInterval()));
+        List<LogEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+
+        while (running || !buffer.isEmpty()) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            boolean due = now - lastFlush >= flushIntervalNanos;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (due || !running))) {
+                writeBatch(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+                continue;
+            }
+            if (!running) {
+                continue;
+            }
+            if (batch.isEmpty() && due) {
+                lastFlush = now;
+            }
+            LockSupport.parkNanos(this, Math.max(0, flushIntervalNanos - (now - lastFlush)));
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * 补全日志信息并批量写入
+     */
+    private void writeBatch(List<LogEvent> batch) {
+        long start = System.nanoTime();
+        List<Log> logs = new ArrayList<>(batch.size());
+        for (LogEvent event : batch) {
+            try {
+                enrich(event);
+            } catch (Exception e) {
+                log.warn("操作日志信息补全失败", e);
+            }
+            logs.add(event.log());
+        }
+
+        try {
+            logMapper.insertBatch(logs);
+            writtenCount.add(logs.size());
+            // 新日志同步到检索索引
+            logSearchIndex.requestRefresh();
+        } catch (Exception e) {
+            failedCount.add(logs.size());
+            log.error("操作日志批量写入失败，丢弃 {} 条", logs.size(), e);
+        }
+
+        try {
+            visitStatsService.recordVisits(batch);
+        } catch (Exception e) {
+            log.warn("访问统计记录失败", e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        batchCount.increment();
+        batchNanos.add(elapsed);
+        lastBatchNanos.set(elapsed);
+        maxBatchNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * 解析 IP 归属地和 UserAgent
+     */
+    private void enrich(LogEvent event) {
+        Log log = event.log();
+        IPUtils.Region region = IPUtils.getIpRegion(log.getIp());
+        if (region != null) {
+            log.setProvince(region.province());
+            log.setCity(region.city());
+        }
+
+        String userAgentString = event.userAgent();
+        UserAgent userAgent = resolveUserAgent(userAgentString);
+        if (userAgent != null) {
+            // 系统信息
+            log.setOs(userAgent.getOs().getName());
+            // 浏览器信息
+            log.setBrowser(userAgent.getBrowser().getName());
+            log.setBrowserVersion(userAgent.getBrowser().getVersion(userAgentString));
+        }
+    }
+
+    /**
+     * 解析UserAgent
+     *
+     * @param userAgentString UserAgent字符串
+     * @return UserAgent
+     */
+    private UserAgent resolveUserAgent(String userAgentString) {
+        if (StrUtil.isBlank(userAgentString)) {
+            return null;
+        }
+        // 给userAgentStringMD5加密一次防止过长
+        String userAgentStringMD5 = DigestUtil.md5Hex(userAgentString);
+        Cache cache = cacheManager.getCache("userAgent");
+        UserAgent userAgent = cache != null ? cache.get(userAgentStringMD5, UserAgent.class) : null;
+        if (userAgent != null) {
+            return userAgent;
+        }
+        userAgent = UserAgentUtil.parse(userAgentString);
+        if (cache != null) {
+            cache.put(userAgentStringMD5, userAgent);
+        }
+        return userAgent;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "logWriter";
+    }
+
+    /**
+     * 获取异步写入统计信息
+     */
+    @Override
+    public Stats getStats() {
+        long batches = batchCount.sum();
+        return new Stats(
+                buffer != null ? buffer.size() : 0,
+                buffer != null ? buffer.capacity() : 0,
+                enqueuedCount.sum(),
+                droppedCount.sum(),
+                sampledOutCount.sum(),
+                writtenCount.sum(),
+                failedCount.sum(),
+                batches,
+                TimeUnit.NANOSECONDS.toMicros(lastBatchNanos.get()) / 1000.0,
+                batches > 0 ? TimeUnit.NANOSECONDS.toMicros(batchNanos.sum() / batches) / 1000.0 : 0,
+                TimeUnit.NANOSECONDS.toMicros(maxBatchNanos.get()) / 1000.0
+        );
+    }
+
+    /**
+     * 异步写入统计信息
+     *
+     * @param depth            当前缓冲区中的日志数量
+     * @param capacity         缓冲区容量
+     * @param enqueued         累计入队数量
+     * @param dropped          缓冲区满被丢弃的数量
+     * @param sampledOut       采样策略下被丢弃的数量
+     * @param written          累计写入数量
+     * @param failed           写入失败的数量
+     * @param batches          累计写入批次
+     * @param lastBatchMillis  最近一批的耗时(毫秒)
+     * @param avgBatchMillis   平均每批耗时(毫秒)
+     * @param maxBatchMillis   最大每批耗时(毫秒)
+     */
+    public record Stats(int depth, int capacity, long enqueued, long dropped, long sampledOut,
+                        long written, long failed, long batches,
+                        double lastBatchMillis, double avgBatchMillis, double maxBatchMillis) {
+    }
+}
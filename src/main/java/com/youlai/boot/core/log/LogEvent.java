@@ -0,0 +1,17 @@
+package com.youlai.boot.core.log;
+
+import com.youlai.boot.system.model.entity.Log;
+
+/**
+ * 待写入的操作日志
+ * <p>
+ * 请求线程只采集原始信息，IP 归属地和 UserAgent 解析由写入线程完成
+ *
+ * @param log       日志记录
+ * @param userAgent 原始 User-Agent 请求头
+ * @param endpoint  接口路径模板，用于访问统计
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public record LogEvent(Log log, String userAgent, String endpoint) {
+}
@@ -0,0 +1,115 @@
+package com.youlai.boot.core.log;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区(多生产者、单消费者)
+ * <p>
+ * 每个槽位带有序号：生产者通过 CAS 抢占写入位置，写入元素后发布序号；
+ * 消费者按序号判断槽位是否可读，读取后将序号推进一圈，槽位即可被再次写入。
+ * 缓冲区满时 {@link #offer(Object)} 立即返回 false，不阻塞生产者。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public class LogRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读取位置(只由消费者线程修改)
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素
+     *
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 槽位仍未被消费者读取：缓冲区已满
+                return false;
+            } else {
+                // 其他生产者已占用该位置
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多 maxElements 个元素，只能由消费者线程调用
+     *
+     * @return 取出的元素个数
+     */
+    public int drainTo(List<E> target, int maxElements) {
+        long position = head;
+        int count = 0;
+        while (count < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // 槽位尚未发布
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * 当前元素个数(近似值)
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,74 @@
+package com.youlai.boot.core.log.index;
+
+import java.util.Arrays;
+
+/**
+ * 二元分词器
+ * <p>
+ * 文本转为小写后按相邻两个字符切分，每个二元组编码为一个 int(高 16 位为前一个字符)。
+ * 中文、IP、路径均可按任意子串检索；多个字段以分隔符拼接，二元组不跨字段。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+final class BigramTokenizer {
+
+    /**
+     * 字段分隔符
+     */
+    static final char FIELD_SEPARATOR = '\0';
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 规范化日志字段：转为小写并以分隔符拼接
+     *
+     * @param fields 字段值，可为 null
+     */
+    static String normalize(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) {
+                continue;
+            }
+            if (!text.isEmpty()) {
+                text.append(FIELD_SEPARATOR);
+            }
+            for (int i = 0; i < field.length(); i++) {
+                char c = field.charAt(i);
+                text.append(c == FIELD_SEPARATOR ? ' ' : Character.toLowerCase(c));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * 对规范化后的文本分词
+     *
+     * @param text 规范化后的文本
+     * @return 去重并升序排列的二元组
+     */
+    static int[] tokenize(String text) {
+        int[] grams = new int[Math.max(0, text.length() - 1)];
+        int size = 0;
+        for (int i = 1; i < text.length(); i++) {
+            char first = text.charAt(i - 1);
+            char second = text.charAt(i);
+            if (first != FIELD_SEPARATOR && second != FIELD_SEPARATOR) {
+                grams[size++] = first << 16 | second;
+            }
+        }
+        if (size == 0) {
+            return new int[0];
+        }
+        Arrays.sort(grams, 0, size);
+        int count = 1;
+        for (int i = 1; i < size; i++) {
+            if (grams[i] != grams[count - 1]) {
+                grams[count++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, count);
+    }
+}
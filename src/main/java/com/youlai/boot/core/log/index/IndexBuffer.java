@@ -0,0 +1,171 @@
+package com.youlai.boot.core.log.index;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 内存索引段
+ * <p>
+ * 保存尚未写入磁盘的最新日志，由索引线程追加，检索线程并发读取；
+ * 条数达到索引段大小后整体写为磁盘索引段 {@link IndexSegment}。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+final class IndexBuffer {
+
+    private final Map<Integer, PostingList> postings = new HashMap<>();
+    private long[] ids = new long[1024];
+    private long[] times = new long[1024];
+    private String[] texts = new String[1024];
+    private int size;
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+
+    /**
+     * 追加一条日志，提交较晚的日志ID可能小于已追加的日志
+     *
+     * @param id    日志ID
+     * @param time  创建时间，epoch 秒
+     * @param text  规范化后的索引文本
+     */
+    synchronized void add(long id, long time, String text) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            times = Arrays.copyOf(times, size * 2);
+            texts = Arrays.copyOf(texts, size * 2);
+        }
+        int docNo = size++;
+        ids[docNo] = id;
+        times[docNo] = time;
+        texts[docNo] = text;
+        minId = Math.min(minId, id);
+        maxId = Math.max(maxId, id);
+        minTime = Math.min(minTime, time);
+        maxTime = Math.max(maxTime, time);
+        for (int gram : BigramTokenizer.tokenize(text)) {
+            postings.computeIfAbsent(gram, k -> new PostingList()).add(docNo);
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 最小日志ID，无日志时返回 {@link Long#MAX_VALUE}
+     */
+    synchronized long minId() {
+        return minId;
+    }
+
+    /**
+     * 最大日志ID，无日志时返回 {@link Long#MIN_VALUE}
+     */
+    synchronized long maxId() {
+        return maxId;
+    }
+
+    synchronized void search(IndexQuery query, TopHits hits) {
+        if (size == 0 || !hits.overlaps(minTime, maxTime)) {
+            return;
+        }
+        int[] grams = query.grams();
+        int[][] lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            PostingList list = postings.get(grams[i]);
+            if (list == null) {
+                return;
+            }
+            lists[i] = Arrays.copyOf(list.docNos, list.size);
+        }
+        boolean verify = query.needsVerify();
+        for (int docNo : Postings.intersect(lists)) {
+            if (hits.accepts(times[docNo]) && (!verify || query.matches(texts[docNo]))) {
+                hits.collect(ids[docNo], times[docNo]);
+            }
+        }
+    }
+
+    /**
+     * 写为磁盘索引段，先写临时文件再重命名
+     *
+     * @param file 索引段文件
+     */
+    synchronized void writeTo(Path file) throws IOException {
+        int[] sortedGrams = postings.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] offsets = new int[sortedGrams.length];
+        int[] counts = new int[sortedGrams.length];
+        ByteArrayOutputStream postingBytes = new ByteArrayOutputStream(size * 64);
+        for (int i = 0; i < sortedGrams.length; i++) {
+            PostingList list = postings.get(sortedGrams[i]);
+            offsets[i] = postingBytes.size();
+            counts[i] = list.size;
+            Postings.encode(list.docNos, list.size, postingBytes);
+        }
+        byte[][] textBytes = new byte[size][];
+        int textLength = 0;
+        for (int i = 0; i < size; i++) {
+            textBytes[i] = texts[i].getBytes(StandardCharsets.UTF_8);
+            textLength += textBytes[i].length;
+        }
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+            out.writeInt(IndexSegment.MAGIC);
+            out.writeInt(IndexSegment.VERSION);
+            out.writeInt(size);
+            out.writeInt(sortedGrams.length);
+            out.writeInt(textLength);
+            out.writeInt(0);
+            out.writeLong(minId);
+            out.writeLong(maxId);
+            out.writeLong(minTime);
+            out.writeLong(maxTime);
+            int textOffset = 0;
+            for (int i = 0; i < size; i++) {
+                out.writeLong(ids[i]);
+                out.writeLong(times[i]);
+                out.writeInt(textOffset);
+                out.writeInt(textBytes[i].length);
+                textOffset += textBytes[i].length;
+            }
+            for (int i = 0; i < sortedGrams.length; i++) {
+                out.writeInt(sortedGrams[i]);
+                out.writeInt(offsets[i]);
+                out.writeInt(counts[i]);
+            }
+            for (byte[] bytes : textBytes) {
+                out.write(bytes);
+            }
+            postingBytes.writeTo(out);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 可增长的升序文档序号列表
+     */
+    private static final class PostingList {
+        private int[] docNos = new int[4];
+        private int size;
+
+        void add(int docNo) {
+            if (size == docNos.length) {
+                docNos = Arrays.copyOf(docNos, size * 2);
+            }
+            docNos[size++] = docNo;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.youlai.boot.core.log.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 检索条件
+ * <p>
+ * 先按关键字的全部二元组求倒排表交集得到候选日志；关键字超过两个字符时，
+ * 二元组可能分散出现在不同位置，再用存储的规范化文本校验是否包含完整关键字。
+ *
+ * @param text  规范化后的关键字
+ * @param bytes 关键字的 UTF-8 编码
+ * @param grams 关键字的二元组
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+record IndexQuery(String text, byte[] bytes, int[] grams) {
+
+    /**
+     * 构建检索条件
+     *
+     * @param keyword 关键字
+     * @return 检索条件，关键字不足两个字符时返回 null
+     */
+    static IndexQuery of(String keyword) {
+        String text = BigramTokenizer.normalize(keyword == null ? null : keyword.trim());
+        int[] grams = BigramTokenizer.tokenize(text);
+        if (grams.length == 0) {
+            return null;
+        }
+        return new IndexQuery(text, text.getBytes(StandardCharsets.UTF_8), grams);
+    }
+
+    /**
+     * 是否需要校验完整关键字，两个字符的关键字只有一个二元组，倒排表命中即为包含
+     */
+    boolean needsVerify() {
+        return text.length() > 2;
+    }
+
+    /**
+     * 判断文本是否包含关键字
+     */
+    boolean matches(String normalizedText) {
+        return normalizedText.contains(text);
+    }
+
+    /**
+     * 判断 UTF-8 编码的文本是否包含关键字，UTF-8 编码的子串匹配与字符匹配等价
+     *
+     * @param buffer 数据
+     * @param offset 文本起始位置
+     * @param length 文本字节数
+     */
+    boolean matches(ByteBuffer buffer, int offset, int length) {
+        int last = offset + length - bytes.length;
+        outer:
+        for (int start = offset; start <= last; start++) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(start + i) != bytes[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
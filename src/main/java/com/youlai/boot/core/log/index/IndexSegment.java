@@ -0,0 +1,138 @@
+package com.youlai.boot.core.log.index;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 磁盘索引段(只读)
+ * <p>
+ * 文件通过内存映射读取，词典常驻内存，文档信息和倒排表按需从映射区读取。文件格式：
+ * <pre>
+ * 头部   magic, version, docCount, gramCount, textLength, 保留 (int)；minId, maxId, minTime, maxTime (long)
+ * 文档   docCount 个 (id, time, textOffset, textLength) (long, long, int, int)，按索引顺序，下标即段内文档序号
+ * 词典   gramCount 个 (gram, offset, count) (int)，按 gram 升序
+ * 文本   规范化后索引文本的 UTF-8 编码，用于校验候选文档是否包含完整关键字
+ * 倒排表 差值 + varint 编码的文档序号
+ * </pre>
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+final class IndexSegment {
+
+    static final int MAGIC = 0x4C494458;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 56;
+    static final int DOC_SIZE = 24;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long minId;
+    private final long maxId;
+    private final long minTime;
+    private final long maxTime;
+    private final int[] grams;
+    private final int[] offsets;
+    private final int[] counts;
+    private final int textStart;
+    private final int postingsStart;
+
+    private IndexSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("索引段文件格式错误：" + file);
+        }
+        int docCount = buffer.getInt(8);
+        int gramCount = buffer.getInt(12);
+        int textLength = buffer.getInt(16);
+        this.minId = buffer.getLong(24);
+        this.maxId = buffer.getLong(32);
+        this.minTime = buffer.getLong(40);
+        this.maxTime = buffer.getLong(48);
+        this.grams = new int[gramCount];
+        this.offsets = new int[gramCount];
+        this.counts = new int[gramCount];
+        int dictStart = HEADER_SIZE + docCount * DOC_SIZE;
+        for (int i = 0; i < gramCount; i++) {
+            int pos = dictStart + i * 12;
+            grams[i] = buffer.getInt(pos);
+            offsets[i] = buffer.getInt(pos + 4);
+            counts[i] = buffer.getInt(pos + 8);
+        }
+        this.textStart = dictStart + gramCount * 12;
+        this.postingsStart = textStart + textLength;
+    }
+
+    /**
+     * 打开索引段文件
+     */
+    static IndexSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 映射在通道关闭后仍然有效
+            return new IndexSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    void search(IndexQuery query, TopHits hits) {
+        if (!hits.overlaps(minTime, maxTime)) {
+            return;
+        }
+        int[] queryGrams = query.grams();
+        int[][] lists = new int[queryGrams.length][];
+        for (int i = 0; i < queryGrams.length; i++) {
+            int index = Arrays.binarySearch(grams, queryGrams[i]);
+            if (index < 0) {
+                return;
+            }
+            lists[i] = Postings.decode(buffer, postingsStart + offsets[index], counts[index]);
+        }
+        boolean verify = query.needsVerify();
+        for (int docNo : Postings.intersect(lists)) {
+            int pos = HEADER_SIZE + docNo * DOC_SIZE;
+            long time = buffer.getLong(pos + 8);
+            // 先按时间过滤，再校验文本
+            if (!hits.accepts(time)) {
+                continue;
+            }
+            if (!verify || query.matches(buffer, textStart + buffer.getInt(pos + 16), buffer.getInt(pos + 20))) {
+                hits.collect(buffer.getLong(pos), time);
+            }
+        }
+    }
+
+    /**
+     * 段内全部日志ID
+     */
+    long[] ids() {
+        long[] ids = new long[docCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = buffer.getLong(HEADER_SIZE + i * DOC_SIZE);
+        }
+        return ids;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long minId() {
+        return minId;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    long maxTime() {
+        return maxTime;
+    }
+
+    int docCount() {
+        return buffer.getInt(8);
+    }
+}
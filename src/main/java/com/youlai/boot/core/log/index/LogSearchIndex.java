@@ -0,0 +1,471 @@
+package com.youlai.boot.core.log.index;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.StrUtil;
+import com.youlai.boot.common.base.PageCursor;
+import com.youlai.boot.config.property.LogProperties;
+import com.youlai.boot.system.mapper.LogMapper;
+import com.youlai.boot.system.model.vo.LogPageVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 日志关键字检索索引
+ * <p>
+ * 本地磁盘上的二元分词倒排索引，覆盖日志内容、请求路径、IP、操作人和日志模块；
+ * 同时保存规范化后的索引文本，校验候选日志是否包含完整关键字，命中结果与 LIKE 查询一致。
+ * 索引线程按ID顺序从 sys_log 读取新日志追加到内存索引段，满一段后写为磁盘索引段；
+ * 日志写入后由 {@link com.youlai.boot.core.log.AsyncLogWriter} 触发同步，另按固定间隔同步其他节点写入的日志。
+ * 检索只返回按 (创建时间, ID) 降序的一页日志ID，由调用方回表查询。
+ * <p>
+ * 并发写入时日志的提交顺序与自增ID不一致，较小ID的日志可能晚于较大ID提交。每次同步都从已确认水位之后重新读取日志ID，
+ * 只补录未索引的日志；日志首次读取到的时间超过提交延迟窗口后，水位才推进到该日志，此时更小ID的日志均已提交。
+ * 写入磁盘索引段时保存水位，重启后从水位之后重新检查，已在索引段中的日志不重复索引。
+ * <p>
+ * 启动时加载已有索引段并同步之后的日志，首次同步完成前检索返回 null，调用方回退为 LIKE 查询。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogSearchIndex {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final String REBUILD_DIR = "rebuild";
+    private static final String WATERMARK_FILE = "watermark";
+
+    private final LogProperties logProperties;
+    private final LogMapper logMapper;
+
+    /**
+     * 索引修改锁：同步、重建、清理互斥
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    /**
+     * 当前索引快照，整体替换保证检索时磁盘段和内存段一致
+     */
+    private volatile Snapshot snapshot = new Snapshot(List.of(), new IndexBuffer());
+    private volatile boolean ready;
+    private volatile long lastIndexedId;
+
+    /**
+     * 已确认水位及其之后已索引的日志，仅由持有 {@link #writeLock} 的线程访问
+     */
+    private Progress progress;
+
+    private Path indexDir;
+    private ScheduledExecutorService indexExecutor;
+
+    @PostConstruct
+    public void init() {
+        LogProperties.IndexProperties indexProperties = logProperties.getIndex();
+        if (!indexProperties.isEnabled()) {
+            return;
+        }
+        try {
+            indexDir = Paths.get(indexProperties.getPath());
+            Files.createDirectories(indexDir);
+            // 清理未完成的重建
+            FileUtil.del(indexDir.resolve(REBUILD_DIR));
+            List<IndexSegment> segments = openSegments(indexDir);
+            snapshot = new Snapshot(segments, new IndexBuffer());
+            progress = restoreProgress(snapshot, indexDir);
+            lastIndexedId = segments.stream().mapToLong(IndexSegment::maxId).max().orElse(0);
+        } catch (IOException e) {
+            log.error("日志检索索引加载失败，关键字检索使用 LIKE 查询", e);
+            return;
+        }
+        indexExecutor = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryBuilder.create()
+                        .setNamePrefix("log-index-")
+                        .setDaemon(true)
+                        .build());
+        long interval = Math.max(100, indexProperties.getRefreshInterval());
+        indexExecutor.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (indexExecutor != null) {
+            indexExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 请求同步新日志，已有待执行的同步时忽略
+     */
+    public void requestRefresh() {
+        if (indexExecutor != null && refreshPending.compareAndSet(false, true)) {
+            indexExecutor.execute(() -> {
+                refreshPending.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * 同步新日志，重建期间跳过
+     */
+    private void refresh() {
+        if (!writeLock.tryLock()) {
+            return;
+        }
+        try {
+            boolean wasReady = ready;
+            // 以当前快照为准，清理过期索引段后不会恢复已删除的索引段
+            progress = catchUp(new Progress(snapshot, progress.watermark(), progress.pending()),
+                    progress.watermark(), indexDir, true);
+            ready = true;
+            if (!wasReady) {
+                log.info("日志检索索引已就绪，索引段：{}，最大日志ID：{}", snapshot.segments().size(), lastIndexedId);
+            }
+        } catch (Exception e) {
+            log.warn("日志检索索引同步失败", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 从数据库读取已确认水位之后未索引的日志，并推进水位
+     *
+     * @param progress  当前索引、已确认水位及其之后已索引的日志
+     * @param settledId 不大于该ID的日志已确认提交，读取后无需等待提交延迟窗口
+     * @param dir       磁盘索引段目录
+     * @param publish   是否随同步进度发布索引快照
+     * @return 同步完成后的索引和水位
+     */
+    private Progress catchUp(Progress progress, long settledId, Path dir, boolean publish) throws IOException {
+        LogProperties.IndexProperties indexProperties = logProperties.getIndex();
+        int batchSize = Math.max(1, indexProperties.getBatchSize());
+        int segmentSize = Math.max(1, indexProperties.getSegmentSize());
+        long startTime = System.currentTimeMillis();
+        Snapshot current = progress.snapshot();
+        NavigableMap<Long, Long> pending = progress.pending();
+        long afterId = progress.watermark();
+        while (true) {
+            List<Long> ids = logMapper.listLogIdsForIndex(afterId, batchSize);
+            // 读取之后记录时间：此时比这些ID更小的日志均已分配ID
+            long observedTime = System.currentTimeMillis();
+            List<Long> missingIds = ids.stream().filter(id -> !pending.containsKey(id)).toList();
+            if (!missingIds.isEmpty()) {
+                for (LogPageVO item : logMapper.listLogsForIndex(missingIds)) {
+                    current.buffer().add(item.getId(), toEpochSecond(item.getCreateTime()), normalize(item));
+                    if (item.getId() > settledId) {
+                        pending.put(item.getId(), observedTime);
+                    }
+                    if (publish) {
+                        lastIndexedId = Math.max(lastIndexedId, item.getId());
+                    }
+                    if (current.buffer().size() >= segmentSize) {
+                        current = flush(current, dir);
+                        if (publish) {
+                            snapshot = current;
+                            // 内存索引段已清空，水位之前的日志均已写入磁盘索引段
+                            writeWatermark(dir, progress.watermark());
+                        }
+                    }
+                }
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        // 首次读取早于提交延迟窗口的日志之前的ID均已提交，推进水位
+        long settledTime = startTime - Math.max(0, indexProperties.getCommitLag());
+        long watermark = Math.max(progress.watermark(), settledId);
+        for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+            if (entry.getValue() <= settledTime) {
+                watermark = Math.max(watermark, entry.getKey());
+            }
+        }
+        pending.headMap(watermark, true).clear();
+        return new Progress(current, watermark, pending);
+    }
+
+    /**
+     * 将内存索引段写为磁盘索引段
+     */
+    private static Snapshot flush(Snapshot current, Path dir) throws IOException {
+        Path file = dir.resolve(segmentFileName(current.buffer().maxId()));
+        current.buffer().writeTo(file);
+        List<IndexSegment> segments = new ArrayList<>(current.segments());
+        segments.add(IndexSegment.open(file));
+        return new Snapshot(List.copyOf(segments), new IndexBuffer());
+    }
+
+    /**
+     * 恢复同步进度：水位之后已在磁盘索引段中的日志视为刚读取，重新等待提交延迟窗口
+     */
+    private static Progress restoreProgress(Snapshot current, Path dir) throws IOException {
+        Path file = dir.resolve(WATERMARK_FILE);
+        long watermark;
+        if (Files.exists(file)) {
+            watermark = Long.parseLong(Files.readString(file).trim());
+        } else {
+            // 未保存水位的索引目录，以已有索引段的最大ID为水位
+            watermark = current.segments().stream().mapToLong(IndexSegment::maxId).max().orElse(0);
+        }
+        long now = System.currentTimeMillis();
+        NavigableMap<Long, Long> pending = new TreeMap<>();
+        for (IndexSegment segment : current.segments()) {
+            if (segment.maxId() > watermark) {
+                for (long id : segment.ids()) {
+                    if (id > watermark) {
+                        pending.put(id, now);
+                    }
+                }
+            }
+        }
+        return new Progress(current, watermark, pending);
+    }
+
+    /**
+     * 保存水位，先写临时文件再重命名
+     */
+    private static void writeWatermark(Path dir, long watermark) throws IOException {
+        Path file = dir.resolve(WATERMARK_FILE);
+        Path tempFile = dir.resolve(WATERMARK_FILE + ".tmp");
+        Files.writeString(tempFile, String.valueOf(watermark));
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 从数据库重建索引
+     * <p>
+     * 在独立目录中重建，完成后替换现有索引段；重建期间检索使用原索引，新日志在重建结束后同步
+     */
+    public void rebuild() {
+        if (indexDir == null) {
+            log.warn("日志检索索引未启用，跳过重建");
+            return;
+        }
+        writeLock.lock();
+        try {
+            long startTime = System.currentTimeMillis();
+            Path rebuildDir = indexDir.resolve(REBUILD_DIR);
+            FileUtil.del(rebuildDir);
+            Files.createDirectories(rebuildDir);
+            // 当前索引水位之前的日志在重建开始前均已提交，重建只需跟踪水位之后的日志
+            long settledId = progress != null ? progress.watermark() : 0;
+            Progress rebuilt = catchUp(new Progress(new Snapshot(List.of(), new IndexBuffer()), 0, new TreeMap<>()),
+                    settledId, rebuildDir, false);
+
+            // 替换索引段文件
+            for (IndexSegment segment : snapshot.segments()) {
+                Files.deleteIfExists(segment.file());
+            }
+            List<IndexSegment> segments = new ArrayList<>();
+            for (IndexSegment segment : rebuilt.snapshot().segments()) {
+                Path target = indexDir.resolve(segment.file().getFileName());
+                Files.move(segment.file(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                segments.add(IndexSegment.open(target));
+            }
+            FileUtil.del(rebuildDir);
+            snapshot = new Snapshot(List.copyOf(segments), rebuilt.snapshot().buffer());
+            progress = new Progress(snapshot, rebuilt.watermark(), rebuilt.pending());
+            // 内存索引段中的日志重启后需重新读取，保存的水位不超过其中的最小ID
+            writeWatermark(indexDir, Math.min(rebuilt.watermark(), snapshot.buffer().minId() - 1));
+            lastIndexedId = rebuilt.pending().isEmpty() ? rebuilt.watermark() : rebuilt.pending().lastKey();
+            ready = true;
+            log.info("日志检索索引重建完成，索引段：{}，最大日志ID：{}，耗时：{} ms",
+                    segments.size(), lastIndexedId, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("日志检索索引重建失败", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 删除全部日志早于指定时间的磁盘索引段，日志分区删除后调用
+     *
+     * @param before 截止时间(不含)
+     */
+    public void purgeBefore(LocalDateTime before) {
+        if (indexDir == null) {
+            return;
+        }
+        long beforeTime = toEpochSecond(before);
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            List<IndexSegment> retained = new ArrayList<>();
+            for (IndexSegment segment : current.segments()) {
+                if (segment.maxTime() < beforeTime) {
+                    Files.deleteIfExists(segment.file());
+                    log.info("删除过期日志索引段：{}", segment.file().getFileName());
+                } else {
+                    retained.add(segment);
+                }
+            }
+            snapshot = new Snapshot(List.copyOf(retained), current.buffer());
+        } catch (IOException e) {
+            log.warn("删除过期日志索引段失败", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 关键字检索
+     *
+     * @param keyword   关键字
+     * @param startTime 开始时间(含)，可为 null
+     * @param endTime   结束时间(含)，可为 null
+     * @param seek      游标位置，非游标分页时为 null
+     * @param offset    跳过的命中数量
+     * @param limit     返回的命中数量
+     * @return 命中结果；索引不可用或关键字不足两个字符时返回 null
+     */
+    public SearchResult search(String keyword, LocalDateTime startTime, LocalDateTime endTime,
+                               PageCursor seek, long offset, long limit) {
+        if (!ready || StrUtil.isBlank(keyword)) {
+            return null;
+        }
+        IndexQuery query = IndexQuery.of(keyword);
+        if (query == null) {
+            return null;
+        }
+        Long seekTime = null;
+        long seekId = 0;
+        if (seek != null) {
+            seekTime = seek.getSortValue() != null ? toEpochSecond(seek.getSortValue()) : Long.MIN_VALUE;
+            seekId = seek.getId() != null ? seek.getId() : Long.MAX_VALUE;
+        }
+        TopHits hits = new TopHits(
+                startTime != null ? toEpochSecond(startTime) : Long.MIN_VALUE,
+                endTime != null ? toEpochSecond(endTime) : Long.MAX_VALUE,
+                seekTime,
+                seekId,
+                (int) Math.min(Integer.MAX_VALUE, offset + limit)
+        );
+        Snapshot current = snapshot;
+        for (IndexSegment segment : current.segments()) {
+            segment.search(query, hits);
+        }
+        current.buffer().search(query, hits);
+        return new SearchResult(hits.total(), hits.ids((int) Math.min(Integer.MAX_VALUE, offset)));
+    }
+
+    /**
+     * 获取索引统计信息
+     */
+    public Stats getStats() {
+        Snapshot current = snapshot;
+        long docs = current.buffer().size();
+        for (IndexSegment segment : current.segments()) {
+            docs += segment.docCount();
+        }
+        return new Stats(ready, current.segments().size(), docs, lastIndexedId);
+    }
+
+    /**
+     * 索引字段：日志内容、请求路径、IP、操作人、日志模块(编码和名称)
+     */
+    private static String normalize(LogPageVO item) {
+        return BigramTokenizer.normalize(
+                item.getContent(),
+                item.getRequestUri(),
+                item.getIp(),
+                item.getOperator(),
+                item.getModule() != null ? item.getModule().name() : null,
+                item.getModule() != null ? item.getModule().getModuleName() : null
+        );
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : 0;
+    }
+
+    private static String segmentFileName(long maxId) {
+        return SEGMENT_PREFIX + String.format("%020d", maxId) + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * 加载索引段，按ID范围排序
+     */
+    private static List<IndexSegment> openSegments(Path dir) throws IOException {
+        List<IndexSegment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).toList()) {
+                segments.add(IndexSegment.open(file));
+            }
+        }
+        segments.sort(Comparator.comparingLong(IndexSegment::minId));
+        return List.copyOf(segments);
+    }
+
+    /**
+     * 同步进度
+     *
+     * @param snapshot  索引
+     * @param watermark 已确认水位，不大于该ID的日志均已索引
+     * @param pending   水位之后已索引的日志：日志ID -> 首次读取时间(毫秒)
+     */
+    private record Progress(Snapshot snapshot, long watermark, NavigableMap<Long, Long> pending) {
+    }
+
+    /**
+     * 索引快照
+     *
+     * @param segments 磁盘索引段
+     * @param buffer   内存索引段
+     */
+    private record Snapshot(List<IndexSegment> segments, IndexBuffer buffer) {
+    }
+
+    /**
+     * 检索结果
+     *
+     * @param total 时间范围内的命中总数
+     * @param ids   本页日志ID，按创建时间和ID降序
+     */
+    public record SearchResult(long total, List<Long> ids) {
+    }
+
+    /**
+     * 索引统计信息
+     *
+     * @param ready         是否已完成首次同步
+     * @param segments      磁盘索引段数量
+     * @param docs          已索引日志数量
+     * @param lastIndexedId 已索引的最大日志ID
+     */
+    public record Stats(boolean ready, int segments, long docs, long lastIndexedId) {
+    }
+}
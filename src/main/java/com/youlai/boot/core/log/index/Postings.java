@@ -0,0 +1,97 @@
+package com.youlai.boot.core.log.index;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 倒排表工具
+ * <p>
+ * 倒排表为升序的段内文档序号，磁盘上以差值 + 变长整数(varint)编码存储
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+final class Postings {
+
+    private Postings() {
+    }
+
+    /**
+     * 求多个倒排表的交集，从最短的倒排表开始逐个过滤
+     *
+     * @param lists 升序倒排表
+     * @return 升序交集
+     */
+    static int[] intersect(int[][] lists) {
+        if (lists.length == 0) {
+            return new int[0];
+        }
+        int[][] sorted = lists.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(list -> list.length));
+        int[] result = sorted[0];
+        for (int i = 1; i < sorted.length && result.length > 0; i++) {
+            int[] other = sorted[i];
+            int[] next = new int[result.length];
+            int size = 0;
+            int from = 0;
+            for (int docNo : result) {
+                int found = Arrays.binarySearch(other, from, other.length, docNo);
+                if (found >= 0) {
+                    next[size++] = docNo;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+                if (from >= other.length) {
+                    break;
+                }
+            }
+            result = Arrays.copyOf(next, size);
+        }
+        return result;
+    }
+
+    /**
+     * 编码倒排表
+     */
+    static void encode(int[] docNos, int length, ByteArrayOutputStream out) {
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            int delta = docNos[i] - previous;
+            previous = docNos[i];
+            while ((delta & ~0x7F) != 0) {
+                out.write((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write(delta);
+        }
+    }
+
+    /**
+     * 解码倒排表
+     *
+     * @param buffer   数据
+     * @param position 起始位置
+     * @param count    文档数量
+     */
+    static int[] decode(ByteBuffer buffer, int position, int count) {
+        int[] docNos = new int[count];
+        int previous = 0;
+        int pos = position;
+        for (int i = 0; i < count; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(pos++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += value;
+            docNos[i] = previous;
+        }
+        return docNos;
+    }
+}
@@ -0,0 +1,106 @@
+package com.youlai.boot.core.log.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 检索结果收集器
+ * <p>
+ * 按 (创建时间, ID) 降序保留前 N 条命中，与日志列表的排序一致；同时统计时间范围内的命中总数。
+ * 游标分页时只保留游标位置之后的命中。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+final class TopHits {
+
+    private final long startTime;
+    private final long endTime;
+    private final boolean seek;
+    private final long seekTime;
+    private final long seekId;
+    private final int keep;
+
+    /**
+     * 最小堆，堆顶为已保留命中中排序最靠后的一条：[time, id]
+     */
+    private final PriorityQueue<long[]> heap;
+
+    private long total;
+
+    /**
+     * @param startTime 开始时间(含)，epoch 秒
+     * @param endTime   结束时间(含)，epoch 秒
+     * @param seekTime  游标位置的创建时间，无游标时为 null
+     * @param seekId    游标位置的ID
+     * @param keep      保留的命中数量
+     */
+    TopHits(long startTime, long endTime, Long seekTime, long seekId, int keep) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.seek = seekTime != null;
+        this.seekTime = seekTime != null ? seekTime : 0;
+        this.seekId = seekId;
+        this.keep = keep;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(keep, 1024)) + 1, TopHits::compare);
+    }
+
+    /**
+     * 时间范围是否与 [minTime, maxTime] 相交
+     */
+    boolean overlaps(long minTime, long maxTime) {
+        return maxTime >= startTime && minTime <= endTime;
+    }
+
+    /**
+     * 创建时间是否在时间范围内
+     */
+    boolean accepts(long time) {
+        return time >= startTime && time <= endTime;
+    }
+
+    void collect(long id, long time) {
+        if (!accepts(time)) {
+            return;
+        }
+        total++;
+        if (seek && (time > seekTime || (time == seekTime && id >= seekId))) {
+            return;
+        }
+        if (keep <= 0) {
+            return;
+        }
+        if (heap.size() < keep) {
+            heap.add(new long[]{time, id});
+            return;
+        }
+        long[] last = heap.peek();
+        if (time > last[0] || (time == last[0] && id > last[1])) {
+            heap.poll();
+            heap.add(new long[]{time, id});
+        }
+    }
+
+    long total() {
+        return total;
+    }
+
+    /**
+     * 按 (创建时间, ID) 降序返回跳过 offset 条后的命中ID
+     */
+    List<Long> ids(int offset) {
+        List<long[]> sorted = new ArrayList<>(heap);
+        sorted.sort((a, b) -> compare(b, a));
+        List<Long> ids = new ArrayList<>(Math.max(0, sorted.size() - offset));
+        for (int i = offset; i < sorted.size(); i++) {
+            ids.add(sorted.get(i)[1]);
+        }
+        return ids;
+    }
+
+    private static int compare(long[] a, long[] b) {
+        int result = Long.compare(a[0], b[0]);
+        return result != 0 ? result : Long.compare(a[1], b[1]);
+    }
+}
@@ -0,0 +1,249 @@
+package com.youlai.boot.core.ratelimit;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.youlai.boot.config.property.SecurityProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 额度租约限流器
+ * <p>
+ * Redis 中按固定窗口保存每个限流键的全局额度，各节点在本地为每个限流键维护一个令牌桶，
+ * 一次从全局额度中租用一批许可(租约)，请求直接在内存中扣减：
+ * <ul>
+ *     <li>本地许可用尽时同步租用，余量低于租约一半时异步续租，稳定状态下绝大多数请求不访问 Redis</li>
+ *     <li>全局额度只会被租出一次，集群总放行数不超过阈值；未用完的许可随窗口作废，因此偏差只会偏严</li>
+ *     <li>租约有效期不超过窗口结束时间和配置的最长有效期，限制节点间额度分配的不一致时间</li>
+ *     <li>窗口按节点本地时钟划分(各节点须通过 NTP 同步时钟)，当前窗口的额度键在本地计算后通过 KEYS 传入脚本，兼容 Redis Cluster</li>
+ * </ul>
+ * 与 {@link RedisRateLimiter} 的 GCRA 不同，固定窗口在窗口交界处最多可在短时间内放行两倍阈值的请求。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@ConditionalOnProperty(value = "security.rate-limit.mode", havingValue = "lease")
+@Component
+@Slf4j
+public class LeasingRateLimiter implements RateLimiter {
+
+    private static final DefaultRedisScript<List> LEASE_SCRIPT = new DefaultRedisScript<>();
+
+    static {
+        LEASE_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource("script/rate_limiter_lease.lua")));
+        LEASE_SCRIPT.setResultType(List.class);
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SecurityProperties.RateLimitProperty rateLimitProperty;
+    private final Clock clock;
+
+    /**
+     * 本地令牌桶：限流键 -> 令牌桶
+     */
+    private final Cache<String, LeasedBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(100000)
+            .expireAfterAccess(Duration.ofMinutes(5))
+            .build();
+
+    /**
+     * 异步续租线程，队列满时放弃续租，由请求线程在许可用尽时同步租用
+     */
+    private final ExecutorService renewExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(1024),
+            ThreadFactoryBuilder.create().setNamePrefix("rate-limit-lease-").setDaemon(true).build(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    @Autowired
+    public LeasingRateLimiter(RedisTemplate<String, Object> redisTemplate, SecurityProperties securityProperties) {
+        this(redisTemplate, securityProperties, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock 划分窗口和判断租约过期使用的时钟
+     */
+    LeasingRateLimiter(RedisTemplate<String, Object> redisTemplate, SecurityProperties securityProperties, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.rateLimitProperty = securityProperties.getRateLimit();
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        renewExecutor.shutdownNow();
+    }
+
+    @Override
+    public RateLimitResult tryAcquire(List<RateLimitRule> rules) {
+        List<LeasedBucket> acquired = new ArrayList<>(rules.size());
+        RateLimitResult tightest = null;
+
+        for (RateLimitRule rule : rules) {
+            LeasedBucket bucket = buckets.get(rule.key(), key -> new LeasedBucket());
+            int state = bucket.tryTake(clock.millis());
+            if (state == LeasedBucket.EMPTY) {
+                // 本地许可用尽，同步租用；同一令牌桶只需一个线程访问 Redis
+                synchronized (bucket.leaseLock) {
+                    // 等待租用锁期间可能已跨窗口，重新取当前时间
+                    state = bucket.tryTake(clock.millis());
+                    if (state == LeasedBucket.EMPTY) {
+                        if (!lease(rule, bucket)) {
+                            // 限流组件不可用时放行
+                            acquired.forEach(LeasedBucket::refund);
+                            return null;
+                        }
+                        state = bucket.tryTake(clock.millis());
+                    }
+                }
+            }
+
+            RateLimitResult result = bucket.toResult(rule.limit(), state == LeasedBucket.TAKEN, clock.millis());
+            if (state != LeasedBucket.TAKEN) {
+                // 被拒绝时退回已从其他规则扣减的许可
+                acquired.forEach(LeasedBucket::refund);
+                return result;
+            }
+            acquired.add(bucket);
+            if (tightest == null || result.remaining() < tightest.remaining()) {
+                tightest = result;
+            }
+
+            if (bucket.needsRenewal(leaseSize(rule) / 2) && bucket.beginRenewal()) {
+                renewExecutor.execute(() -> {
+                    try {
+                        lease(rule, bucket);
+                    } finally {
+                        bucket.endRenewal();
+                    }
+                });
+            }
+        }
+        return tightest;
+    }
+
+    /**
+     * 从 Redis 全局额度中租用许可
+     *
+     * @return 是否成功访问 Redis
+     */
+    private boolean lease(RateLimitRule rule, LeasedBucket bucket) {
+        long now = clock.millis();
+        long windowStart = now - now % rule.windowMillis();
+        long windowEnd = windowStart + rule.windowMillis();
+        try {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            List<?> result = redisTemplate.execute(LEASE_SCRIPT, RedisSerializer.string(),
+                    (RedisSerializer) RedisSerializer.string(), List.of(rule.key() + ":" + windowStart),
+                    String.valueOf(rule.limit()), String.valueOf(rule.windowMillis()), String.valueOf(leaseSize(rule)));
+            if (result == null || result.size() != 2) {
+                return false;
+            }
+            long granted = Convert.toLong(result.get(0), 0L);
+            long globalRemaining = Convert.toLong(result.get(1), 0L);
+            // 租约在窗口结束时作废，不会被下一个窗口使用
+            long expiresAt = Math.min(windowEnd, now + rateLimitProperty.getLeaseTimeToLive());
+            bucket.applyLease(granted, globalRemaining, windowEnd, expiresAt, clock.millis());
+            return true;
+        } catch (Exception e) {
+            log.error("限流额度租用失败：{}", rule.key(), e);
+            return false;
+        }
+    }
+
+    private long leaseSize(RateLimitRule rule) {
+        return Math.max(1L, Math.min(rateLimitProperty.getLeaseSize(), rule.limit()));
+    }
+
+    /**
+     * 本地令牌桶
+     */
+    private static final class LeasedBucket {
+
+        static final int TAKEN = 0;
+        static final int DENIED = 1;
+        static final int EMPTY = 2;
+
+        private long tokens;
+        private long leaseExpiresAt;
+        private long deniedUntil;
+        private long globalRemaining;
+        private long windowEndsAt;
+
+        private final AtomicBoolean renewing = new AtomicBoolean();
+
+        /**
+         * 同步租用锁，与令牌扣减使用不同的锁，租用期间不阻塞其他线程扣减
+         */
+        private final Object leaseLock = new Object();
+
+        synchronized int tryTake(long now) {
+            if (now >= leaseExpiresAt) {
+                // 过期的租约作废，防止节点长期占用其他节点需要的额度
+                tokens = 0;
+            }
+            if (tokens > 0) {
+                tokens--;
+                return TAKEN;
+            }
+            return now < deniedUntil ? DENIED : EMPTY;
+        }
+
+        synchronized void applyLease(long granted, long globalRemaining, long windowEndsAt, long expiresAt, long now) {
+            if (granted > 0) {
+                tokens = (now < leaseExpiresAt ? tokens : 0) + granted;
+                leaseExpiresAt = expiresAt;
+                deniedUntil = 0;
+            } else if (tokens == 0) {
+                // 全局额度耗尽，在窗口结束前(不超过租约有效期)直接拒绝
+                deniedUntil = expiresAt;
+            }
+            this.globalRemaining = globalRemaining;
+            this.windowEndsAt = windowEndsAt;
+        }
+
+        synchronized void refund() {
+            tokens++;
+        }
+
+        synchronized boolean needsRenewal(long lowWatermark) {
+            return tokens <= lowWatermark && globalRemaining > 0;
+        }
+
+        boolean beginRenewal() {
+            return renewing.compareAndSet(false, true);
+        }
+
+        void endRenewal() {
+            renewing.set(false);
+        }
+
+        synchronized RateLimitResult toResult(long limit, boolean allowed, long now) {
+            long reset = Math.max(0L, windowEndsAt - now);
+            if (allowed) {
+                // 剩余次数为估计值：本地许可加上最近一次租用时的全局余量
+                return new RateLimitResult(true, limit, tokens + globalRemaining, reset, 0L);
+            }
+            return new RateLimitResult(false, limit, 0L, reset, Math.max(0L, Math.min(reset, deniedUntil - now)));
+        }
+    }
+}
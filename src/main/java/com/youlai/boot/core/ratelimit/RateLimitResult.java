@@ -0,0 +1,17 @@
+package com.youlai.boot.core.ratelimit;
+
+/**
+ * 限流结果
+ * <p>
+ * 命中多条规则时取剩余次数最少的规则
+ *
+ * @param allowed          是否放行
+ * @param limit            限流阈值
+ * @param remaining        剩余请求次数
+ * @param resetMillis      额度恢复的等待时间(毫秒)
+ * @param retryAfterMillis 被限流时需等待的时间(毫秒)
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public record RateLimitResult(boolean allowed, long limit, long remaining, long resetMillis, long retryAfterMillis) {
+}
@@ -0,0 +1,13 @@
+package com.youlai.boot.core.ratelimit;
+
+/**
+ * 限流规则
+ *
+ * @param key          限流键
+ * @param limit        窗口内允许的最大请求数
+ * @param windowMillis 窗口长度(毫秒)
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public record RateLimitRule(String key, long limit, long windowMillis) {
+}
@@ -0,0 +1,26 @@
+package com.youlai.boot.core.ratelimit;
+
+import java.util.List;
+
+/**
+ * 限流器
+ * <p>
+ * 通过 {@code security.rate-limit.mode} 选择实现：
+ * <ul>
+ *     <li>redis：{@link RedisRateLimiter}，每个请求访问一次 Redis，全局精确</li>
+ *     <li>lease：{@link LeasingRateLimiter}，本地令牌桶向 Redis 租用额度，绝大多数请求在内存中判断</li>
+ * </ul>
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public interface RateLimiter {
+
+    /**
+     * 按规则获取一次请求许可，所有规则都通过才放行
+     *
+     * @param rules 限流规则
+     * @return 限流结果，限流组件不可用时返回 null(放行)
+     */
+    RateLimitResult tryAcquire(List<RateLimitRule> rules);
+}
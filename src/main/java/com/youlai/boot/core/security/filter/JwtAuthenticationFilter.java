@@ -4,7 +4,7 @@ import cn.hutool.core.util.StrUtil;
 import com.youlai.boot.common.constant.SecurityConstants;
 import com.youlai.boot.common.result.ResultCode;
 import com.youlai.boot.common.util.ResponseUtils;
-import com.youlai.boot.core.security.manager.JwtTokenManager;
+import com.youlai.boot.core.security.manager.TokenManager;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,11 +24,11 @@ import java.io.IOException;
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenManager jwtTokenService;
+    private final TokenManager tokenManager;
 
 
-    public JwtAuthenticationFilter(JwtTokenManager jwtTokenService) {
-        this.jwtTokenService = jwtTokenService;
+    public JwtAuthenticationFilter(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
     }
 
 
@@ -45,14 +45,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StrUtil.isNotBlank(token) && token.startsWith(SecurityConstants.JWT_TOKEN_PREFIX)) {
                 // 去除 Bearer 前缀
                 token = token.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
-                // 校验 JWT Token ，包括验签和是否过期
-                boolean isValidate = jwtTokenService.validateToken(token);
-                if (!isValidate) {
+                // 校验 JWT Token(验签、是否过期、是否拉黑)并解析为 Authentication 对象，已校验的 Token 直接命中缓存
+                Authentication authentication = tokenManager.getAuthentication(token);
+                if (authentication == null) {
                     ResponseUtils.writeErrMsg(response, ResultCode.ACCESS_TOKEN_INVALID);
                     return;
                 }
-                // 将 Token 解析为 Authentication 对象，并设置到 Spring Security 上下文中
-                Authentication authentication = jwtTokenService.parseToken(token);
+                // 将 Authentication 对象设置到 Spring Security 上下文中
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
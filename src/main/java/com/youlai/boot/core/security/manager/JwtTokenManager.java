@@ -1,17 +1,11 @@
 package com.youlai.boot.core.security.manager;
 
-import cn.hutool.core.convert.Convert;
-import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
-import cn.hutool.json.JSONObject;
-import cn.hutool.jwt.JWT;
-import cn.hutool.jwt.JWTPayload;
-import cn.hutool.jwt.JWTUtil;
-import com.youlai.boot.common.constant.JwtClaimConstants;
 import com.youlai.boot.common.constant.SecurityConstants;
 import com.youlai.boot.common.exception.BusinessException;
 import com.youlai.boot.common.result.ResultCode;
 import com.youlai.boot.config.property.SecurityProperties;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.model.SysUserDetails;
 import com.youlai.boot.core.security.model.AuthenticationToken;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,12 +13,8 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -41,13 +31,21 @@ public class JwtTokenManager implements TokenManager {
 
     private final SecurityProperties securityProperties;
     private final RedisTemplate<String, Object> redisTemplate;
-    private final byte[] secretKey;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklistReplica tokenBlacklistReplica;
+    private final JwtCodec jwtCodec;
 
 
-    public JwtTokenManager(SecurityProperties securityProperties, RedisTemplate<String, Object> redisTemplate) {
+    public JwtTokenManager(SecurityProperties securityProperties,
+                           RedisTemplate<String, Object> redisTemplate,
+                           VerifiedTokenCache verifiedTokenCache,
+                           TokenBlacklistReplica tokenBlacklistReplica) {
         this.securityProperties = securityProperties;
         this.redisTemplate = redisTemplate;
-        this.secretKey = securityProperties.getJwt().getKey().getBytes();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenBlacklistReplica = tokenBlacklistReplica;
+        SecurityProperties.JwtProperty jwtProperty = securityProperties.getJwt();
+        this.jwtCodec = new JwtCodec(jwtProperty.getKey().getBytes(), Boolean.TRUE.equals(jwtProperty.getCompactClaims()));
     }
 
     /**
@@ -76,26 +74,72 @@ public class JwtTokenManager implements TokenManager {
      * 解析令牌
      *
      * @param token JWT Token
-     * @return Authentication 对象
+     * @return Authentication 对象，令牌格式错误或签名不正确时返回 null
      */
     @Override
     public Authentication parseToken(String token) {
+        VerifiedTokenCache.CachedAuthentication cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached.authentication();
+        }
+        JwtCodec.JwtClaims claims = jwtCodec.decode(token);
+        return claims != null ? buildAuthentication(claims) : null;
+    }
 
-        JWT jwt = JWTUtil.parseToken(token);
-        JSONObject payloads = jwt.getPayloads();
-        SysUserDetails userDetails = new SysUserDetails();
-        userDetails.setUserId(payloads.getLong(JwtClaimConstants.USER_ID)); // 用户ID
-        userDetails.setDeptId(payloads.getLong(JwtClaimConstants.DEPT_ID)); // 部门ID
-        userDetails.setDataScope(payloads.getInt(JwtClaimConstants.DATA_SCOPE)); // 数据权限范围
-
-        userDetails.setUsername(payloads.getStr(JWTPayload.SUBJECT)); // 用户名
-        // 角色集合
-        Set<SimpleGrantedAuthority> authorities = payloads.getJSONArray(JwtClaimConstants.AUTHORITIES)
-                .stream()
-                .map(authority -> new SimpleGrantedAuthority(Convert.toStr(authority)))
-                .collect(Collectors.toSet());
+    /**
+     * 校验令牌并获取认证信息
+     * <p>
+     * 命中缓存时只核对本地黑名单；未命中时只解析一次令牌，完成验签、过期和黑名单校验后写入缓存
+     *
+     * @param token JWT Token
+     * @return Authentication 对象，令牌无效时返回 null
+     */
+    @Override
+    public Authentication getAuthentication(String token) {
+        Authentication cached = getCachedAuthentication(token);
+        if (cached != null) {
+            return cached;
+        }
 
-        return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
+        JwtCodec.JwtClaims claims = jwtCodec.decode(token);
+        if (!isValid(claims)) {
+            return null;
+        }
+
+        Authentication authentication = buildAuthentication(claims);
+        verifiedTokenCache.put(token, authentication, claims.getJti(), claims.getExpiresAt());
+        return authentication;
+    }
+
+    /**
+     * 获取缓存的认证信息
+     * <p>
+     * 缓存失效消息可能丢失(如节点与 Redis 发布订阅短暂断开)，命中后仍核对本地黑名单副本，已拉黑的令牌视为未命中
+     *
+     * @param token JWT Token
+     * @return Authentication 对象，未命中或已拉黑时返回 null
+     */
+    private Authentication getCachedAuthentication(String token) {
+        VerifiedTokenCache.CachedAuthentication cached = verifiedTokenCache.get(token);
+        if (cached == null || isBlacklisted(cached.jti())) {
+            return null;
+        }
+        return cached.authentication();
+    }
+
+    /**
+     * 根据令牌声明构建认证信息
+     *
+     * @param claims 令牌声明
+     * @return Authentication 对象
+     */
+    private Authentication buildAuthentication(JwtCodec.JwtClaims claims) {
+        SysUserDetails userDetails = claims.getUserDetails();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        // 预先计算用户信息快照，随认证信息一起缓存
+        authentication.setDetails(PrincipalSnapshot.of(userDetails));
+        return authentication;
     }
 
     /**
@@ -106,21 +150,34 @@ public class JwtTokenManager implements TokenManager {
      */
     @Override
     public boolean validateToken(String token) {
-        JWT jwt = JWTUtil.parseToken(token);
-        // 检查 Token 是否有效(验签 + 是否过期)
-        boolean isValid = jwt.setKey(secretKey).validate(0);
-
-        if (isValid) {
-            // 检查 Token 是否已被加入黑名单(注销、修改密码等场景)
-            JSONObject payloads = jwt.getPayloads();
-            String jti = payloads.getStr(JWTPayload.JWT_ID);
-
-            // 判断是否在黑名单中，如果在，则返回false 标识Token无效
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(SecurityConstants.BLACKLIST_TOKEN_PREFIX + jti))) {
-                return false;
-            }
+        if (getCachedAuthentication(token) != null) {
+            return true;
         }
-        return isValid;
+        return isValid(jwtCodec.decode(token));
+    }
+
+    /**
+     * 校验令牌声明：验签通过、在有效期内且未被加入黑名单(注销、修改密码等场景)
+     *
+     * @param claims 令牌声明，验签失败时为 null
+     * @return 是否有效
+     */
+    private boolean isValid(JwtCodec.JwtClaims claims) {
+        return claims != null
+                && claims.isActive(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()))
+                && !isBlacklisted(claims.getJti());
+    }
+
+    /**
+     * 判断令牌是否在黑名单中
+     * <p>
+     * 查询本地黑名单副本，无需访问 Redis
+     *
+     * @param jti 令牌ID
+     * @return 是否已拉黑
+     */
+    private boolean isBlacklisted(String jti) {
+        return tokenBlacklistReplica.contains(jti);
     }
 
     /**
@@ -133,25 +190,31 @@ public class JwtTokenManager implements TokenManager {
         if (token.startsWith(SecurityConstants.JWT_TOKEN_PREFIX)) {
             token = token.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
         }
-        JWT jwt = JWTUtil.parseToken(token);
-        JSONObject payloads = jwt.getPayloads();
-        String jti = payloads.getStr(JWTPayload.JWT_ID);
-        Integer expirationAt = payloads.getInt(JWTPayload.EXPIRES_AT);
+        JwtCodec.JwtClaims claims = jwtCodec.decode(token);
+        if (claims == null) {
+            // 签名不正确的令牌本身无效，无需拉黑
+            return;
+        }
+        String jti = claims.getJti();
+        Long expirationAt = claims.getExpiresAt();
 
         if (expirationAt != null) {
-            int currentTimeSeconds = Convert.toInt(System.currentTimeMillis() / 1000);
+            long currentTimeSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
             if (expirationAt < currentTimeSeconds) {
                 // Token已过期，直接返回
                 return;
             }
             // 计算Token剩余时间，将其加入黑名单
-            int expirationIn = expirationAt - currentTimeSeconds;
+            long expirationIn = expirationAt - currentTimeSeconds;
             redisTemplate.opsForValue().set(SecurityConstants.BLACKLIST_TOKEN_PREFIX + jti, null, expirationIn, TimeUnit.SECONDS);
         } else {
             // 永不过期的Token永久加入黑名单
             redisTemplate.opsForValue().set(SecurityConstants.BLACKLIST_TOKEN_PREFIX + jti, null);
         }
-        ;
+        // 同步所有节点的黑名单副本
+        tokenBlacklistReplica.add(jti, expirationAt);
+        // 清除所有节点的令牌认证缓存
+        verifiedTokenCache.evict(token);
     }
 
 
@@ -194,28 +257,15 @@ public class JwtTokenManager implements TokenManager {
 
         SysUserDetails userDetails = (SysUserDetails) authentication.getPrincipal();
 
-        Map<String, Object> payload = new HashMap<>();
-        payload.put(JwtClaimConstants.USER_ID, userDetails.getUserId()); // 用户ID
-        payload.put(JwtClaimConstants.DEPT_ID, userDetails.getDeptId()); // 部门ID
-        payload.put(JwtClaimConstants.DATA_SCOPE, userDetails.getDataScope()); // 数据权限范围
-
         // claims 中添加角色信息
         Set<String> roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toSet());
-        payload.put(JwtClaimConstants.AUTHORITIES, roles);
-
-        Date now = new Date();
-        payload.put(JWTPayload.ISSUED_AT, now);
 
+        long issuedAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
         // 设置过期时间 -1 表示永不过期
-        if (ttl != -1) {
-            Date expiresAt = DateUtil.offsetSecond(now, ttl);
-            payload.put(JWTPayload.EXPIRES_AT, expiresAt);
-        }
-        payload.put(JWTPayload.SUBJECT, authentication.getName());
-        payload.put(JWTPayload.JWT_ID, IdUtil.simpleUUID());
+        Long expiresAt = ttl != -1 ? issuedAt + ttl : null;
 
-        return JWTUtil.createToken(payload, secretKey);
+        return jwtCodec.encode(userDetails, roles, IdUtil.simpleUUID(), issuedAt, expiresAt);
     }
 }
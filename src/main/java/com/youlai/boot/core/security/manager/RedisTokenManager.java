@@ -1,61 +1,334 @@
 package com.youlai.boot.core.security.manager;
 
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.IdUtil;
+import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.common.exception.BusinessException;
+import com.youlai.boot.common.result.ResultCode;
+import com.youlai.boot.config.property.SecurityProperties;
 import com.youlai.boot.core.security.model.AuthenticationToken;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
+import com.youlai.boot.core.security.model.SysUserDetails;
+import com.youlai.boot.core.security.model.UserSession;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 /**
- * JWT 令牌服务实现
+ * Redis Token 令牌服务实现
+ * <p>
+ * 令牌为不透明的随机字符串，访问令牌和刷新令牌在 Redis 中各自对应一条会话记录：
+ * <ul>
+ *     <li>登录时通过管道一次性写入会话记录和用户会话索引</li>
+ *     <li>删除会话键即可立即注销令牌</li>
+ *     <li>访问令牌滑动过期，续期请求先在内存中合并，再定时批量刷新，避免每次请求都写 Redis</li>
+ *     <li>通过用户会话索引可一次性踢出用户的所有会话</li>
+ * </ul>
+ * 用户会话索引为 ZSET，分值为令牌的过期时间戳，每次写入时清理已过期的成员，避免刷新令牌不断累积访问令牌。
  *
  * @author Ray.Hao
  * @since 2024/11/15
  */
 @ConditionalOnProperty(value = "security.session.type", havingValue = "redis-token")
 @Service
+@Slf4j
 public class RedisTokenManager implements TokenManager {
 
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SecurityProperties.RedisTokenProperty redisTokenProperty;
+
+    /**
+     * 待续期的访问令牌：token -> userId
+     */
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("redis-token-touch-").setDaemon(true).build()
+    );
+
+    public RedisTokenManager(SecurityProperties securityProperties, RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.redisTokenProperty = securityProperties.getRedisToken();
+    }
+
+    @PostConstruct
+    public void init() {
+        long interval = redisTokenProperty.getTouchFlushInterval();
+        scheduler.scheduleWithFixedDelay(this::flushTouches, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdown();
+        flushTouches();
+    }
+
     /**
      * 生成令牌
      *
      * @param authentication 用户认证信息
-     * @return
+     * @return 令牌响应对象
      */
     @Override
     public AuthenticationToken generateToken(Authentication authentication) {
-        return null;
+        SysUserDetails userDetails = (SysUserDetails) authentication.getPrincipal();
+
+        String accessToken = IdUtil.fastSimpleUUID();
+        String refreshToken = IdUtil.fastSimpleUUID();
+
+        UserSession session = new UserSession();
+        session.setUserId(userDetails.getUserId());
+        session.setUsername(userDetails.getUsername());
+        session.setDeptId(userDetails.getDeptId());
+        session.setDataScope(userDetails.getDataScope());
+        session.setAuthorities(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+        session.setRefreshToken(refreshToken);
+
+        int accessTokenTimeToLive = redisTokenProperty.getAccessTokenTimeToLive();
+        int refreshTokenTimeToLive = redisTokenProperty.getRefreshTokenTimeToLive();
+        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + session.getUserId();
+
+        // 会话记录、刷新令牌和用户会话索引通过管道一次写入
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForValue().set(SecurityConstants.ACCESS_TOKEN_PREFIX + accessToken, session,
+                        accessTokenTimeToLive, TimeUnit.SECONDS);
+                operations.opsForValue().set(SecurityConstants.REFRESH_TOKEN_PREFIX + refreshToken, session,
+                        refreshTokenTimeToLive, TimeUnit.SECONDS);
+                long now = epochSecond();
+                operations.opsForZSet().removeRangeByScore(userTokensKey, Double.NEGATIVE_INFINITY, now);
+                operations.opsForZSet().add(userTokensKey,
+                        SecurityConstants.ACCESS_TOKEN_PREFIX + accessToken, now + accessTokenTimeToLive);
+                operations.opsForZSet().add(userTokensKey,
+                        SecurityConstants.REFRESH_TOKEN_PREFIX + refreshToken, now + refreshTokenTimeToLive);
+                operations.expire(userTokensKey, refreshTokenTimeToLive, TimeUnit.SECONDS);
+                return null;
+            }
+        });
+
+        return AuthenticationToken.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(accessTokenTimeToLive)
+                .build();
     }
 
     /**
      * 解析令牌
      *
-     * @param token JWT Token
-     * @return
+     * @param token 访问令牌
+     * @return Authentication 对象，会话不存在时返回 null
      */
     @Override
     public Authentication parseToken(String token) {
-        return null;
+        UserSession session = getSession(SecurityConstants.ACCESS_TOKEN_PREFIX + token);
+        return session != null ? buildAuthentication(session) : null;
     }
 
     /**
-     * 验证令牌
+     * 校验令牌
      *
-     * @param token JWT Token
-     * @return
+     * @param token 访问令牌或刷新令牌
+     * @return 是否有效
      */
     @Override
     public boolean validateToken(String token) {
-        return false;
+        return Boolean.TRUE.equals(redisTemplate.hasKey(SecurityConstants.ACCESS_TOKEN_PREFIX + token))
+                || Boolean.TRUE.equals(redisTemplate.hasKey(SecurityConstants.REFRESH_TOKEN_PREFIX + token));
+    }
+
+    /**
+     * 校验令牌并获取认证信息
+     * <p>
+     * 一次 GET 完成校验和解析，并登记续期
+     *
+     * @param token 访问令牌
+     * @return Authentication 对象，令牌无效时返回 null
+     */
+    @Override
+    public Authentication getAuthentication(String token) {
+        UserSession session = getSession(SecurityConstants.ACCESS_TOKEN_PREFIX + token);
+        if (session == null) {
+            return null;
+        }
+        pendingTouches.put(token, session.getUserId());
+        return buildAuthentication(session);
     }
 
     /**
      * 刷新令牌
      *
      * @param token 刷新令牌
-     * @return
+     * @return 令牌响应对象
      */
     @Override
     public AuthenticationToken refreshToken(String token) {
-        return null;
+        UserSession session = getSession(SecurityConstants.REFRESH_TOKEN_PREFIX + token);
+        if (session == null) {
+            throw new BusinessException(ResultCode.REFRESH_TOKEN_INVALID);
+        }
+
+        String accessToken = IdUtil.fastSimpleUUID();
+        int accessTokenTimeToLive = redisTokenProperty.getAccessTokenTimeToLive();
+        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + session.getUserId();
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForValue().set(SecurityConstants.ACCESS_TOKEN_PREFIX + accessToken, session,
+                        accessTokenTimeToLive, TimeUnit.SECONDS);
+                long now = epochSecond();
+                operations.opsForZSet().removeRangeByScore(userTokensKey, Double.NEGATIVE_INFINITY, now);
+                operations.opsForZSet().add(userTokensKey,
+                        SecurityConstants.ACCESS_TOKEN_PREFIX + accessToken, now + accessTokenTimeToLive);
+                return null;
+            }
+        });
+
+        return AuthenticationToken.builder()
+                .accessToken(accessToken)
+                .refreshToken(token)
+                .tokenType("Bearer")
+                .expiresIn(accessTokenTimeToLive)
+                .build();
+    }
+
+    /**
+     * 注销令牌：删除访问令牌及其关联的刷新令牌会话
+     *
+     * @param token 访问令牌
+     */
+    @Override
+    public void blacklistToken(String token) {
+        if (token.startsWith(SecurityConstants.JWT_TOKEN_PREFIX)) {
+            token = token.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
+        }
+        String accessTokenKey = SecurityConstants.ACCESS_TOKEN_PREFIX + token;
+        UserSession session = getSession(accessTokenKey);
+        pendingTouches.remove(token);
+        if (session == null) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        keys.add(accessTokenKey);
+        if (session.getRefreshToken() != null) {
+            keys.add(SecurityConstants.REFRESH_TOKEN_PREFIX + session.getRefreshToken());
+        }
+        redisTemplate.delete(keys);
+        redisTemplate.opsForZSet().remove(SecurityConstants.USER_TOKENS_PREFIX + session.getUserId(), keys.toArray());
+    }
+
+    /**
+     * 踢出用户的所有会话
+     *
+     * @param userId 用户ID
+     */
+    @Override
+    public void invalidateUserTokens(Long userId) {
+        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
+        Set<Object> tokenKeys = redisTemplate.opsForZSet().range(userTokensKey, 0, -1);
+
+        List<String> keys = new ArrayList<>();
+        keys.add(userTokensKey);
+        if (tokenKeys != null) {
+            tokenKeys.forEach(tokenKey -> keys.add((String) tokenKey));
+        }
+        redisTemplate.delete(keys);
+        pendingTouches.values().removeIf(userId::equals);
+    }
+
+    /**
+     * 批量续期访问令牌
+     * <p>
+     * 对已删除的令牌执行 EXPIRE 不会生效，因此不会复活已注销的会话
+     */
+    private void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        Map<String, Long> touches = new HashMap<>(pendingTouches);
+        touches.keySet().forEach(pendingTouches::remove);
+
+        int accessTokenTimeToLive = redisTokenProperty.getAccessTokenTimeToLive();
+        int refreshTokenTimeToLive = redisTokenProperty.getRefreshTokenTimeToLive();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    long now = epochSecond();
+                    touches.forEach((token, userId) -> {
+                        String accessTokenKey = SecurityConstants.ACCESS_TOKEN_PREFIX + token;
+                        operations.expire(accessTokenKey, accessTokenTimeToLive, TimeUnit.SECONDS);
+                        // 同步索引中的过期时间，避免续期中的令牌被当作过期成员清理
+                        operations.opsForZSet().add(SecurityConstants.USER_TOKENS_PREFIX + userId,
+                                accessTokenKey, now + accessTokenTimeToLive);
+                    });
+                    // 会话索引的有效期需覆盖续期后的访问令牌
+                    touches.values().stream().distinct().forEach(userId -> {
+                        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
+                        operations.opsForZSet().removeRangeByScore(userTokensKey, Double.NEGATIVE_INFINITY, now);
+                        operations.expire(userTokensKey, refreshTokenTimeToLive, TimeUnit.SECONDS);
+                    });
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("访问令牌批量续期失败，数量：{}", touches.size(), e);
+        }
+    }
+
+    private static long epochSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private UserSession getSession(String key) {
+        Object value = redisTemplate.opsForValue().get(key);
+        return value instanceof UserSession session ? session : null;
+    }
+
+    private Authentication buildAuthentication(UserSession session) {
+        SysUserDetails userDetails = new SysUserDetails();
+        userDetails.setUserId(session.getUserId());
+        userDetails.setUsername(session.getUsername());
+        userDetails.setDeptId(session.getDeptId());
+        userDetails.setDataScope(session.getDataScope());
+
+        Set<SimpleGrantedAuthority> authorities = session.getAuthorities() != null
+                ? session.getAuthorities().stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet())
+                : Set.of();
+        userDetails.setAuthorities(authorities);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
+        authentication.setDetails(PrincipalSnapshot.of(userDetails));
+        return authentication;
     }
 }
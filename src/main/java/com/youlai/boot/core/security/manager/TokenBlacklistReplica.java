@@ -0,0 +1,266 @@
+package com.youlai.boot.core.security.manager;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.StrUtil;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.config.property.SecurityProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 令牌黑名单本地副本
+ * <p>
+ * 各节点在内存中维护已拉黑令牌 jti 的副本，并以布隆过滤器作为前置过滤，
+ * 绝大多数未拉黑的令牌只需一次内存中的过滤器判断即可完成校验，无需访问 Redis。
+ * <p>
+ * 同步方式：
+ * <ul>
+ *     <li>启动时扫描 Redis 中已有的黑名单键完成初始化</li>
+ *     <li>拉黑令牌时通过 Redis 发布订阅通知所有节点，正常情况下毫秒级生效</li>
+ *     <li>按 {@code security.blacklist.resync-interval} 定时全量校准，订阅连接中断导致消息丢失时，
+ *     副本与 Redis 最长不一致时间即为该间隔</li>
+ * </ul>
+ * 黑名单条目按令牌剩余有效期自动过期，与 Redis 键的 TTL 保持一致。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@ConditionalOnProperty(value = "security.session.type", havingValue = "jwt")
+@Component
+@Slf4j
+public class TokenBlacklistReplica implements MessageListener {
+
+    /**
+     * 永不过期
+     */
+    private static final long NEVER_EXPIRE = Long.MAX_VALUE;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SecurityProperties.BlacklistProperty blacklistProperty;
+
+    /**
+     * 黑名单条目：jti -> 过期时间(毫秒级时间戳)
+     */
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 写入与过滤器重建互斥，保证重建期间新增的条目不会丢失
+     */
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("token-blacklist-").setDaemon(true).build()
+    );
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenBlacklistReplica(SecurityProperties securityProperties,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.blacklistProperty = securityProperties.getBlacklist();
+        this.bloomFilter = new BloomFilter(blacklistProperty.getExpectedInsertions());
+    }
+
+    /**
+     * 订阅黑名单消息并从 Redis 加载已有黑名单
+     */
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOKEN_BLACKLIST_TOPIC));
+        resync();
+        long interval = blacklistProperty.getResyncInterval();
+        scheduler.scheduleWithFixedDelay(this::resync, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 判断令牌是否已被拉黑
+     *
+     * @param jti 令牌ID
+     * @return 是否已拉黑
+     */
+    public boolean contains(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = entries.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 拉黑令牌：写入本地副本并通知其他节点
+     * <p>
+     * 调用方需先写入 Redis 黑名单键，以保证全量同步时不会丢失
+     *
+     * @param jti       令牌ID
+     * @param expiresAt 令牌过期时间(秒级时间戳)，null 表示永不过期
+     */
+    public void add(String jti, Long expiresAt) {
+        long expiresAtMillis = expiresAt != null ? TimeUnit.SECONDS.toMillis(expiresAt) : NEVER_EXPIRE;
+        addLocal(jti, expiresAtMillis);
+        redisTemplate.convertAndSend(RedisConstants.TOKEN_BLACKLIST_TOPIC, jti + StrUtil.COMMA + expiresAtMillis);
+    }
+
+    /**
+     * 接收其他节点广播的拉黑消息，格式：jti,过期时间(毫秒级时间戳)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof String payload) {
+            int index = payload.lastIndexOf(StrUtil.C_COMMA);
+            if (index > 0) {
+                addLocal(payload.substring(0, index), Long.parseLong(payload.substring(index + 1)));
+            }
+        }
+    }
+
+    private void addLocal(String jti, long expiresAtMillis) {
+        rebuildLock.readLock().lock();
+        try {
+            entries.put(jti, expiresAtMillis);
+            bloomFilter.put(jti);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 全量同步：扫描 Redis 黑名单键合并到本地，清理过期条目并重建布隆过滤器
+     */
+    public void resync() {
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions scanOptions = ScanOptions.scanOptions()
+                    .match(SecurityConstants.BLACKLIST_TOKEN_PREFIX + "*")
+                    .count(1000)
+                    .build();
+            try (Cursor<String> cursor = redisTemplate.scan(scanOptions)) {
+                cursor.forEachRemaining(keys::add);
+            }
+
+            // 批量获取剩余有效期
+            List<Object> ttlList = keys.isEmpty() ? List.of() : redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    keys.forEach(key -> operations.getExpire(key, TimeUnit.MILLISECONDS));
+                    return null;
+                }
+            });
+
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < keys.size(); i++) {
+                Object ttl = ttlList.get(i);
+                if (!(ttl instanceof Long ttlMillis) || ttlMillis == -2) {
+                    // 键已过期
+                    continue;
+                }
+                String jti = keys.get(i).substring(SecurityConstants.BLACKLIST_TOKEN_PREFIX.length());
+                entries.put(jti, ttlMillis == -1 ? NEVER_EXPIRE : now + ttlMillis);
+            }
+
+            rebuildBloomFilter();
+            log.debug("令牌黑名单同步完成，当前条目数：{}", entries.size());
+        } catch (Exception e) {
+            log.error("令牌黑名单同步失败", e);
+        }
+    }
+
+    /**
+     * 清理过期条目并重建布隆过滤器(布隆过滤器不支持删除)
+     */
+    private void rebuildBloomFilter() {
+        rebuildLock.writeLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(expiresAt -> expiresAt <= now);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(blacklistProperty.getExpectedInsertions(), entries.size() * 2));
+            entries.keySet().forEach(rebuilt::put);
+            this.bloomFilter = rebuilt;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 线程安全的布隆过滤器(误判率约 1%)
+     */
+    private static final class BloomFilter {
+
+        private static final int HASH_FUNCTIONS = 7;
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+
+        BloomFilter(int expectedInsertions) {
+            // 按 1% 误判率计算位数组大小：m = -n * ln(p) / (ln2)^2
+            long size = (long) (-expectedInsertions * Math.log(0.01) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((size + 63) >>> 6));
+            this.bitSize = (long) bits.length() << 6;
+        }
+
+        void put(String value) {
+            long hash = MurmurHash.hash64(value);
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % bitSize;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = MurmurHash.hash64(value);
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % bitSize;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
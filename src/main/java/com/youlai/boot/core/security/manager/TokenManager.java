@@ -37,6 +37,18 @@ public interface TokenManager {
      */
     boolean validateToken(String token);
 
+    /**
+     * 校验 Token 并获取认证信息
+     * <p>
+     * 请求认证时调用，实现类可在一次解析中完成校验和解析，避免重复解析令牌
+     *
+     * @param token JWT Token
+     * @return 用户认证信息，Token 无效时返回 null
+     */
+    default Authentication getAuthentication(String token) {
+        return validateToken(token) ? parseToken(token) : null;
+    }
+
 
     /**
      *  刷新 Token
@@ -56,6 +68,15 @@ public interface TokenManager {
         // throw new UnsupportedOperationException("Not implemented");
     }
 
+    /**
+     * 使用户的所有 Token 失效(踢出所有会话)
+     *
+     * @param userId 用户ID
+     */
+    default void invalidateUserTokens(Long userId) {
+        // JWT 无状态，默认不维护用户会话索引
+    }
+
 
 
 }
@@ -0,0 +1,190 @@
+package com.youlai.boot.core.security.manager;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.config.property.SecurityProperties;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌认证缓存
+ * <p>
+ * 以令牌摘要为键，缓存已验签且未被拉黑的认证信息，命中时无需解析令牌，也无需访问 Redis。
+ * 缓存条目的有效期不超过令牌自身的过期时间；令牌被拉黑时通过 Redis 发布订阅通知所有节点立即失效。
+ * 条目同时保存令牌ID，失效消息丢失时调用方仍可在命中后核对本地黑名单。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@ConditionalOnProperty(value = "security.session.type", havingValue = "jwt")
+@Component
+@Slf4j
+public class VerifiedTokenCache implements MessageListener, RuntimeStatsContributor {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final boolean enabled;
+    private final Cache<String, CachedAuthentication> cache;
+
+    public VerifiedTokenCache(SecurityProperties securityProperties,
+                              RedisTemplate<String, Object> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+
+        SecurityProperties.TokenCacheProperty tokenCacheProperty = securityProperties.getTokenCache();
+        this.enabled = Boolean.TRUE.equals(tokenCacheProperty.getEnabled());
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(tokenCacheProperty.getTimeToLive());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tokenCacheProperty.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+                        // 有效期取缓存最长有效期与令牌剩余有效期的较小值
+                        if (value.expiresAt() == null) {
+                            return maxTtlNanos;
+                        }
+                        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(value.expiresAt() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(maxTtlNanos, remainingNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 订阅令牌失效消息
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOKEN_CACHE_EVICT_TOPIC));
+        }
+    }
+
+    /**
+     * 获取缓存的认证信息
+     *
+     * @param token 令牌
+     * @return 缓存条目，未命中返回 null
+     */
+    public CachedAuthentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * 缓存已校验通过的认证信息
+     *
+     * @param token          令牌
+     * @param authentication 认证信息
+     * @param jti            令牌ID
+     * @param expiresAt      令牌过期时间(秒级时间戳)，null 表示永不过期
+     */
+    public void put(String token, Authentication authentication, String jti, Long expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        Long expiresAtMillis = expiresAt != null ? TimeUnit.SECONDS.toMillis(expiresAt) : null;
+        cache.put(digest(token), new CachedAuthentication(authentication, jti, expiresAtMillis));
+    }
+
+    /**
+     * 使令牌缓存失效，并通知集群内其他节点
+     *
+     * @param token 令牌
+     */
+    public void evict(String token) {
+        if (!enabled) {
+            return;
+        }
+        String digest = digest(token);
+        cache.invalidate(digest);
+        redisTemplate.convertAndSend(RedisConstants.TOKEN_CACHE_EVICT_TOPIC, digest);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "verifiedTokenCache";
+    }
+
+    /**
+     * 获取令牌认证缓存统计信息
+     */
+    @Override
+    public Stats getStats() {
+        CacheStats stats = cache.stats();
+        return new Stats(enabled, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    /**
+     * 接收其他节点广播的令牌失效消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object digest = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (digest instanceof String) {
+            cache.invalidate(digest);
+            log.debug("令牌认证缓存失效：{}", digest);
+        }
+    }
+
+    /**
+     * 计算令牌摘要，避免在内存中保留令牌原文
+     */
+    private static String digest(String token) {
+        return DigestUtil.sha256Hex(token);
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param authentication 认证信息
+     * @param jti            令牌ID
+     * @param expiresAt      令牌过期时间(毫秒级时间戳)，null 表示永不过期
+     */
+    public record CachedAuthentication(Authentication authentication, String jti, Long expiresAt) {
+    }
+
+    /**
+     * 令牌认证缓存统计信息
+     *
+     * @param enabled   是否启用
+     * @param size      缓存条目数(估算)
+     * @param hits      命中次数
+     * @param misses    未命中次数
+     * @param hitRatio  命中率
+     * @param evictions 因容量或过期被移除的条目数
+     */
+    public record Stats(boolean enabled, long size, long hits, long misses, double hitRatio, long evictions) {
+    }
+}
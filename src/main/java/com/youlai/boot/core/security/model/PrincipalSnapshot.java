@@ -0,0 +1,112 @@
+package com.youlai.boot.core.security.model;
+
+import cn.hutool.core.util.StrUtil;
+import com.youlai.boot.common.base.IBaseEnum;
+import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.common.constant.SystemConstants;
+import com.youlai.boot.common.enums.DataScopeEnum;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 当前登录用户信息快照
+ * <p>
+ * 认证时一次性计算角色集合、超级管理员标识和数据权限范围等信息，不可变，
+ * 作为 {@link Authentication#getDetails()} 随认证信息一起缓存，
+ * 请求内多次调用 {@link com.youlai.boot.core.security.util.SecurityUtils} 时无需重复计算。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Getter
+public final class PrincipalSnapshot {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 部门ID
+     */
+    private final Long deptId;
+
+    /**
+     * 数据权限范围
+     */
+    private final Integer dataScope;
+
+    /**
+     * 数据权限范围枚举
+     */
+    private final DataScopeEnum dataScopeEnum;
+
+    /**
+     * 角色编码集合(不含 ROLE_ 前缀)
+     */
+    private final Set<String> roles;
+
+    /**
+     * 排序后以逗号拼接的角色编码，可作为按角色组合缓存的键
+     */
+    private final String rolesKey;
+
+    /**
+     * 是否超级管理员
+     */
+    private final boolean root;
+
+    private PrincipalSnapshot(SysUserDetails userDetails, Collection<? extends GrantedAuthority> authorities) {
+        this.userId = userDetails != null ? userDetails.getUserId() : null;
+        this.username = userDetails != null ? userDetails.getUsername() : null;
+        this.deptId = userDetails != null ? userDetails.getDeptId() : null;
+        this.dataScope = userDetails != null ? userDetails.getDataScope() : null;
+        this.dataScopeEnum = this.dataScope != null ? IBaseEnum.getEnumByValue(this.dataScope, DataScopeEnum.class) : null;
+
+        // 筛选角色,authorities 中的角色都是以 ROLE_ 开头
+        Set<String> roleCodes = new TreeSet<>();
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                String authorityName = authority.getAuthority();
+                if (authorityName != null && authorityName.startsWith(SecurityConstants.ROLE_PREFIX)) {
+                    roleCodes.add(authorityName.substring(SecurityConstants.ROLE_PREFIX.length()));
+                }
+            }
+        }
+        this.roles = Collections.unmodifiableSet(roleCodes);
+        this.rolesKey = String.join(StrUtil.COMMA, roleCodes);
+        this.root = roleCodes.contains(SystemConstants.ROOT_ROLE_CODE);
+    }
+
+    /**
+     * 根据认证信息创建快照
+     *
+     * @param authentication 认证信息
+     * @return 用户信息快照
+     */
+    public static PrincipalSnapshot of(Authentication authentication) {
+        SysUserDetails userDetails = authentication.getPrincipal() instanceof SysUserDetails principal ? principal : null;
+        return new PrincipalSnapshot(userDetails, authentication.getAuthorities());
+    }
+
+    /**
+     * 根据用户信息创建快照
+     *
+     * @param userDetails 用户信息
+     * @return 用户信息快照
+     */
+    public static PrincipalSnapshot of(SysUserDetails userDetails) {
+        return new PrincipalSnapshot(userDetails, userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,50 @@
+package com.youlai.boot.core.security.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 用户会话信息
+ * <p>
+ * Redis Token 模式下令牌在 Redis 中对应的会话记录，只保存认证所需的最少字段
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Data
+@NoArgsConstructor
+public class UserSession {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 部门ID
+     */
+    private Long deptId;
+
+    /**
+     * 数据权限范围
+     */
+    private Integer dataScope;
+
+    /**
+     * 角色权限集合
+     */
+    private Set<String> authorities;
+
+    /**
+     * 关联的刷新令牌，注销时一并删除
+     */
+    private String refreshToken;
+
+}
@@ -0,0 +1,179 @@
+package com.youlai.boot.core.security.service;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.youlai.boot.common.exception.BusinessException;
+import com.youlai.boot.common.result.ResultCode;
+import com.youlai.boot.config.property.SecurityProperties;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码哈希线程池
+ * <p>
+ * BCrypt 计算是 CPU 密集型操作，登录高峰时在 Tomcat 线程上直接计算会拖慢所有接口。
+ * 登录认证的密码校验和编码统一提交到按 CPU 核数设置的有界线程池执行，
+ * 队列已满或等待超时时立即返回 429，不再无限排队。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements RuntimeStatsContributor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0L);
+
+    public PasswordHashingExecutor(SecurityProperties securityProperties) {
+        SecurityProperties.PasswordHashProperty passwordHash = securityProperties.getPasswordHash();
+        int threads = passwordHash.getThreads() > 0
+                ? passwordHash.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.timeoutMillis = passwordHash.getTimeout();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(passwordHash.getQueueCapacity()),
+                ThreadFactoryBuilder.create().setNamePrefix("password-hash-").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 包装密码编码器，校验和编码在哈希线程池中执行
+     *
+     * @param delegate 实际的密码编码器
+     * @return 密码编码器
+     */
+    public PasswordEncoder wrap(PasswordEncoder delegate) {
+        return new ExecutorPasswordEncoder(delegate);
+    }
+
+    /**
+     * 在哈希线程池中执行任务并等待结果
+     *
+     * @throws BusinessException 队列已满或等待超时
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long latency = System.nanoTime() - start;
+                    completedCount.increment();
+                    totalLatencyNanos.add(latency);
+                    maxLatencyNanos.accumulate(latency);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("密码哈希队列已满，拒绝登录请求，队列长度：{}", executor.getQueue().size());
+            throw new BusinessException(ResultCode.REQUEST_CONCURRENCY_LIMIT_EXCEEDED, "登录请求过多，请稍后重试");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            throw new BusinessException(ResultCode.REQUEST_CONCURRENCY_LIMIT_EXCEEDED, "登录请求过多，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException("密码校验被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("密码校验失败", cause);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "passwordHashing";
+    }
+
+    /**
+     * 获取哈希线程池统计信息
+     */
+    @Override
+    public Stats getStats() {
+        long completed = completedCount.sum();
+        return new Stats(
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                completed,
+                rejectedCount.sum(),
+                completed > 0 ? TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.sum() / completed) / 1000.0 : 0,
+                TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get()) / 1000.0
+        );
+    }
+
+    /**
+     * 哈希线程池统计信息
+     *
+     * @param queueDepth       排队中的任务数
+     * @param activeCount      正在计算的任务数
+     * @param completed        累计完成的哈希次数
+     * @param rejected         累计拒绝次数(队列已满或等待超时)
+     * @param avgLatencyMillis 平均哈希耗时(毫秒)
+     * @param maxLatencyMillis 最大哈希耗时(毫秒)
+     */
+    public record Stats(int queueDepth, int activeCount, long completed, long rejected,
+                        double avgLatencyMillis, double maxLatencyMillis) {
+    }
+
+    /**
+     * 在哈希线程池中执行的密码编码器
+     */
+    private final class ExecutorPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        private ExecutorPasswordEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return execute(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return execute(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // 只解析哈希前缀，无需提交到线程池
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
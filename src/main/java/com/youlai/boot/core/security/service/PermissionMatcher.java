@@ -0,0 +1,120 @@
+package com.youlai.boot.core.security.service;
+
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译后的权限匹配器
+ * <p>
+ * 将一组角色的权限标识按类型预处理，匹配时无需逐条扫描：
+ * <ul>
+ *     <li>精确权限(如 sys:user:add)：哈希集合，O(1) 判断</li>
+ *     <li>前缀通配权限(如 sys:user:*)：前缀树，按所需权限长度线性判断</li>
+ *     <li>其他通配权限(如 sys:*:add)：回退到 {@link PatternMatchUtils#simpleMatch}</li>
+ * </ul>
+ * 实例不可变，可在线程间共享。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public final class PermissionMatcher {
+
+    private static final char WILDCARD = '*';
+
+    /**
+     * 匹配器对应的角色编码集合
+     */
+    private final Set<String> roleCodes;
+
+    private final Set<String> exactPerms = new HashSet<>();
+
+    private final TrieNode prefixRoot = new TrieNode();
+
+    private final List<String> patternPerms = new ArrayList<>();
+
+    public PermissionMatcher(Set<String> roleCodes, Collection<String> perms) {
+        this.roleCodes = Set.copyOf(roleCodes);
+        for (String perm : perms) {
+            if (perm == null || perm.isEmpty()) {
+                continue;
+            }
+            int wildcardIndex = perm.indexOf(WILDCARD);
+            if (wildcardIndex < 0) {
+                exactPerms.add(perm);
+            } else if (wildcardIndex == perm.length() - 1) {
+                prefixRoot.insert(perm, wildcardIndex);
+            } else {
+                patternPerms.add(perm);
+            }
+        }
+    }
+
+    /**
+     * 是否包含指定角色
+     */
+    public boolean containsRole(String roleCode) {
+        return roleCodes.contains(roleCode);
+    }
+
+    /**
+     * 判断是否拥有所需权限
+     *
+     * @param requiredPerm 所需权限
+     * @return 是否有权限
+     */
+    public boolean matches(String requiredPerm) {
+        if (exactPerms.contains(requiredPerm) || prefixRoot.matchesPrefix(requiredPerm)) {
+            return true;
+        }
+        for (String pattern : patternPerms) {
+            if (PatternMatchUtils.simpleMatch(pattern, requiredPerm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 通配前缀树节点
+     */
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+
+        /**
+         * 到达该节点的前缀后接通配符，即以该前缀开头的权限均匹配
+         */
+        private boolean wildcard;
+
+        void insert(String perm, int prefixLength) {
+            TrieNode node = this;
+            for (int i = 0; i < prefixLength; i++) {
+                node = node.children.computeIfAbsent(perm.charAt(i), c -> new TrieNode());
+            }
+            node.wildcard = true;
+        }
+
+        boolean matchesPrefix(String requiredPerm) {
+            TrieNode node = this;
+            for (int i = 0; ; i++) {
+                if (node.wildcard) {
+                    return true;
+                }
+                if (i == requiredPerm.length()) {
+                    return false;
+                }
+                node = node.children.get(requiredPerm.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -2,18 +2,31 @@ package com.youlai.boot.core.security.service;
 
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.youlai.boot.common.constant.RedisConstants;
 import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.util.SecurityUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
-import org.springframework.util.PatternMatchUtils;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SpringSecurity 权限校验
+ * <p>
+ * 按角色组合在本地缓存编译后的权限匹配器 {@link PermissionMatcher}，稳定状态下权限判断无需访问 Redis。
+ * 角色权限缓存刷新时通过 Redis 发布订阅通知所有节点清除对应的匹配器。
  *
  * @author haoxr
  * @since 2022/2/22
@@ -21,9 +34,38 @@ import java.util.*;
 @Component("ss")
 @RequiredArgsConstructor
 @Slf4j
-public class PermissionService {
+public class PermissionService implements MessageListener {
+
+    /**
+     * 清除全部角色的匹配器
+     */
+    public static final String ALL_ROLES = "*";
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 权限匹配器缓存：排序后的角色编码组合 -> 匹配器
+     * <p>
+     * 设置写入后过期作为兜底，防止失效消息丢失时长期使用过期的权限
+     */
+    private final Cache<String, PermissionMatcher> permissionMatchers = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /**
+     * 失效次数，加载期间发生失效时丢弃加载结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 订阅角色权限变更消息
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.ROLE_PERMS_EVICT_TOPIC));
+    }
 
     /**
      * 判断当前登录用户是否拥有操作权限
@@ -36,28 +78,19 @@ public class PermissionService {
         if (StrUtil.isBlank(requiredPerm)) {
             return false;
         }
-        // 超级管理员放行
-        if (SecurityUtils.isRoot()) {
-            return true;
-        }
 
         // 获取当前登录用户的角色编码集合
-        Set<String> roleCodes = SecurityUtils.getRoles();
-        if (CollectionUtil.isEmpty(roleCodes)) {
+        PrincipalSnapshot principal = SecurityUtils.getPrincipal();
+        if (principal == null || CollectionUtil.isEmpty(principal.getRoles())) {
             return false;
         }
-
-        // 获取当前登录用户的所有角色的权限列表
-        Set<String> rolePerms = this.getRolePermsFormCache(roleCodes);
-        if (CollectionUtil.isEmpty(rolePerms)) {
-            return false;
+        // 超级管理员放行
+        if (principal.isRoot()) {
+            return true;
         }
-        // 判断当前登录用户的所有角色的权限列表中是否包含所需权限
-        boolean hasPermission = rolePerms.stream()
-                .anyMatch(rolePerm ->
-                        // 匹配权限，支持通配符(* 等)
-                        PatternMatchUtils.simpleMatch(rolePerm, requiredPerm)
-                );
+
+        // 判断当前登录用户的所有角色的权限中是否包含所需权限(支持通配符 * 等)
+        boolean hasPermission = getPermissionMatcher(principal).matches(requiredPerm);
 
         if (!hasPermission) {
             log.error("用户无操作权限：{}",requiredPerm);
@@ -65,6 +98,50 @@ public class PermissionService {
         return hasPermission;
     }
 
+    /**
+     * 获取角色组合的权限匹配器，本地未命中时从 Redis 加载并编译
+     *
+     * @param principal 当前登录用户信息快照
+     * @return 权限匹配器
+     */
+    private PermissionMatcher getPermissionMatcher(PrincipalSnapshot principal) {
+        Set<String> roleCodes = principal.getRoles();
+        long loadingGeneration = generation.get();
+        PermissionMatcher matcher = permissionMatchers.get(principal.getRolesKey(),
+                key -> new PermissionMatcher(roleCodes, getRolePermsFormCache(roleCodes)));
+        if (loadingGeneration != generation.get()) {
+            // 加载期间角色权限发生变更，匹配器可能基于旧权限编译，移出缓存由下次请求重新加载
+            permissionMatchers.asMap().remove(principal.getRolesKey(), matcher);
+        }
+        return matcher;
+    }
+
+    /**
+     * 清除本地权限匹配器
+     *
+     * @param roleCode 角色编码，{@link #ALL_ROLES} 表示全部
+     */
+    public void evictPermissionMatchers(String roleCode) {
+        generation.incrementAndGet();
+        if (ALL_ROLES.equals(roleCode)) {
+            permissionMatchers.invalidateAll();
+        } else {
+            permissionMatchers.asMap().values().removeIf(matcher -> matcher.containsRole(roleCode));
+        }
+    }
+
+    /**
+     * 接收角色权限变更消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object roleCode = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (roleCode instanceof String code) {
+            evictPermissionMatchers(code);
+            log.debug("角色权限匹配器失效：{}", code);
+        }
+    }
+
 
     /**
      * 从缓存中获取角色权限列表
@@ -84,9 +161,9 @@ public class PermissionService {
         List<Object> rolePermsList = redisTemplate.opsForHash().multiGet(SecurityConstants.ROLE_PERMS_PREFIX, roleCodesAsObjects);
 
         for (Object rolePermsObj : rolePermsList) {
-            if (rolePermsObj instanceof Set) {
+            if (rolePermsObj instanceof Collection) {
                 @SuppressWarnings("unchecked")
-                Set<String> rolePerms = (Set<String>) rolePermsObj;
+                Collection<String> rolePerms = (Collection<String>) rolePermsObj;
                 perms.addAll(rolePerms);
             }
         }
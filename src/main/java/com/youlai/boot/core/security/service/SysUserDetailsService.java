@@ -1,11 +1,14 @@
 package com.youlai.boot.core.security.service;
 
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.youlai.boot.core.security.model.SysUserDetails;
 import com.youlai.boot.system.model.dto.UserAuthInfo;
+import com.youlai.boot.system.model.entity.User;
 import com.youlai.boot.system.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -19,9 +22,10 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class SysUserDetailsService implements UserDetailsService {
+public class SysUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
+    private final UserAuthInfoCache userAuthInfoCache;
 
     /**
      * 根据用户名获取用户信息
@@ -45,4 +49,29 @@ public class SysUserDetailsService implements UserDetailsService {
             throw e;
         }
     }
+
+    /**
+     * 升级密码哈希
+     * <p>
+     * 密码哈希强度调整后，用户登录成功时由认证提供者调用，保存按新强度重新计算的哈希
+     *
+     * @param user        用户信息
+     * @param newPassword 新的密码哈希
+     * @return 更新后的用户信息
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (user instanceof SysUserDetails userDetails) {
+            boolean updated = userService.update(new LambdaUpdateWrapper<User>()
+                    .eq(User::getId, userDetails.getUserId())
+                    .set(User::getPassword, newPassword)
+            );
+            if (updated) {
+                log.info("用户密码哈希已升级：{}", userDetails.getUsername());
+                userAuthInfoCache.evictUser(userDetails.getUserId());
+                userDetails.setPassword(newPassword);
+            }
+        }
+        return user;
+    }
 }
@@ -0,0 +1,227 @@
+package com.youlai.boot.core.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.system.model.dto.UserAuthInfo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 用户认证信息缓存
+ * <p>
+ * 缓存账号密码登录、短信登录和微信登录查询的用户认证信息(含已计算的最大数据权限范围)，
+ * 分别以用户名、手机号和 openid 为键。用户或角色数据变更时按用户ID或角色编码精确清除，
+ * 并通过 Redis 发布订阅通知所有节点；处于事务中时在事务提交后再清除，避免其他请求在提交前重新加载旧数据。
+ * 加载期间发生失效时不缓存加载结果，防止旧的认证信息(含密码)在清除后被重新写入。
+ * <p>
+ * 缓存值为共享实例，调用方不应修改。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAuthInfoCache implements MessageListener {
+
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String MOBILE_PREFIX = "mobile:";
+    private static final String OPENID_PREFIX = "openid:";
+
+    private static final String USER_MESSAGE_PREFIX = "user:";
+    private static final String ROLE_MESSAGE_PREFIX = "role:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 用户认证信息缓存：类型前缀 + 用户名/手机号/openid -> 认证信息
+     * <p>
+     * 设置写入后过期作为兜底，防止失效消息丢失时长期使用过期的数据
+     */
+    private final Cache<String, UserAuthInfo> cache = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .removalListener(this::onRemoval)
+            .build();
+
+    /**
+     * 失效索引：失效消息(user:用户ID / role:角色编码) -> 缓存键，失效时无需遍历缓存
+     */
+    private final Map<String, Set<String>> evictIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 失效次数，加载期间发生失效时丢弃加载结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 订阅用户认证信息失效消息
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.USER_AUTH_EVICT_TOPIC));
+    }
+
+    /**
+     * 根据用户名获取认证信息，未命中时加载
+     */
+    public UserAuthInfo getByUsername(String username, Function<String, UserAuthInfo> loader) {
+        return get(USERNAME_PREFIX, username, loader);
+    }
+
+    /**
+     * 根据手机号获取认证信息，未命中时加载
+     */
+    public UserAuthInfo getByMobile(String mobile, Function<String, UserAuthInfo> loader) {
+        return get(MOBILE_PREFIX, mobile, loader);
+    }
+
+    /**
+     * 根据 openid 获取认证信息，未命中时加载
+     */
+    public UserAuthInfo getByOpenId(String openid, Function<String, UserAuthInfo> loader) {
+        return get(OPENID_PREFIX, openid, loader);
+    }
+
+    private UserAuthInfo get(String prefix, String value, Function<String, UserAuthInfo> loader) {
+        if (value == null) {
+            return null;
+        }
+        String cacheKey = prefix + value;
+        long loadingGeneration = generation.get();
+        // 不存在的用户不缓存，返回 null 时 Caffeine 不写入
+        UserAuthInfo info = cache.get(cacheKey, key -> {
+            UserAuthInfo loaded = loader.apply(value);
+            if (loaded != null) {
+                evictMessages(loaded).forEach(message ->
+                        evictIndex.computeIfAbsent(message, k -> ConcurrentHashMap.newKeySet()).add(key));
+            }
+            return loaded;
+        });
+        if (info != null && loadingGeneration != generation.get()) {
+            // 加载期间发生失效，缓存值可能是失效前读取的旧数据，移出缓存并重新查询(不缓存)
+            cache.asMap().remove(cacheKey, info);
+            return loader.apply(value);
+        }
+        return info;
+    }
+
+    /**
+     * 清除用户的认证信息缓存
+     *
+     * @param userId 用户ID
+     */
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            publishAfterCommit(USER_MESSAGE_PREFIX + userId);
+        }
+    }
+
+    /**
+     * 清除拥有指定角色的用户的认证信息缓存
+     *
+     * @param roleCodes 角色编码
+     */
+    public void evictRole(String... roleCodes) {
+        Set<String> codes = new HashSet<>();
+        for (String roleCode : roleCodes) {
+            if (roleCode != null) {
+                codes.add(roleCode);
+            }
+        }
+        codes.forEach(code -> publishAfterCommit(ROLE_MESSAGE_PREFIX + code));
+    }
+
+    /**
+     * 在事务提交后(无事务时立即)清除本节点缓存并通知其他节点
+     */
+    private void publishAfterCommit(String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+        } else {
+            publish(message);
+        }
+    }
+
+    private void publish(String message) {
+        evictLocal(message);
+        redisTemplate.convertAndSend(RedisConstants.USER_AUTH_EVICT_TOPIC, message);
+    }
+
+    private void evictLocal(String message) {
+        generation.incrementAndGet();
+        Set<String> keys = evictIndex.remove(message);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * 认证信息对应的失效消息：user:用户ID 和 role:角色编码
+     */
+    private static Set<String> evictMessages(UserAuthInfo info) {
+        Set<String> messages = new HashSet<>();
+        if (info.getUserId() != null) {
+            messages.add(USER_MESSAGE_PREFIX + info.getUserId());
+        }
+        if (info.getRoles() != null) {
+            info.getRoles().forEach(roleCode -> messages.add(ROLE_MESSAGE_PREFIX + roleCode));
+        }
+        return messages;
+    }
+
+    /**
+     * 缓存项移除时清理失效索引；键已被同一用户或角色的新值替换时保留索引
+     */
+    private void onRemoval(String key, UserAuthInfo info, RemovalCause cause) {
+        if (key == null || info == null) {
+            return;
+        }
+        for (String message : evictMessages(info)) {
+            evictIndex.computeIfPresent(message, (k, keys) -> {
+                UserAuthInfo current = cache.asMap().get(key);
+                if (current == null || !evictMessages(current).contains(message)) {
+                    keys.remove(key);
+                }
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * 接收用户认证信息失效消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof String evictMessage) {
+            evictLocal(evictMessage);
+            log.debug("用户认证信息缓存失效：{}", evictMessage);
+        }
+    }
+}
@@ -1,23 +1,17 @@
 package com.youlai.boot.core.security.util;
 
-import cn.hutool.core.collection.CollectionUtil;
-import cn.hutool.core.util.StrUtil;
-import com.youlai.boot.common.constant.SecurityConstants;
-import com.youlai.boot.common.constant.SystemConstants;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.model.SysUserDetails;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Spring Security 工具类
@@ -44,13 +38,33 @@ public class SecurityUtils {
     }
 
 
+    /**
+     * 获取当前登录人信息快照
+     * <p>
+     * 优先读取认证时预先计算并附加在认证信息上的快照，没有时(如登录过程中)根据认证信息即时计算
+     *
+     * @return 用户信息快照，未认证时返回 null
+     */
+    public static PrincipalSnapshot getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getDetails() instanceof PrincipalSnapshot snapshot) {
+            return snapshot;
+        }
+        return PrincipalSnapshot.of(authentication);
+    }
+
+
     /**
      * 获取用户ID
      *
      * @return Long
      */
     public static Long getUserId() {
-        return getUser().map(SysUserDetails::getUserId).orElse(null);
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null ? principal.getUserId() : null;
     }
 
 
@@ -60,7 +74,8 @@ public class SecurityUtils {
      * @return String 用户账号
      */
     public static String getUsername() {
-        return getUser().map(SysUserDetails::getUsername).orElse(null);
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null ? principal.getUsername() : null;
     }
 
 
@@ -70,7 +85,8 @@ public class SecurityUtils {
      * @return Long
      */
     public static Long getDeptId() {
-        return getUser().map(SysUserDetails::getDeptId).orElse(null);
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null ? principal.getDeptId() : null;
     }
 
     /**
@@ -79,26 +95,19 @@ public class SecurityUtils {
      * @return Integer
      */
     public static Integer getDataScope() {
-        return getUser().map(SysUserDetails::getDataScope).orElse(null);
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null ? principal.getDataScope() : null;
     }
 
 
     /**
      * 获取角色集合
      *
-     * @return 角色集合
+     * @return 角色集合(不可修改)
      */
     public static Set<String> getRoles() {
-        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
-                .map(Authentication::getAuthorities)
-                .filter(CollectionUtil::isNotEmpty)
-                .stream()
-                .flatMap(Collection::stream)
-                .map(GrantedAuthority::getAuthority)
-                // 筛选角色,authorities 中的角色都是以 ROLE_ 开头
-                .filter(authority -> authority.startsWith(SecurityConstants.ROLE_PREFIX))
-                .map(authority -> StrUtil.removePrefix(authority, SecurityConstants.ROLE_PREFIX))
-                .collect(Collectors.toSet());
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null ? principal.getRoles() : Collections.emptySet();
     }
 
     /**
@@ -107,8 +116,8 @@ public class SecurityUtils {
      * 超级管理员忽视任何权限判断
      */
     public static boolean isRoot() {
-        Set<String> roles = getRoles();
-        return roles.contains(SystemConstants.ROOT_ROLE_CODE);
+        PrincipalSnapshot principal = getPrincipal();
+        return principal != null && principal.isRoot();
     }
 
     /**
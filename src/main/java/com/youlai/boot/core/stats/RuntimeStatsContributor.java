@@ -0,0 +1,22 @@
+package com.youlai.boot.core.stats;
+
+/**
+ * 运行统计项
+ * <p>
+ * 缓存、线程池、队列等组件实现该接口即可出现在运行统计接口中，统计接口不依赖具体组件。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public interface RuntimeStatsContributor {
+
+    /**
+     * 统计项名称，作为运行统计结果中的键
+     */
+    String getStatsName();
+
+    /**
+     * 获取当前统计信息
+     */
+    Object getStats();
+}
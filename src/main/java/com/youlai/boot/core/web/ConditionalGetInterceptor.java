@@ -0,0 +1,175 @@
+package com.youlai.boot.core.web;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.annotation.Log;
+import com.youlai.boot.common.enums.DataDomainEnum;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
+import com.youlai.boot.core.security.util.SecurityUtils;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 条件请求拦截器
+ * <p>
+ * 对标注 {@link ConditionalGet} 的 GET 接口，根据所依赖数据域的版本号和当前用户身份(用户ID、部门、角色集合、数据权限)
+ * 生成强 ETag，请求头 If-None-Match 匹配时直接返回 304，不进入控制器和业务层。
+ * 版本号读取失败时不做条件处理，按普通请求执行。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor, RuntimeStatsContributor {
+
+    /**
+     * 本次请求生成的 ETag 请求属性，用于记录响应大小
+     */
+    public static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".ETAG";
+
+    private final DataVersionManager dataVersionManager;
+
+    /**
+     * 最近一次完整响应的大小：ETag -> 字节数，用于估算 304 节省的流量
+     */
+    private final Cache<String, Long> responseSizes = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder notModifiedCount = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        // 304 不执行接口方法，@Log 接口的操作日志和访问统计会漏记，不做条件处理
+        if (conditionalGet == null || handlerMethod.hasMethodAnnotation(Log.class)) {
+            return true;
+        }
+
+        String etag = buildETag(request, conditionalGet.value());
+        if (etag == null) {
+            return true;
+        }
+        requestCount.increment();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // 允许浏览器缓存，但每次使用前必须重新验证
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            notModifiedCount.increment();
+            Long size = responseSizes.getIfPresent(etag);
+            if (size != null) {
+                bytesSaved.add(size);
+            }
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    /**
+     * 记录完整响应的大小
+     *
+     * @param etag 响应的 ETag
+     * @param size 响应体字节数
+     */
+    public void recordResponseSize(String etag, long size) {
+        responseSizes.put(etag, size);
+    }
+
+    /**
+     * 生成 ETag：请求路径和参数 + 数据域版本号 + 当前用户身份的摘要
+     */
+    private String buildETag(HttpServletRequest request, DataDomainEnum[] domains) {
+        List<Long> versions;
+        try {
+            versions = dataVersionManager.getVersions(domains);
+        } catch (Exception e) {
+            log.warn("数据版本号获取失败，跳过条件请求处理：{}", e.getMessage());
+            return null;
+        }
+
+        StringBuilder source = new StringBuilder(request.getRequestURI()).append('?')
+                .append(StrUtil.nullToEmpty(request.getQueryString())).append('|');
+        for (int i = 0; i < domains.length; i++) {
+            source.append(domains[i].getCode()).append(':').append(versions.get(i)).append('|');
+        }
+        PrincipalSnapshot principal = SecurityUtils.getPrincipal();
+        if (principal != null) {
+            source.append(principal.getUserId()).append('|')
+                    .append(principal.getDeptId()).append('|')
+                    .append(principal.getRolesKey()).append('|')
+                    .append(principal.getDataScope());
+        }
+        return "\"" + DigestUtil.md5Hex(source.toString()) + "\"";
+    }
+
+    /**
+     * 判断 If-None-Match 是否匹配(弱比较，支持多个值和 *)
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "conditionalGet";
+    }
+
+    /**
+     * 获取条件请求统计信息
+     */
+    @Override
+    public Stats getStats() {
+        long requests = requestCount.sum();
+        long notModified = notModifiedCount.sum();
+        return new Stats(requests, notModified, requests > 0 ? (double) notModified / requests : 0, bytesSaved.sum());
+    }
+
+    /**
+     * 条件请求统计信息
+     *
+     * @param requests         条件请求总数
+     * @param notModified      返回 304 的次数
+     * @param notModifiedRatio 304 占比
+     * @param bytesSaved       估算节省的响应字节数(按同一 ETag 最近一次完整响应的大小)
+     */
+    public record Stats(long requests, long notModified, double notModifiedRatio, long bytesSaved) {
+    }
+}
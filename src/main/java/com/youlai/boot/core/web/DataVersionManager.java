@@ -0,0 +1,87 @@
+package com.youlai.boot.core.web;
+
+import cn.hutool.core.convert.Convert;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.common.enums.DataDomainEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据域版本号管理
+ * <p>
+ * 每个数据域在 Redis 中保存一个单调递增的版本号，各业务的写方法在事务提交后递增对应数据域的版本号，
+ * {@link ConditionalGetInterceptor} 据此生成 ETag。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataVersionManager {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 递增数据域版本号
+     *
+     * @param domain 数据域
+     */
+    public void bump(DataDomainEnum domain) {
+        incrementAfterCommit(buildKey(domain));
+    }
+
+    /**
+     * 批量获取数据域版本号，未设置的版本号为 0
+     *
+     * @param domains 数据域
+     * @return 版本号，与数据域一一对应
+     */
+    public List<Long> getVersions(DataDomainEnum[] domains) {
+        List<String> keys = new ArrayList<>(domains.length);
+        for (DataDomainEnum domain : domains) {
+            keys.add(buildKey(domain));
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        List<Long> versions = new ArrayList<>(domains.length);
+        for (int i = 0; i < domains.length; i++) {
+            versions.add(values != null && i < values.size() ? Convert.toLong(values.get(i), 0L) : 0L);
+        }
+        return versions;
+    }
+
+    private String buildKey(DataDomainEnum domain) {
+        return RedisConstants.DATA_VERSION_PREFIX + domain.getCode();
+    }
+
+    /**
+     * 在事务提交后(无事务时立即)递增版本号，避免客户端在提交前以新版本号缓存旧数据
+     */
+    private void incrementAfterCommit(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(key);
+                }
+            });
+        } else {
+            increment(key);
+        }
+    }
+
+    private void increment(String key) {
+        try {
+            redisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            log.error("数据版本号递增失败：{}", key, e);
+        }
+    }
+}
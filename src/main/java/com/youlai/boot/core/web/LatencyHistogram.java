@@ -0,0 +1,143 @@
+package com.youlai.boot.core.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 耗时直方图(对数-线性分桶)
+ * <p>
+ * 单位为微秒：小于 64 的值每个值一个桶；更大的值按 2 的幂分段，每段再均分为 32 个子桶，
+ * 相对误差不超过 1/32；超过约 71 分钟的值计入最后一个桶。记录操作无锁，可并发调用。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int MAX_EXPONENT = 32;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    /**
+     * 桶数量
+     */
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param micros 耗时(微秒)
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * 清空
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * 累加到快照
+     */
+    void addTo(Snapshot snapshot) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                snapshot.counts[i] += bucketCount;
+            }
+        }
+        snapshot.count += count.get();
+        snapshot.sum += sum.get();
+        snapshot.max = Math.max(snapshot.max, max.get());
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶的代表值(区间中点)
+     */
+    private static long bucketValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKET_COUNT + 1;
+        long lower = (long) (SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT) << shift;
+        return lower + (1L << shift) / 2;
+    }
+
+    /**
+     * 直方图快照，用于合并多个时间片后计算分位数
+     */
+    public static class Snapshot {
+
+        private final long[] counts = new long[BUCKET_COUNT];
+        private long count;
+        private long sum;
+        private long max;
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 平均值(微秒)
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * 最大值(微秒)
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * 分位数(微秒)
+         *
+         * @param percentile 百分位，如 99.9
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.youlai.boot.core.web;
+
+import com.youlai.boot.config.property.LogProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 接口耗时拦截器
+ * <p>
+ * 在进入控制器前记录开始时间，请求完成后按控制器方法和响应状态分类计入 {@link LatencyMonitor}。
+ * 开始时间同时保存在请求属性中，操作日志的执行时间以同一起点计算。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求开始时间(System.nanoTime)请求属性
+     */
+    public static final String START_TIME_ATTRIBUTE = LatencyInterceptor.class.getName() + ".START_TIME";
+
+    private final LatencyMonitor latencyMonitor;
+    private final LogProperties logProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long startTime)
+                || !logProperties.getLatency().isEnabled()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startTime;
+        int status = response.getStatus();
+        // 未被异常处理器处理的异常最终返回 500
+        String statusClass = (ex != null && status < 400 ? 5 : status / 100) + "xx";
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        latencyMonitor.record(
+                handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName(),
+                request.getMethod(),
+                pattern != null ? pattern.toString() : request.getRequestURI(),
+                statusClass,
+                elapsed
+        );
+    }
+
+    /**
+     * 获取请求开始至今的耗时(毫秒)
+     *
+     * @param request 请求
+     * @param fallbackStartTime 请求属性中没有开始时间时使用的起点(System.nanoTime)
+     */
+    public static long elapsedMillis(HttpServletRequest request, long fallbackStartTime) {
+        long startTime = request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long value ? value : fallbackStartTime;
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,90 @@
+package com.youlai.boot.core.web;
+
+import com.youlai.boot.config.property.LogProperties;
+import com.youlai.boot.system.model.vo.EndpointLatencyVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口耗时统计
+ * <p>
+ * 按 控制器方法 + 响应状态分类 维护滚动窗口直方图，统计维度只与接口数量有关，不随路径参数膨胀。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyMonitor {
+
+    private final LogProperties logProperties;
+
+    private final Map<String, Series> seriesMap = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求耗时
+     *
+     * @param handler     控制器方法
+     * @param method      请求方式
+     * @param path        接口路径模板
+     * @param statusClass 响应状态分类，如 2xx
+     * @param nanos       耗时(纳秒)
+     */
+    public void record(String handler, String method, String path, String statusClass, long nanos) {
+        String key = handler + ' ' + statusClass;
+        Series series = seriesMap.computeIfAbsent(key, k -> {
+            LogProperties.LatencyProperties latencyProperties = logProperties.getLatency();
+            return new Series(handler, method, path, statusClass, new RollingLatencyHistogram(
+                    TimeUnit.SECONDS.toMillis(latencyProperties.getWindow()), latencyProperties.getSlices()));
+        });
+        series.histogram().record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * 获取时间窗口内各接口的耗时分位数，按 P99 降序
+     */
+    public List<EndpointLatencyVO> getLatencyStats() {
+        long window = logProperties.getLatency().getWindow();
+        List<EndpointLatencyVO> result = new ArrayList<>(seriesMap.size());
+        for (Series series : seriesMap.values()) {
+            LatencyHistogram.Snapshot snapshot = series.histogram().snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            EndpointLatencyVO vo = new EndpointLatencyVO();
+            vo.setHandler(series.handler());
+            vo.setMethod(series.method());
+            vo.setPath(series.path());
+            vo.setStatusClass(series.statusClass());
+            vo.setWindow(window);
+            vo.setCount(snapshot.getCount());
+            vo.setMean(toMillis(snapshot.getMean()));
+            vo.setP50(toMillis(snapshot.getValueAtPercentile(50)));
+            vo.setP90(toMillis(snapshot.getValueAtPercentile(90)));
+            vo.setP99(toMillis(snapshot.getValueAtPercentile(99)));
+            vo.setP999(toMillis(snapshot.getValueAtPercentile(99.9)));
+            vo.setMax(toMillis(snapshot.getMax()));
+            result.add(vo);
+        }
+        result.sort(Comparator.comparing(EndpointLatencyVO::getP99).reversed());
+        return result;
+    }
+
+    /**
+     * 微秒转毫秒，保留三位小数
+     */
+    private static double toMillis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    private record Series(String handler, String method, String path, String statusClass,
+                          RollingLatencyHistogram histogram) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.youlai.boot.core.web;
+
+/**
+ * 滚动时间窗口耗时直方图
+ * <p>
+ * 将时间窗口均分为若干时间片，每个时间片一个直方图，轮转复用；
+ * 查询时合并窗口内的时间片，过期的时间片在下次写入时清空。时间片直方图在首次写入时创建。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public class RollingLatencyHistogram {
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    /**
+     * @param windowMillis 时间窗口(毫秒)
+     * @param sliceCount   时间片数量
+     */
+    public RollingLatencyHistogram(long windowMillis, int sliceCount) {
+        int count = Math.max(1, sliceCount);
+        this.sliceMillis = Math.max(1, windowMillis / count);
+        this.slices = new Slice[count];
+        for (int i = 0; i < count; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param micros 耗时(微秒)
+     */
+    public void record(long micros) {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch != epoch) {
+            synchronized (slice) {
+                if (slice.epoch != epoch) {
+                    if (slice.histogram == null) {
+                        slice.histogram = new LatencyHistogram();
+                    } else {
+                        slice.histogram.reset();
+                    }
+                    slice.epoch = epoch;
+                }
+            }
+        }
+        slice.histogram.record(micros);
+    }
+
+    /**
+     * 合并时间窗口内的时间片
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        for (Slice slice : slices) {
+            if (slice.histogram != null && epoch - slice.epoch < slices.length) {
+                slice.histogram.addTo(snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    private static class Slice {
+        private volatile long epoch = -1;
+        private volatile LatencyHistogram histogram;
+    }
+}
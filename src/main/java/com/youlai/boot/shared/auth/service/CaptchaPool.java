@@ -0,0 +1,191 @@
+package com.youlai.boot.shared.auth.service;
+
+import cn.hutool.captcha.AbstractCaptcha;
+import cn.hutool.captcha.CaptchaUtil;
+import cn.hutool.captcha.generator.CodeGenerator;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.youlai.boot.config.property.CaptchaProperties;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import com.youlai.boot.shared.auth.enums.CaptchaTypeEnum;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 验证码图片池
+ * <p>
+ * 后台线程预先渲染验证码图片放入有界队列，获取验证码时直接取出，不在请求线程上渲染图片(GIF 验证码尤其耗费 CPU)。
+ * 池为空时回退到在请求线程上即时渲染。每张图片只会被取出一次。
+ * <p>
+ * 后台线程以最低优先级运行，队列满时阻塞等待，只占用空闲 CPU。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CaptchaPool implements RuntimeStatsContributor {
+
+    private final CaptchaProperties captchaProperties;
+    private final CodeGenerator codeGenerator;
+    private final Font captchaFont;
+
+    private BlockingQueue<RenderedCaptcha> pool;
+    private ExecutorService refillExecutor;
+
+    private final LongAdder refillCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final long startTime = System.currentTimeMillis();
+
+    @PostConstruct
+    public void init() {
+        CaptchaProperties.PoolProperties poolProperties = captchaProperties.getPool();
+        if (poolProperties == null || !poolProperties.isEnabled() || poolProperties.getSize() <= 0) {
+            return;
+        }
+        int refillThreads = Math.max(1, poolProperties.getRefillThreads());
+        pool = new ArrayBlockingQueue<>(poolProperties.getSize());
+        refillExecutor = Executors.newFixedThreadPool(refillThreads,
+                ThreadFactoryBuilder.create()
+                        .setNamePrefix("captcha-refill-")
+                        .setDaemon(true)
+                        .setPriority(Thread.MIN_PRIORITY)
+                        .build());
+        for (int i = 0; i < refillThreads; i++) {
+            refillExecutor.execute(this::refill);
+        }
+        log.info("验证码图片池已启动，容量：{}，填充线程数：{}", poolProperties.getSize(), refillThreads);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取一张验证码图片，池为空时即时渲染
+     *
+     * @return 验证码图片
+     */
+    public RenderedCaptcha take() {
+        RenderedCaptcha captcha = pool != null ? pool.poll() : null;
+        if (captcha != null) {
+            hitCount.increment();
+            return captcha;
+        }
+        if (pool != null) {
+            missCount.increment();
+        }
+        return render();
+    }
+
+    /**
+     * 渲染验证码图片
+     *
+     * @return 验证码图片
+     */
+    public RenderedCaptcha render() {
+        String captchaType = captchaProperties.getType();
+        int width = captchaProperties.getWidth();
+        int height = captchaProperties.getHeight();
+        int interfereCount = captchaProperties.getInterfereCount();
+        int codeLength = captchaProperties.getCode().getLength();
+
+        AbstractCaptcha captcha;
+        if (CaptchaTypeEnum.CIRCLE.name().equalsIgnoreCase(captchaType)) {
+            captcha = CaptchaUtil.createCircleCaptcha(width, height, codeLength, interfereCount);
+        } else if (CaptchaTypeEnum.GIF.name().equalsIgnoreCase(captchaType)) {
+            captcha = CaptchaUtil.createGifCaptcha(width, height, codeLength);
+        } else if (CaptchaTypeEnum.LINE.name().equalsIgnoreCase(captchaType)) {
+            captcha = CaptchaUtil.createLineCaptcha(width, height, codeLength, interfereCount);
+        } else if (CaptchaTypeEnum.SHEAR.name().equalsIgnoreCase(captchaType)) {
+            captcha = CaptchaUtil.createShearCaptcha(width, height, codeLength, interfereCount);
+        } else {
+            throw new IllegalArgumentException("Invalid captcha type: " + captchaType);
+        }
+        captcha.setGenerator(codeGenerator);
+        captcha.setTextAlpha(captchaProperties.getTextAlpha());
+        captcha.setFont(captchaFont);
+
+        return new RenderedCaptcha(captcha.getCode(), captcha.getImageBase64Data());
+    }
+
+    /**
+     * 后台填充：渲染后放入队列，队列满时阻塞
+     */
+    private void refill() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                pool.put(render());
+                refillCount.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("验证码图片渲染失败", e);
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "captchaPool";
+    }
+
+    /**
+     * 获取验证码图片池统计信息
+     */
+    @Override
+    public Stats getStats() {
+        long refilled = refillCount.sum();
+        double elapsedSeconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+        return new Stats(
+                pool != null ? pool.size() : 0,
+                pool != null ? pool.size() + pool.remainingCapacity() : 0,
+                refilled,
+                refilled / elapsedSeconds,
+                hitCount.sum(),
+                missCount.sum()
+        );
+    }
+
+    /**
+     * 预渲染的验证码
+     *
+     * @param code        验证码文本
+     * @param imageBase64 验证码图片Base64字符串
+     */
+    public record RenderedCaptcha(String code, String imageBase64) {
+    }
+
+    /**
+     * 验证码图片池统计信息
+     *
+     * @param depth      当前池中图片数量
+     * @param capacity   池容量
+     * @param refilled   累计填充数量
+     * @param refillRate 平均填充速率(张/秒)
+     * @param hits       从池中取到图片的次数
+     * @param misses     池为空、即时渲染的次数
+     */
+    public record Stats(int depth, int capacity, long refilled, double refillRate, long hits, long misses) {
+    }
+}
@@ -1,8 +1,5 @@
 package com.youlai.boot.shared.auth.service.impl;
 
-import cn.hutool.captcha.AbstractCaptcha;
-import cn.hutool.captcha.CaptchaUtil;
-import cn.hutool.captcha.generator.CodeGenerator;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
 import com.youlai.boot.common.constant.RedisConstants;
@@ -13,10 +10,10 @@ import com.youlai.boot.config.property.CaptchaProperties;
 import com.youlai.boot.core.security.extension.sms.SmsAuthenticationToken;
 import com.youlai.boot.core.security.extension.wechat.WechatAuthenticationToken;
 import com.youlai.boot.core.security.util.SecurityUtils;
-import com.youlai.boot.shared.auth.enums.CaptchaTypeEnum;
 import com.youlai.boot.core.security.model.AuthenticationToken;
 import com.youlai.boot.shared.auth.model.CaptchaInfo;
 import com.youlai.boot.shared.auth.service.AuthService;
+import com.youlai.boot.shared.auth.service.CaptchaPool;
 import com.youlai.boot.core.security.manager.TokenManager;
 import com.youlai.boot.shared.sms.enums.SmsTypeEnum;
 import com.youlai.boot.shared.sms.service.SmsService;
@@ -29,7 +26,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.awt.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -48,9 +44,8 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final TokenManager tokenManager;
 
-    private final Font captchaFont;
     private final CaptchaProperties captchaProperties;
-    private final CodeGenerator codeGenerator;
+    private final CaptchaPool captchaPool;
 
     private final SmsService smsService;
     private final RedisTemplate<String, Object> redisTemplate;
@@ -169,30 +164,10 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public CaptchaInfo getCaptcha() {
 
-        String captchaType = captchaProperties.getType();
-        int width = captchaProperties.getWidth();
-        int height = captchaProperties.getHeight();
-        int interfereCount = captchaProperties.getInterfereCount();
-        int codeLength = captchaProperties.getCode().getLength();
-
-        AbstractCaptcha captcha;
-        if (CaptchaTypeEnum.CIRCLE.name().equalsIgnoreCase(captchaType)) {
-            captcha = CaptchaUtil.createCircleCaptcha(width, height, codeLength, interfereCount);
-        } else if (CaptchaTypeEnum.GIF.name().equalsIgnoreCase(captchaType)) {
-            captcha = CaptchaUtil.createGifCaptcha(width, height, codeLength);
-        } else if (CaptchaTypeEnum.LINE.name().equalsIgnoreCase(captchaType)) {
-            captcha = CaptchaUtil.createLineCaptcha(width, height, codeLength, interfereCount);
-        } else if (CaptchaTypeEnum.SHEAR.name().equalsIgnoreCase(captchaType)) {
-            captcha = CaptchaUtil.createShearCaptcha(width, height, codeLength, interfereCount);
-        } else {
-            throw new IllegalArgumentException("Invalid captcha type: " + captchaType);
-        }
-        captcha.setGenerator(codeGenerator);
-        captcha.setTextAlpha(captchaProperties.getTextAlpha());
-        captcha.setFont(captchaFont);
-
-        String captchaCode = captcha.getCode();
-        String imageBase64Data = captcha.getImageBase64Data();
+        // 从验证码图片池中取出预渲染的图片，池为空时即时渲染
+        CaptchaPool.RenderedCaptcha captcha = captchaPool.take();
+        String captchaCode = captcha.code();
+        String imageBase64Data = captcha.imageBase64();
 
         // 验证码文本缓存至Redis，用于登录校验
         String captchaKey = IdUtil.fastSimpleUUID();
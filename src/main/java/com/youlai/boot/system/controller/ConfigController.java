@@ -1,6 +1,8 @@
 package com.youlai.boot.system.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.common.result.PageResult;
 import com.youlai.boot.common.result.Result;
@@ -53,6 +55,7 @@ public class ConfigController {
 
     @Operation(summary = "获取系统配置表单数据")
     @GetMapping("/{id}/form")
+    @ConditionalGet(DataDomainEnum.CONFIG)
     public Result<ConfigForm> getConfigForm(
             @Parameter(description = "系统配置ID") @PathVariable Long id
     ) {
@@ -1,5 +1,7 @@
 package com.youlai.boot.system.controller;
 
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.common.annotation.RepeatSubmit;
 import com.youlai.boot.common.model.Option;
@@ -45,6 +47,7 @@ public class DeptController {
 
     @Operation(summary = "部门下拉列表")
     @GetMapping("/options")
+    @ConditionalGet(DataDomainEnum.DEPT)
     public Result<List<Option<Long>>> getDeptOptions() {
         List<Option<Long>> list = deptService.listDeptOptions();
         return Result.success(list);
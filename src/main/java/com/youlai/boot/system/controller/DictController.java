@@ -1,6 +1,8 @@
 package com.youlai.boot.system.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.result.PageResult;
 import com.youlai.boot.common.result.Result;
 import com.youlai.boot.common.enums.LogModuleEnum;
@@ -48,6 +50,7 @@ public class DictController {
 
     @Operation(summary = "所有字典列表")
     @GetMapping("/list")
+    @ConditionalGet(DataDomainEnum.DICT)
     public Result<List<DictVO>> getAllDictWithData() {
         List<DictVO> list = dictService.getAllDictWithData();
         return Result.success(list);
@@ -1,6 +1,8 @@
 package com.youlai.boot.system.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.annotation.Log;
 import com.youlai.boot.common.annotation.RepeatSubmit;
 import com.youlai.boot.common.enums.LogModuleEnum;
@@ -86,6 +88,7 @@ public class DictDataController {
 
     @Operation(summary = "字典数据列表")
     @GetMapping("/{dictCode}/options")
+    @ConditionalGet(DataDomainEnum.DICT)
     public Result<List<Option<String>>> getDictDataList(
             @Parameter(description = "字典编码") @PathVariable String dictCode
     ) {
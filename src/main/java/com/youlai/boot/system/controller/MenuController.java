@@ -1,5 +1,7 @@
 package com.youlai.boot.system.controller;
 
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.result.Result;
 import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.common.annotation.RepeatSubmit;
@@ -7,7 +9,6 @@ import com.youlai.boot.system.model.form.MenuForm;
 import com.youlai.boot.system.model.query.MenuQuery;
 import com.youlai.boot.system.model.vo.MenuVO;
 import com.youlai.boot.common.model.Option;
-import com.youlai.boot.system.model.vo.RouteVO;
 import com.youlai.boot.common.annotation.Log;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.system.service.MenuService;
@@ -16,6 +17,8 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -56,10 +59,13 @@ public class MenuController {
     }
 
     @Operation(summary = "菜单路由列表")
-    @GetMapping("/routes")
-    public Result<List<RouteVO>> getCurrentUserRoutes() {
-        List<RouteVO> routeList = menuService.getCurrentUserRoutes();
-        return Result.success(routeList);
+    @GetMapping(value = "/routes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ConditionalGet({DataDomainEnum.MENU, DataDomainEnum.ROLE})
+    public ResponseEntity<byte[]> getCurrentUserRoutes() {
+        // 路由树按角色集合缓存并已序列化，直接输出
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menuService.getCurrentUserRoutesJson());
     }
 
     @Operation(summary = "菜单表单数据")
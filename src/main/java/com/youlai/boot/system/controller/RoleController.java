@@ -1,6 +1,8 @@
 package com.youlai.boot.system.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.youlai.boot.common.annotation.ConditionalGet;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.common.annotation.RepeatSubmit;
 import com.youlai.boot.common.model.Option;
@@ -48,6 +50,7 @@ public class RoleController {
 
     @Operation(summary = "角色下拉列表")
     @GetMapping("/options")
+    @ConditionalGet(DataDomainEnum.ROLE)
     public Result<List<Option<Long>>> listRoleOptions() {
         List<Option<Long>> list = roleService.listRoleOptions();
         return Result.success(list);
@@ -0,0 +1,43 @@
+package com.youlai.boot.system.controller;
+
+import com.youlai.boot.common.result.Result;
+import com.youlai.boot.system.model.vo.EndpointLatencyVO;
+import com.youlai.boot.system.service.RuntimeStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行统计控制层
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Tag(name = "14.运行统计接口")
+@RestController
+@RequestMapping("/api/v1/runtime-stats")
+@RequiredArgsConstructor
+public class RuntimeStatsController {
+
+    private final RuntimeStatsService runtimeStatsService;
+
+    @Operation(summary = "获取运行统计")
+    @GetMapping
+    public Result<Map<String, Object>> getRuntimeStats() {
+        Map<String, Object> result = runtimeStatsService.getRuntimeStats();
+        return Result.success(result);
+    }
+
+    @Operation(summary = "获取接口耗时统计")
+    @GetMapping("/latency")
+    public Result<List<EndpointLatencyVO>> getLatencyStats() {
+        List<EndpointLatencyVO> result = runtimeStatsService.getLatencyStats();
+        return Result.success(result);
+    }
+}
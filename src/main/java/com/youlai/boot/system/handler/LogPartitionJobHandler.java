@@ -0,0 +1,33 @@
+package com.youlai.boot.system.handler;
+
+import com.xxl.job.core.handler.annotation.XxlJob;
+import com.youlai.boot.system.service.LogPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 系统日志分区定时任务
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LogPartitionJobHandler {
+
+    private final LogPartitionService logPartitionService;
+
+    /**
+     * 预先创建未来月份的日志分区，归档并删除过期分区
+     * <p>
+     * 建议每天执行一次
+     */
+    @XxlJob("logPartitionJobHandler")
+    public void maintainPartitions() {
+        log.info("定时任务：维护日志分区，保留月数：{}", logPartitionService.getRetentionMonths());
+        logPartitionService.maintainPartitions();
+    }
+
+}
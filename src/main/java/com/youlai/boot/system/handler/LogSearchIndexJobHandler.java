@@ -0,0 +1,34 @@
+package com.youlai.boot.system.handler;
+
+import com.xxl.job.core.handler.annotation.XxlJob;
+import com.youlai.boot.core.log.index.LogSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 日志检索索引定时任务
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LogSearchIndexJobHandler {
+
+    private final LogSearchIndex logSearchIndex;
+
+    /**
+     * 从数据库重建日志检索索引
+     * <p>
+     * 索引文件损坏或需要补齐漏索引的日志时手动执行；多节点部署时每个节点的索引独立，需在各节点分别执行
+     */
+    @XxlJob("logSearchIndexRebuildJobHandler")
+    public void rebuild() {
+        log.info("定时任务：重建日志检索索引");
+        logSearchIndex.rebuild();
+        log.info("日志检索索引：{}", logSearchIndex.getStats());
+    }
+
+}
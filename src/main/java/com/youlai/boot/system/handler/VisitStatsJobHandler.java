@@ -0,0 +1,41 @@
+package com.youlai.boot.system.handler;
+
+import cn.hutool.core.util.StrUtil;
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import com.youlai.boot.system.service.VisitStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 访问统计定时任务
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisitStatsJobHandler {
+
+    private final VisitStatsService visitStatsService;
+
+    /**
+     * 根据历史日志回填访问量日统计和访客 HyperLogLog
+     * <p>
+     * 任务参数：开始日期,结束日期(yyyy-MM-dd，均可省略)，省略时回填最早的日志至昨天
+     */
+    @XxlJob("visitStatsBackfillJobHandler")
+    public void backfill() {
+        List<String> params = StrUtil.split(XxlJobHelper.getJobParam(), ',', true, true);
+        LocalDate startDate = params.size() > 0 ? LocalDate.parse(params.get(0)) : null;
+        LocalDate endDate = params.size() > 1 ? LocalDate.parse(params.get(1)) : null;
+        log.info("定时任务：回填访问统计，日期：{} ~ {}", startDate, endDate);
+        visitStatsService.backfill(startDate, endDate);
+    }
+
+}
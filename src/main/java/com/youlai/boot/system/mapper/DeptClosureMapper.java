@@ -0,0 +1,51 @@
+package com.youlai.boot.system.mapper;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 部门闭包表访问层
+ * <p>
+ * 每个部门与其自身及所有祖先部门各保存一条记录，按祖先部门ID查询子树可直接走主键索引，
+ * 替代 tree_path 的 FIND_IN_SET / LIKE 全表扫描。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Mapper
+@InterceptorIgnore(dataPermission = "true")
+public interface DeptClosureMapper {
+
+    /**
+     * 新增部门节点：写入自身记录和所有祖先记录
+     *
+     * @param deptId   部门ID
+     * @param parentId 父部门ID
+     */
+    int insertNode(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 将子树从原祖先部门上摘除(保留子树内部的记录)
+     *
+     * @param deptId 子树根部门ID
+     */
+    int detachSubtree(@Param("deptId") Long deptId);
+
+    /**
+     * 将子树挂到新的父部门下
+     *
+     * @param deptId   子树根部门ID
+     * @param parentId 新的父部门ID
+     */
+    int attachSubtree(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 获取部门及其所有子部门ID
+     *
+     * @param deptId 部门ID
+     */
+    List<Long> listDescendantIds(@Param("deptId") Long deptId);
+}
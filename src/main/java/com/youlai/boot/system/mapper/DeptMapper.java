@@ -17,4 +17,11 @@ public interface DeptMapper extends BaseMapper<Dept> {
     @DataPermission(deptIdColumnName = "id")
     @Override
     List<Dept> selectList(@Param(Constants.WRAPPER) Wrapper<Dept> queryWrapper);
+
+    /**
+     * 获取全部部门(不受数据权限限制)
+     *
+     * @return 未删除的部门，按排序升序
+     */
+    List<Dept> listAllDepts();
 }
@@ -1,16 +1,17 @@
 package com.youlai.boot.system.mapper;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.youlai.boot.system.model.bo.VisitCount;
-import com.youlai.boot.system.model.bo.VisitStatsBO;
+import com.youlai.boot.common.enums.LogModuleEnum;
 import com.youlai.boot.system.model.entity.Log;
 import com.youlai.boot.system.model.query.LogPageQuery;
 import com.youlai.boot.system.model.vo.LogPageVO;
-import com.youlai.boot.system.model.vo.VisitStatsVO;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -24,34 +25,88 @@ public interface LogMapper extends BaseMapper<Log> {
 
     /**
      * 获取日志分页列表
+     *
+     * @param keywordModules 编码或名称包含关键字的日志模块
+     */
+    Page<LogPageVO> getLogPage(Page<LogPageVO> page, LogPageQuery queryParams, List<LogModuleEnum> keywordModules);
+
+    /**
+     * 根据ID获取日志列表，按创建时间和ID降序
+     *
+     * @param ids 日志ID
      */
-    Page<LogPageVO> getLogPage(Page<LogPageVO> page, LogPageQuery queryParams);
+    List<LogPageVO> listLogsByIds(@Param("ids") List<Long> ids);
 
     /**
-     * 统计浏览数(PV)
+     * 按ID顺序读取待建立检索索引的日志ID
      *
-     * @param startDate 开始日期 yyyy-MM-dd
-     * @param endDate   结束日期 yyyy-MM-dd
+     * @param afterId 起始ID(不含)
+     * @param limit   读取条数
      */
-    List<VisitCount> getPvCounts(String startDate, String endDate);
+    List<Long> listLogIdsForIndex(@Param("afterId") long afterId, @Param("limit") int limit);
 
     /**
-     * 统计IP数
+     * 根据ID读取待建立检索索引的日志，按ID升序
      *
-     * @param startDate 开始日期 yyyy-MM-dd
-     * @param endDate   结束日期 yyyy-MM-dd
+     * @param ids 日志ID
      */
-    List<VisitCount> getIpCounts(String startDate, String endDate);
+    List<LogPageVO> listLogsForIndex(@Param("ids") List<Long> ids);
 
     /**
-     * 获取浏览量(PV)统计
+     * 批量写入日志
+     *
+     * @param list 日志列表
      */
-    VisitStatsBO getPvStats();
+    int insertBatch(@Param("list") List<Log> list);
 
     /**
-     * 获取访问IP统计
+     * 统计时间范围内的访问量
+     *
+     * @param startTime 开始时间(含)
+     * @param endTime   结束时间(不含)
+     */
+    long countVisits(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 获取时间范围内访问的去重IP列表
+     *
+     * @param startTime 开始时间(含)
+     * @param endTime   结束时间(不含)
+     */
+    List<String> listDistinctIps(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 获取最早的日志时间
+     */
+    LocalDateTime getEarliestCreateTime();
+
+    /**
+     * 获取日志表的分区名称，按分区顺序排列；未分区时返回空列表
+     */
+    List<String> listPartitions();
+
+    /**
+     * 将 MAXVALUE 分区拆分出新的月份分区
+     *
+     * @param partitions 分区名称 -> 分区上界(不含)，按上界升序
+     */
+    void addPartitions(@Param("partitions") Map<String, String> partitions);
+
+    /**
+     * 删除分区
+     *
+     * @param partition 分区名称
+     */
+    void dropPartition(@Param("partition") String partition);
+
+    /**
+     * 按ID顺序读取分区中的日志
+     *
+     * @param partition 分区名称
+     * @param lastId    上一批最后一条记录的ID，首批为 null
+     * @param limit     读取条数
      */
-    VisitStatsBO getUvStats();
+    List<Log> listPartitionLogs(@Param("partition") String partition, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
 
 
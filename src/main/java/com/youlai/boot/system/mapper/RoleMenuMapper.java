@@ -1,6 +1,7 @@
 package com.youlai.boot.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.youlai.boot.system.model.bo.RoleMenusBO;
 import com.youlai.boot.system.model.bo.RolePermsBO;
 import com.youlai.boot.system.model.entity.RoleMenu;
 import org.apache.ibatis.annotations.Mapper;
@@ -38,4 +39,9 @@ public interface RoleMenuMapper extends BaseMapper<RoleMenu> {
      * @return
      */
     Set<String> listRolePerms(Set<String> roles);
+
+    /**
+     * 获取启用角色拥有的菜单ID列表
+     */
+    List<RoleMenusBO> listRoleMenus();
 }
@@ -0,0 +1,60 @@
+package com.youlai.boot.system.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.youlai.boot.system.model.entity.VisitDaily;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 访问量日统计访问层
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Mapper
+public interface VisitDailyMapper extends BaseMapper<VisitDaily> {
+
+    /**
+     * 合并实时统计结果，已有记录保留较大值(Redis 计数丢失后重新计数时不会覆盖已落库的数据)
+     *
+     * @param statDate 统计日期
+     * @param pv       浏览量
+     * @param uv       访客数
+     */
+    int mergeDaily(@Param("statDate") LocalDate statDate, @Param("pv") long pv, @Param("uv") long uv);
+
+    /**
+     * 合并接口访问量实时统计结果，已有记录保留较大值
+     *
+     * @param statDate 统计日期
+     * @param counts   接口路径 -> 浏览量
+     */
+    int mergeDailyUri(@Param("statDate") LocalDate statDate, @Param("counts") Map<String, Long> counts);
+
+    /**
+     * 根据日志回填时间范围内的日统计(覆盖已有记录)
+     *
+     * @param startTime 开始时间(含)
+     * @param endTime   结束时间(不含)
+     */
+    int backfillDaily(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 根据日志回填时间范围内的接口访问量日统计(覆盖已有记录)
+     *
+     * @param startTime 开始时间(含)
+     * @param endTime   结束时间(不含)
+     */
+    int backfillDailyUri(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 统计指定日期之前的浏览量合计
+     *
+     * @param statDate 统计日期(不含)
+     */
+    Long sumPvBefore(@Param("statDate") LocalDate statDate);
+}
@@ -0,0 +1,26 @@
+package com.youlai.boot.system.model.bo;
+
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * 角色菜单业务对象
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Data
+public class RoleMenusBO {
+
+    /**
+     * 角色编码
+     */
+    private String roleCode;
+
+    /**
+     * 菜单ID集合
+     */
+    private Set<Long> menuIds;
+
+}
@@ -0,0 +1,43 @@
+package com.youlai.boot.system.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 访问量日统计 实体类
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Data
+@TableName("sys_visit_daily")
+public class VisitDaily implements Serializable {
+
+    /**
+     * 统计日期
+     */
+    @TableId(type = IdType.INPUT)
+    private LocalDate statDate;
+
+    /**
+     * 浏览量(PV)
+     */
+    private Long pv;
+
+    /**
+     * 访客数(UV，按IP去重)
+     */
+    private Long uv;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+
+}
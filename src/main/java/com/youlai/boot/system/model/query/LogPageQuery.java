@@ -17,7 +17,7 @@ import java.util.List;
 @Setter
 public class LogPageQuery extends BasePageQuery {
 
-    @Schema(description="关键字(日志内容/请求路径/请求方法/地区/浏览器/终端系统)")
+    @Schema(description="关键字(日志内容/请求路径/IP/操作人/日志模块)")
     private String keywords;
 
     @Schema(description="操作时间范围")
@@ -0,0 +1,54 @@
+package com.youlai.boot.system.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 接口耗时统计视图对象
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Schema(description = "接口耗时统计视图对象")
+@Getter
+@Setter
+public class EndpointLatencyVO {
+
+    @Schema(description = "控制器方法", example = "UserController#getUserPage")
+    private String handler;
+
+    @Schema(description = "请求方式")
+    private String method;
+
+    @Schema(description = "接口路径")
+    private String path;
+
+    @Schema(description = "响应状态分类", example = "2xx")
+    private String statusClass;
+
+    @Schema(description = "统计窗口(秒)")
+    private Long window;
+
+    @Schema(description = "窗口内请求数")
+    private Long count;
+
+    @Schema(description = "平均耗时(毫秒)")
+    private Double mean;
+
+    @Schema(description = "P50 耗时(毫秒)")
+    private Double p50;
+
+    @Schema(description = "P90 耗时(毫秒)")
+    private Double p90;
+
+    @Schema(description = "P99 耗时(毫秒)")
+    private Double p99;
+
+    @Schema(description = "P999 耗时(毫秒)")
+    private Double p999;
+
+    @Schema(description = "最大耗时(毫秒)")
+    private Double max;
+
+}
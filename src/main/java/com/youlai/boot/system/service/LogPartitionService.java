@@ -0,0 +1,24 @@
+package com.youlai.boot.system.service;
+
+/**
+ * 系统日志分区 服务接口
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public interface LogPartitionService {
+
+    /**
+     * 维护日志分区
+     * <p>
+     * 预先创建未来月份的分区，按系统配置的保留月数归档并删除过期分区
+     */
+    void maintainPartitions();
+
+    /**
+     * 获取日志保留月数
+     *
+     * @return 保留月数，未配置或小于等于 0 时表示永久保留
+     */
+    int getRetentionMonths();
+}
@@ -44,6 +44,11 @@ public interface MenuService extends IService<Menu> {
      */
     List<RouteVO> getCurrentUserRoutes();
 
+    /**
+     * 获取当前用户的菜单路由列表响应 JSON(已序列化的 {@code Result.success(routes)})
+     */
+    byte[] getCurrentUserRoutesJson();
+
     /**
      * 修改菜单显示状态
      * 
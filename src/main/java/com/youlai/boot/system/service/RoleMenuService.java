@@ -24,8 +24,17 @@ public interface RoleMenuService extends IService<RoleMenu> {
     List<Long> listMenuIdsByRoleId(Long roleId);
 
 
+    /**
+     * 重建权限缓存(所有角色)
+     * <p>
+     * 写入临时键后原子替换，读取方不会看到构建中的缓存
+     */
+    void rebuildRolePermsCache();
+
     /**
      * 刷新权限缓存(所有角色)
+     * <p>
+     * 增量刷新，只更新权限发生变化的角色
      */
     void refreshRolePermsCache();
 
@@ -51,4 +60,23 @@ public interface RoleMenuService extends IService<RoleMenu> {
      * @return 权限集合
      */
     Set<String> getRolePermsByRoleCodes(Set<String> roles);
+
+    /**
+     * 权限缓存统计信息
+     *
+     * @param rebuilds           全量重建次数
+     * @param lastRebuildRoles   最近一次重建的角色数
+     * @param lastRebuildMillis  最近一次重建耗时(毫秒)
+     * @param maxRebuildMillis   重建最大耗时(毫秒)
+     * @param refreshes          增量刷新次数
+     * @param lastRefreshChanged 最近一次刷新变更的角色数
+     * @param lastRefreshRemoved 最近一次刷新移除的角色数
+     * @param lastRefreshMillis  最近一次刷新耗时(毫秒)
+     * @param maxRefreshMillis   刷新最大耗时(毫秒)
+     * @param roleRefreshes      单角色刷新次数
+     */
+    record RolePermsCacheStats(long rebuilds, int lastRebuildRoles, long lastRebuildMillis, long maxRebuildMillis,
+                               long refreshes, int lastRefreshChanged, int lastRefreshRemoved,
+                               long lastRefreshMillis, long maxRefreshMillis, long roleRefreshes) {
+    }
 }
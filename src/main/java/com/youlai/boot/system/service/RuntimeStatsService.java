@@ -0,0 +1,27 @@
+package com.youlai.boot.system.service;
+
+import com.youlai.boot.system.model.vo.EndpointLatencyVO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行统计 服务接口
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public interface RuntimeStatsService {
+
+    /**
+     * 获取运行统计(缓存、队列、后台任务等)
+     *
+     * @return 统计项名称 -> 统计信息
+     */
+    Map<String, Object> getRuntimeStats();
+
+    /**
+     * 获取接口耗时统计
+     */
+    List<EndpointLatencyVO> getLatencyStats();
+}
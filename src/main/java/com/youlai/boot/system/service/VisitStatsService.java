@@ -0,0 +1,54 @@
+package com.youlai.boot.system.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.youlai.boot.core.log.LogEvent;
+import com.youlai.boot.system.model.entity.VisitDaily;
+import com.youlai.boot.system.model.vo.VisitStatsVO;
+import com.youlai.boot.system.model.vo.VisitTrendVO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 访问统计 服务接口
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+public interface VisitStatsService extends IService<VisitDaily> {
+
+    /**
+     * 记录一批访问
+     *
+     * @param events 待写入的操作日志
+     */
+    void recordVisits(List<LogEvent> events);
+
+    /**
+     * 将实时统计结果写入日统计表
+     *
+     * @param statDate 统计日期
+     */
+    void flush(LocalDate statDate);
+
+    /**
+     * 根据历史日志回填日统计和访客 HyperLogLog
+     *
+     * @param startDate 开始日期，为空时从最早的日志开始
+     * @param endDate   结束日期，为空或不早于今天时截止到昨天
+     */
+    void backfill(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 获取访问趋势
+     *
+     * @param startDate 开始时间
+     * @param endDate   结束时间
+     */
+    VisitTrendVO getVisitTrend(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 获取访问统计
+     */
+    VisitStatsVO getVisitStats();
+}
@@ -15,38 +15,61 @@ import com.youlai.boot.system.model.vo.ConfigVO;
 import com.youlai.boot.system.service.ConfigService;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import jakarta.annotation.PostConstruct;
+import com.youlai.boot.core.web.DataVersionManager;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 系统配置Service接口实现
+ * <p>
+ * 系统配置在 Redis 中缓存一份，各节点再在本地保留一份副本，读取配置无需访问 Redis；
+ * 刷新缓存时通过 Redis 发布订阅通知所有节点重新加载本地副本。
  *
  * @author Theo
  * @since 2024-07-29 11:17:26
  */
 @Service
 @RequiredArgsConstructor
-public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> implements ConfigService {
+@Slf4j
+public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> implements ConfigService, MessageListener {
 
 
     private final ConfigConverter configConverter;
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final DataVersionManager dataVersionManager;
+
+    /**
+     * 系统配置本地副本：配置键 -> 配置值
+     */
+    private volatile Map<String, Object> localConfigs = Collections.emptyMap();
+
 
     /**
-     * 系统启动完成后，加载系统配置到缓存
+     * 系统启动完成后，加载系统配置到缓存，并订阅配置变更消息
      */
     @PostConstruct
     public void init() {
         refreshCache();
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.SYSTEM_CONFIG_CHANGE_TOPIC));
     }
 
     /**
@@ -83,7 +106,11 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
         Config config = configConverter.toEntity(configForm);
         config.setCreateBy(SecurityUtils.getUserId());
         config.setIsDeleted(0);
-        return this.save(config);
+        boolean result = this.save(config);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.CONFIG);
+        }
+        return result;
     }
 
     /**
@@ -112,7 +139,11 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
                 "配置键已存在");
         Config config = configConverter.toEntity(configForm);
         config.setUpdateBy(SecurityUtils.getUserId());
-        return this.updateById(config);
+        boolean result = this.updateById(config);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.CONFIG);
+        }
+        return result;
     }
 
     /**
@@ -124,11 +155,15 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
     @Override
     public boolean delete(Long id) {
         if (id != null) {
-            return super.update(new LambdaUpdateWrapper<Config>()
+            boolean result = super.update(new LambdaUpdateWrapper<Config>()
                     .eq(Config::getId,id)
                     .set(Config::getIsDeleted, 1)
                     .set(Config::getUpdateBy, SecurityUtils.getUserId())
             );
+            if (result) {
+                dataVersionManager.bump(DataDomainEnum.CONFIG);
+            }
+            return result;
         }
         return false;
     }
@@ -145,13 +180,17 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
         if (list != null) {
             Map<String, String> map = list.stream().collect(Collectors.toMap(Config::getConfigKey, Config::getConfigValue));
             redisTemplate.opsForHash().putAll(RedisConstants.SYSTEM_CONFIG_KEY, map);
+            localConfigs = Map.copyOf(map);
+            // 通知其他节点重新加载本地副本
+            redisTemplate.convertAndSend(RedisConstants.SYSTEM_CONFIG_CHANGE_TOPIC, RedisConstants.SYSTEM_CONFIG_KEY);
+            dataVersionManager.bump(DataDomainEnum.CONFIG);
             return true;
         }
         return false;
     }
 
     /**
-     * 获取系统配置
+     * 获取系统配置(读取本地副本)
      *
      * @param key 配置键
      * @return 配置值
@@ -159,9 +198,25 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
     @Override
     public Object getSystemConfig(String key) {
         if (StringUtils.isNotBlank(key)) {
-            return redisTemplate.opsForHash().get(RedisConstants.SYSTEM_CONFIG_KEY, key);
+            return localConfigs.get(key);
         }
         return null;
     }
 
+    /**
+     * 接收系统配置变更消息，从 Redis 重新加载本地副本
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(RedisConstants.SYSTEM_CONFIG_KEY);
+        Map<String, Object> configs = new HashMap<>(entries.size());
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                configs.put(String.valueOf(key), value);
+            }
+        });
+        localConfigs = Collections.unmodifiableMap(configs);
+        log.debug("系统配置本地副本已刷新，配置数：{}", configs.size());
+    }
+
 }
@@ -6,8 +6,11 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.common.enums.DataScopeEnum;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.system.converter.DeptConverter;
+import com.youlai.boot.system.mapper.DeptClosureMapper;
 import com.youlai.boot.system.mapper.DeptMapper;
 import com.youlai.boot.system.model.entity.Dept;
 import com.youlai.boot.system.model.form.DeptForm;
@@ -17,13 +20,16 @@ import com.youlai.boot.common.constant.SystemConstants;
 import com.youlai.boot.common.enums.StatusEnum;
 import com.youlai.boot.common.model.Option;
 import com.youlai.boot.system.service.DeptService;
+import com.youlai.boot.core.web.DataVersionManager;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 部门 业务实现类
@@ -38,8 +44,16 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
 
     private final DeptConverter deptConverter;
 
+    private final DeptClosureMapper deptClosureMapper;
+
+    private final DeptSnapshotHolder deptSnapshotHolder;
+
+    private final DataVersionManager dataVersionManager;
+
     /**
      * 获取部门列表
+     * <p>
+     * 基于部门快照筛选，保留匹配部门的上级部门
      */
     @Override
     public List<DeptVO> getDeptList(DeptQuery queryParams) {
@@ -47,51 +61,31 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
         String keywords = queryParams.getKeywords();
         Integer status = queryParams.getStatus();
 
-        // 查询数据
-        List<Dept> deptList = this.list(
-                new LambdaQueryWrapper<Dept>()
-                        .like(StrUtil.isNotBlank(keywords), Dept::getName, keywords)
-                        .eq(status != null, Dept::getStatus, status)
-                        .orderByAsc(Dept::getSort)
-        );
-
-        if (CollectionUtil.isEmpty(deptList)) {
-            return Collections.EMPTY_LIST;
+        DeptSnapshotHolder.Snapshot snapshot = deptSnapshotHolder.get();
+        BitSet scope = dataScope(snapshot);
+        if (scope == null) {
+            if (StrUtil.isBlank(keywords) && status == null) {
+                // 无数据权限限制且无筛选条件时使用快照缓存的完整部门树
+                return snapshot.cached("list", () -> assembleDeptList(snapshot, snapshot.all()));
+            }
+            scope = snapshot.all();
         }
 
-        // 获取所有部门ID
-        Set<Long> deptIds = deptList.stream()
-                .map(Dept::getId)
-                .collect(Collectors.toSet());
-        // 获取父节点ID
-        Set<Long> parentIds = deptList.stream()
-                .map(Dept::getParentId)
-                .collect(Collectors.toSet());
-        // 获取根节点ID（递归的起点），即父节点ID中不包含在部门ID中的节点，注意这里不能拿顶级部门 O 作为根节点，因为部门筛选的时候 O 会被过滤掉
-        List<Long> rootIds = CollectionUtil.subtractToList(parentIds, deptIds);
-
-        // 递归生成部门树形列表
-        return rootIds.stream()
-                .flatMap(rootId -> recurDeptList(rootId, deptList).stream())
-                .toList();
+        if (StrUtil.isBlank(keywords) && status == null) {
+            return assembleDeptList(snapshot, scope);
+        }
+        BitSet matched = snapshot.filter(scope, dept ->
+                (StrUtil.isBlank(keywords) || StrUtil.containsIgnoreCase(dept.getName(), keywords))
+                        && (status == null || status.equals(dept.getStatus()))
+        );
+        return assembleDeptList(snapshot, snapshot.withAncestors(matched, scope));
     }
 
     /**
-     * 递归生成部门树形列表
-     *
-     * @param parentId 父ID
-     * @param deptList 部门列表
-     * @return 部门树形列表
+     * 组装部门树形列表
      */
-    public List<DeptVO> recurDeptList(Long parentId, List<Dept> deptList) {
-        return deptList.stream()
-                .filter(dept -> dept.getParentId().equals(parentId))
-                .map(dept -> {
-                    DeptVO deptVO = deptConverter.toVo(dept);
-                    List<DeptVO> children = recurDeptList(dept.getId(), deptList);
-                    deptVO.setChildren(children);
-                    return deptVO;
-                }).toList();
+    private List<DeptVO> assembleDeptList(DeptSnapshotHolder.Snapshot snapshot, BitSet included) {
+        return snapshot.assemble(included, deptConverter::toVo, DeptVO::setChildren);
     }
 
     /**
@@ -101,30 +95,51 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
      */
     @Override
     public List<Option<Long>> listDeptOptions() {
-
-        List<Dept> deptList = this.list(new LambdaQueryWrapper<Dept>()
-                .eq(Dept::getStatus, StatusEnum.ENABLE.getValue())
-                .select(Dept::getId, Dept::getParentId, Dept::getName)
-                .orderByAsc(Dept::getSort)
-        );
-        if (CollectionUtil.isEmpty(deptList)) {
-            return Collections.EMPTY_LIST;
+        DeptSnapshotHolder.Snapshot snapshot = deptSnapshotHolder.get();
+        BitSet scope = dataScope(snapshot);
+        if (scope == null) {
+            return snapshot.cached("options", () -> assembleDeptOptions(snapshot, snapshot.all()));
         }
+        return assembleDeptOptions(snapshot, scope);
+    }
 
-        Set<Long> deptIds = deptList.stream()
-                .map(Dept::getId)
-                .collect(Collectors.toSet());
-
-        Set<Long> parentIds = deptList.stream()
-                .map(Dept::getParentId)
-                .collect(Collectors.toSet());
-
-        List<Long> rootIds = CollectionUtil.subtractToList(parentIds, deptIds);
+    /**
+     * 组装启用部门的树形下拉选项
+     */
+    private List<Option<Long>> assembleDeptOptions(DeptSnapshotHolder.Snapshot snapshot, BitSet scope) {
+        BitSet enabled = snapshot.filter(scope, dept -> StatusEnum.ENABLE.getValue().equals(dept.getStatus()));
+        return snapshot.assemble(enabled,
+                dept -> new Option<>(dept.getId(), dept.getName()),
+                (option, children) -> {
+                    if (CollectionUtil.isNotEmpty(children)) {
+                        option.setChildren(children);
+                    }
+                });
+    }
 
-        // 递归生成部门树形列表
-        return rootIds.stream()
-                .flatMap(rootId -> recurDeptTreeOptions(rootId, deptList).stream())
-                .toList();
+    /**
+     * 当前用户可见的部门范围，与 {@link com.youlai.boot.core.handler.MyDataPermissionHandler} 对部门查询的过滤一致
+     *
+     * @return 可见部门位图，不受限制时返回 null
+     */
+    private BitSet dataScope(DeptSnapshotHolder.Snapshot snapshot) {
+        PrincipalSnapshot principal = SecurityUtils.getPrincipal();
+        if (principal == null || principal.getUserId() == null || principal.isRoot()) {
+            return null;
+        }
+        DataScopeEnum dataScopeEnum = principal.getDataScopeEnum();
+        if (DataScopeEnum.ALL.equals(dataScopeEnum)) {
+            return null;
+        }
+        // 无角色或数据权限未映射时按最小范围（本人数据）过滤，不放开全部部门
+        if (dataScopeEnum == null) {
+            dataScopeEnum = DataScopeEnum.SELF;
+        }
+        return switch (dataScopeEnum) {
+            case DEPT -> snapshot.self(principal.getDeptId());
+            case SELF -> snapshot.filter(snapshot.all(), dept -> principal.getUserId().equals(dept.getCreateBy()));
+            default -> snapshot.descendants(principal.getDeptId());
+        };
     }
 
     /**
@@ -134,6 +149,7 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
      * @return 部门ID
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Long saveDept(DeptForm formData) {
         // 校验部门名称是否存在
         String code = formData.getCode();
@@ -154,6 +170,11 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
         boolean result = this.save(entity);
         Assert.isTrue(result, "部门保存失败");
 
+        // 维护部门闭包表
+        deptClosureMapper.insertNode(entity.getId(), entity.getParentId());
+        deptSnapshotHolder.refresh();
+        dataVersionManager.bump(DataDomainEnum.DEPT);
+
         return entity.getId();
     }
 
@@ -179,6 +200,7 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
      * @return 部门ID
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Long updateDept(Long deptId, DeptForm formData) {
         // 校验部门名称/部门编号是否存在
         String code = formData.getCode();
@@ -188,6 +210,8 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
         );
         Assert.isTrue(count == 0, "部门编号已存在");
 
+        Dept oldDept = this.getById(deptId);
+        Assert.notNull(oldDept, "部门不存在");
 
         // form->entity
         Dept entity = deptConverter.toEntity(formData);
@@ -201,31 +225,19 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
         boolean result = this.updateById(entity);
         Assert.isTrue(result, "部门更新失败");
 
-        return entity.getId();
-    }
+        // 上级部门变更时，将部门子树整体移动到新的上级部门下
+        if (!oldDept.getParentId().equals(entity.getParentId())) {
+            List<Long> subtreeIds = deptClosureMapper.listDescendantIds(deptId);
+            Assert.isFalse(subtreeIds.contains(entity.getParentId()), "上级部门不能是当前部门或其子部门");
+            deptClosureMapper.detachSubtree(deptId);
+            deptClosureMapper.attachSubtree(deptId, entity.getParentId());
+        }
+        deptSnapshotHolder.refresh();
+        dataVersionManager.bump(DataDomainEnum.DEPT);
 
-    /**
-     * 递归生成部门表格层级列表
-     *
-     * @param parentId 父ID
-     * @param deptList 部门列表
-     * @return 部门表格层级列表
-     */
-    public static List<Option<Long>> recurDeptTreeOptions(long parentId, List<Dept> deptList) {
-        return CollectionUtil.emptyIfNull(deptList).stream()
-                .filter(dept -> dept.getParentId().equals(parentId))
-                .map(dept -> {
-                    Option<Long> option = new Option<>(dept.getId(), dept.getName());
-                    List<Option<Long>> children = recurDeptTreeOptions(dept.getId(), deptList);
-                    if (CollectionUtil.isNotEmpty(children)) {
-                        option.setChildren(children);
-                    }
-                    return option;
-                })
-                .collect(Collectors.toList());
+        return entity.getId();
     }
 
-
     /**
      * 删除部门
      *
@@ -233,19 +245,23 @@ public class DeptServiceImpl extends ServiceImpl<DeptMapper, Dept> implements De
      * @return 是否删除成功
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteByIds(String ids) {
-        // 删除部门及子部门
+        // 删除部门及子部门(逻辑删除，闭包表记录保留，与部门记录保持一致)
         if (StrUtil.isNotBlank(ids)) {
-            String[] menuIds = ids.split(",");
-            for (String deptId : menuIds) {
-                this.update(new LambdaUpdateWrapper<Dept>()
-                        .eq(Dept::getId, deptId)
-                        .or()
-                        .apply("CONCAT (',',tree_path,',') LIKE CONCAT('%,',{0},',%')", deptId)
-                        .set(Dept::getIsDeleted, 1)
-                        .set(Dept::getUpdateBy, SecurityUtils.getUserId())
-                );
+            Set<Long> deleteIds = new HashSet<>();
+            for (String id : ids.split(",")) {
+                Long deptId = Long.parseLong(id.trim());
+                deleteIds.add(deptId);
+                deleteIds.addAll(deptClosureMapper.listDescendantIds(deptId));
             }
+            this.update(new LambdaUpdateWrapper<Dept>()
+                    .in(Dept::getId, deleteIds)
+                    .set(Dept::getIsDeleted, 1)
+                    .set(Dept::getUpdateBy, SecurityUtils.getUserId())
+            );
+            deptSnapshotHolder.refresh();
+            dataVersionManager.bump(DataDomainEnum.DEPT);
         }
         return true;
     }
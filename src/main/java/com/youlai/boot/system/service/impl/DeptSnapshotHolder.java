@@ -0,0 +1,352 @@
+package com.youlai.boot.system.service.impl;
+
+import cn.hutool.core.convert.Convert;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.system.mapper.DeptMapper;
+import com.youlai.boot.system.model.entity.Dept;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 部门快照
+ * <p>
+ * 在内存中持有全部部门的不可变快照，部门列表和下拉选项直接基于快照组装，不再每次查询数据库。
+ * 通过 {@link DeptServiceImpl} 修改部门后(事务提交后)重新加载快照，并通过 Redis 发布订阅通知其他节点；
+ * 快照带有全局递增的版本号，节点只接受比当前更新的版本。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeptSnapshotHolder implements MessageListener {
+
+    private final DeptMapper deptMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 订阅部门数据变更消息
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.DEPT_CHANGE_TOPIC));
+    }
+
+    /**
+     * 获取当前部门快照，首次访问时加载
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    long version = Convert.toLong(redisTemplate.opsForValue().get(RedisConstants.DEPT_SNAPSHOT_VERSION_KEY), 0L);
+                    current = load(version);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 部门数据已变更：在事务提交后(无事务时立即)重新加载快照并通知其他节点
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish();
+                }
+            });
+        } else {
+            publish();
+        }
+    }
+
+    private void publish() {
+        Long version = null;
+        try {
+            version = redisTemplate.opsForValue().increment(RedisConstants.DEPT_SNAPSHOT_VERSION_KEY);
+        } catch (Exception e) {
+            log.error("部门快照版本号递增失败，仅重新加载本节点快照", e);
+        }
+        synchronized (this) {
+            load(version != null ? version : (snapshot != null ? snapshot.version() + 1 : 1L));
+        }
+        if (version != null) {
+            redisTemplate.convertAndSend(RedisConstants.DEPT_CHANGE_TOPIC, version);
+        }
+    }
+
+    /**
+     * 接收部门数据变更消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        Long version = Convert.toLong(body);
+        if (version == null) {
+            return;
+        }
+        synchronized (this) {
+            // 未加载过快照时等首次访问再加载
+            if (snapshot != null && version > snapshot.version()) {
+                load(version);
+            }
+        }
+    }
+
+    /**
+     * 从数据库加载快照，调用方需持有锁
+     */
+    private Snapshot load(long version) {
+        long start = System.currentTimeMillis();
+        Snapshot loaded = new Snapshot(version, deptMapper.listAllDepts());
+        snapshot = loaded;
+        log.info("部门快照已加载，版本：{}，部门数：{}，耗时：{}ms", version, loaded.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * 部门快照(不可变)
+     * <p>
+     * 部门按树的先序遍历顺序存放，同级部门按排序号排列；每个部门的子树在先序数组中是连续区间，
+     * 因此父子关系和后代集合只需保存父节点下标和子树结束下标，后代集合按需转为位图。
+     * 缓存的部门树为共享实例，调用方不应修改。
+     */
+    public static final class Snapshot {
+
+        private final long version;
+
+        /**
+         * 先序遍历顺序的部门
+         */
+        private final Dept[] depts;
+
+        /**
+         * 父部门下标，父部门不在快照中时为 -1
+         */
+        private final int[] parents;
+
+        /**
+         * 子树结束下标(不含)，子树为 [i, subtreeEnds[i])
+         */
+        private final int[] subtreeEnds;
+
+        private final Map<Long, Integer> indexById;
+
+        private final Map<Object, Object> treeCache = new HashMap<>();
+
+        Snapshot(long version, List<Dept> deptList) {
+            this.version = version;
+            int size = deptList.size();
+            this.depts = new Dept[size];
+            this.parents = new int[size];
+            this.subtreeEnds = new int[size];
+            this.indexById = new HashMap<>(size * 4 / 3 + 1);
+
+            // 父部门ID -> 子部门(保持排序号顺序)
+            Map<Long, List<Dept>> childrenByParentId = new LinkedHashMap<>();
+            Map<Long, Dept> deptById = new HashMap<>(size * 4 / 3 + 1);
+            for (Dept dept : deptList) {
+                deptById.put(dept.getId(), dept);
+                childrenByParentId.computeIfAbsent(dept.getParentId(), key -> new ArrayList<>()).add(dept);
+            }
+
+            // 父部门不在快照中的部门作为根节点，随后兜底处理成环等无法从根节点到达的部门
+            int position = 0;
+            for (Dept dept : deptList) {
+                if (!deptById.containsKey(dept.getParentId())) {
+                    position = traverse(dept, -1, position, childrenByParentId);
+                }
+            }
+            for (Dept dept : deptList) {
+                if (!indexById.containsKey(dept.getId())) {
+                    position = traverse(dept, -1, position, childrenByParentId);
+                }
+            }
+        }
+
+        /**
+         * 非递归先序遍历，返回下一个可用下标
+         */
+        private int traverse(Dept root, int parentIndex, int position, Map<Long, List<Dept>> childrenByParentId) {
+            Deque<Integer> stack = new ArrayDeque<>();
+            Deque<Iterator<Dept>> iterators = new ArrayDeque<>();
+
+            position = visit(root, parentIndex, position);
+            stack.push(position - 1);
+            iterators.push(childrenByParentId.getOrDefault(root.getId(), Collections.emptyList()).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Dept> iterator = iterators.peek();
+                if (iterator.hasNext()) {
+                    Dept child = iterator.next();
+                    if (indexById.containsKey(child.getId())) {
+                        continue;
+                    }
+                    position = visit(child, stack.peek(), position);
+                    stack.push(position - 1);
+                    iterators.push(childrenByParentId.getOrDefault(child.getId(), Collections.emptyList()).iterator());
+                } else {
+                    subtreeEnds[stack.pop()] = position;
+                    iterators.pop();
+                }
+            }
+            return position;
+        }
+
+        private int visit(Dept dept, int parentIndex, int position) {
+            depts[position] = dept;
+            parents[position] = parentIndex;
+            indexById.put(dept.getId(), position);
+            return position + 1;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public int size() {
+            return depts.length;
+        }
+
+        /**
+         * 全部部门位图
+         */
+        public BitSet all() {
+            BitSet bits = new BitSet(depts.length);
+            bits.set(0, depts.length);
+            return bits;
+        }
+
+        /**
+         * 部门自身位图
+         */
+        public BitSet self(Long deptId) {
+            BitSet bits = new BitSet(depts.length);
+            Integer index = deptId != null ? indexById.get(deptId) : null;
+            if (index != null) {
+                bits.set(index);
+            }
+            return bits;
+        }
+
+        /**
+         * 部门及其所有子部门位图
+         */
+        public BitSet descendants(Long deptId) {
+            BitSet bits = new BitSet(depts.length);
+            Integer index = deptId != null ? indexById.get(deptId) : null;
+            if (index != null) {
+                bits.set(index, subtreeEnds[index]);
+            }
+            return bits;
+        }
+
+        /**
+         * 在范围内筛选满足条件的部门位图
+         *
+         * @param scope     可见范围
+         * @param predicate 筛选条件
+         */
+        public BitSet filter(BitSet scope, Predicate<Dept> predicate) {
+            BitSet bits = new BitSet(depts.length);
+            for (int i = scope.nextSetBit(0); i >= 0; i = scope.nextSetBit(i + 1)) {
+                if (predicate.test(depts[i])) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * 补充匹配部门在可见范围内的祖先部门，保持匹配结果在树中的层级
+         *
+         * @param matched 匹配的部门位图
+         * @param scope   可见范围
+         * @return 匹配部门及其祖先部门位图
+         */
+        public BitSet withAncestors(BitSet matched, BitSet scope) {
+            BitSet bits = (BitSet) matched.clone();
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                // 遇到已加入的祖先即停止，每个部门最多被加入一次
+                for (int p = parents[i]; p >= 0 && !bits.get(p) && scope.get(p); p = parents[p]) {
+                    bits.set(p);
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * 组装部门树
+         * <p>
+         * 父部门在位图中的作为其子节点，否则作为根节点；按先序顺序一次遍历完成
+         *
+         * @param included       包含的部门位图
+         * @param mapper         部门转换
+         * @param childrenSetter 设置子节点(无子节点时传入空列表)
+         */
+        @SuppressWarnings("unchecked")
+        public <T> List<T> assemble(BitSet included, Function<Dept, T> mapper, BiConsumer<T, List<T>> childrenSetter) {
+            Object[] nodes = new Object[depts.length];
+            List<T>[] children = new List[depts.length];
+            List<T> roots = new ArrayList<>();
+            for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+                T node = mapper.apply(depts[i]);
+                nodes[i] = node;
+                children[i] = new ArrayList<>();
+                int parent = parents[i];
+                if (parent >= 0 && included.get(parent)) {
+                    children[parent].add(node);
+                } else {
+                    roots.add(node);
+                }
+            }
+            for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+                childrenSetter.accept((T) nodes[i], children[i]);
+            }
+            return roots;
+        }
+
+        /**
+         * 获取缓存的部门树，未缓存时组装并缓存到本快照
+         *
+         * @param key      缓存键
+         * @param supplier 组装部门树
+         */
+        @SuppressWarnings("unchecked")
+        public synchronized <T> List<T> cached(Object key, Supplier<List<T>> supplier) {
+            return (List<T>) treeCache.computeIfAbsent(key, k -> Collections.unmodifiableList(supplier.get()));
+        }
+    }
+}
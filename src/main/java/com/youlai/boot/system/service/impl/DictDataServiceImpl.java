@@ -12,6 +12,8 @@ import com.youlai.boot.system.model.query.DictDataPageQuery;
 import com.youlai.boot.system.model.query.DictPageQuery;
 import com.youlai.boot.system.model.vo.DictDataPageVO;
 import com.youlai.boot.system.service.DictDataService;
+import com.youlai.boot.core.web.DataVersionManager;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +32,8 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
 
     private final DictDataConverter dictDataConverter;
 
+    private final DataVersionManager dataVersionManager;
+
     /**
      * 获取字典数据分页列表
      *
@@ -66,7 +70,11 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
     @Override
     public boolean saveDictData(DictDataForm formData) {
         DictData entity = dictDataConverter.toEntity(formData);
-        return this.save(entity);
+        boolean result = this.save(entity);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.DICT);
+        }
+        return result;
     }
 
     /**
@@ -78,7 +86,11 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
     @Override
     public boolean updateDictData(DictDataForm formData) {
         DictData entity = dictDataConverter.toEntity(formData);
-        return this.updateById(entity);
+        boolean result = this.updateById(entity);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.DICT);
+        }
+        return result;
     }
 
     /**
@@ -90,6 +102,7 @@ public class DictDataServiceImpl extends ServiceImpl<DictDataMapper, DictData> i
     public void deleteDictDataByIds(String ids) {
         List<Long> idList = Arrays.stream(ids.split(",")).map(Long::parseLong).toList();
         this.removeByIds(idList);
+        dataVersionManager.bump(DataDomainEnum.DICT);
     }
 
     /**
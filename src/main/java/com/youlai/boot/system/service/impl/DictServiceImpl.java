@@ -16,6 +16,8 @@ import com.youlai.boot.system.model.vo.DictPageVO;
 import com.youlai.boot.system.model.vo.DictVO;
 import com.youlai.boot.system.service.DictDataService;
 import com.youlai.boot.system.service.DictService;
+import com.youlai.boot.core.web.DataVersionManager;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,6 +38,8 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
     private final DictConverter dictConverter;
     private final DictDataConverter dictDataConverter;
 
+    private final DataVersionManager dataVersionManager;
+
     /**
      * 字典分页列表
      *
@@ -70,7 +74,11 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
 
         Assert.isTrue(count == 0, "字典编码已存在");
 
-        return this.save(entity);
+        boolean result = this.save(entity);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.DICT);
+        }
+        return result;
     }
 
 
@@ -110,7 +118,11 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
             throw new BusinessException("字典编码已存在");
         }
 
-        return this.updateById(entity);
+        boolean result = this.updateById(entity);
+        if (result) {
+            dataVersionManager.bump(DataDomainEnum.DICT);
+        }
+        return result;
     }
 
     /**
@@ -135,6 +147,7 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
 
             }
         }
+        dataVersionManager.bump(DataDomainEnum.DICT);
     }
 
         /**
@@ -0,0 +1,230 @@
+package com.youlai.boot.system.service.impl;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.core.text.csv.CsvWriter;
+import cn.hutool.core.util.ReUtil;
+import cn.hutool.core.util.StrUtil;
+import com.youlai.boot.common.constant.SystemConstants;
+import com.youlai.boot.config.property.LogProperties;
+import com.youlai.boot.core.log.index.LogSearchIndex;
+import com.youlai.boot.system.mapper.LogMapper;
+import com.youlai.boot.system.model.entity.Log;
+import com.youlai.boot.system.service.ConfigService;
+import com.youlai.boot.system.service.LogPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 系统日志分区 服务实现类
+ * <p>
+ * sys_log 按 create_time 以月为单位 RANGE 分区，分区名为 pyyyyMM，末尾保留 MAXVALUE 分区 pmax。
+ * 新分区通过拆分空的 pmax 创建；过期分区先导出为 gzip 压缩的 CSV 文件，再整体删除分区，
+ * 不执行逐行 DELETE，清理一个月的日志只是一次元数据操作。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogPartitionServiceImpl implements LogPartitionService {
+
+    private static final String MAX_PARTITION = "pmax";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("^p(\\d{6})$");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * 永久保留时，首次分区最多按月拆分的历史月数，更早的日志归入第一个分区
+     */
+    private static final int MAX_HISTORY_MONTHS = 12;
+
+    private static final String[] ARCHIVE_HEADER = {
+            "id", "module", "request_method", "request_params", "response_content", "content", "request_uri",
+            "ip", "province", "city", "execution_time", "browser", "browser_version", "os", "create_by", "create_time"
+    };
+
+    private final LogMapper logMapper;
+    private final ConfigService configService;
+    private final LogProperties logProperties;
+    private final LogSearchIndex logSearchIndex;
+
+    /**
+     * 维护日志分区
+     */
+    @Override
+    public synchronized void maintainPartitions() {
+        List<String> partitions = logMapper.listPartitions();
+        if (!partitions.contains(MAX_PARTITION)) {
+            log.warn("sys_log 未按月分区，跳过分区维护，请先执行分区迁移脚本 sys_log_partition.sql");
+            return;
+        }
+        List<YearMonth> months = partitions.stream()
+                .map(LogPartitionServiceImpl::parseMonth)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+        int retentionMonths = getRetentionMonths();
+        createPartitions(months, retentionMonths);
+        purgeExpiredPartitions(months, retentionMonths);
+    }
+
+    /**
+     * 获取日志保留月数
+     */
+    @Override
+    public int getRetentionMonths() {
+        Object value = configService.getSystemConfig(SystemConstants.SYSTEM_CONFIG_LOG_RETENTION_MONTHS_KEY);
+        return Convert.toInt(value, 0);
+    }
+
+    /**
+     * 创建当前月至未来若干月的分区
+     * <p>
+     * 首次分区时从最早的日志月份开始拆分，受保留月数限制，更早的日志归入第一个分区
+     */
+    private void createPartitions(List<YearMonth> months, int retentionMonths) {
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth endMonth = currentMonth.plusMonths(Math.max(0, logProperties.getPartition().getPrecreateMonths()));
+
+        YearMonth startMonth;
+        if (months.isEmpty()) {
+            LocalDateTime earliestTime = logMapper.getEarliestCreateTime();
+            startMonth = earliestTime != null && earliestTime.isBefore(currentMonth.atDay(1).atStartOfDay())
+                    ? YearMonth.from(earliestTime)
+                    : currentMonth;
+            YearMonth floorMonth = currentMonth.minusMonths(retentionMonths > 0 ? retentionMonths : MAX_HISTORY_MONTHS);
+            if (startMonth.isBefore(floorMonth)) {
+                startMonth = floorMonth;
+            }
+        } else {
+            startMonth = months.get(months.size() - 1).plusMonths(1);
+        }
+        if (startMonth.isAfter(endMonth)) {
+            return;
+        }
+
+        Map<String, String> partitions = new LinkedHashMap<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            partitions.put(partitionName(month), month.plusMonths(1).atDay(1).toString());
+        }
+        logMapper.addPartitions(partitions);
+        log.info("创建日志分区：{}", partitions.keySet());
+    }
+
+    /**
+     * 归档并删除超过保留月数的分区
+     */
+    private void purgeExpiredPartitions(List<YearMonth> months, int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth expireBefore = YearMonth.now().minusMonths(retentionMonths);
+        for (YearMonth month : months) {
+            if (!month.isBefore(expireBefore)) {
+                break;
+            }
+            String partition = partitionName(month);
+            if (logProperties.getPartition().isArchiveEnabled() && !archivePartition(partition)) {
+                // 归档失败时保留分区，下次任务重试
+                continue;
+            }
+            logMapper.dropPartition(partition);
+            log.info("删除过期日志分区：{}", partition);
+            logSearchIndex.purgeBefore(month.plusMonths(1).atDay(1).atStartOfDay());
+        }
+    }
+
+    /**
+     * 将分区中的日志导出为 gzip 压缩的 CSV 文件
+     * <p>
+     * 先写入临时文件，完成后再重命名，避免留下不完整的归档文件
+     *
+     * @return 是否归档成功
+     */
+    private boolean archivePartition(String partition) {
+        LogProperties.PartitionProperties partitionProperties = logProperties.getPartition();
+        int batchSize = Math.max(1, partitionProperties.getArchiveBatchSize());
+        try {
+            Path archiveDir = Paths.get(partitionProperties.getArchivePath());
+            Files.createDirectories(archiveDir);
+            Path archiveFile = archiveDir.resolve("sys_log_" + partition + ".csv.gz");
+            Path tempFile = archiveDir.resolve(archiveFile.getFileName() + ".tmp");
+
+            long count = 0;
+            try (CsvWriter csvWriter = CsvUtil.getWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tempFile)), StandardCharsets.UTF_8))) {
+                csvWriter.writeHeaderLine(ARCHIVE_HEADER);
+                Long lastId = null;
+                while (true) {
+                    List<Log> logs = logMapper.listPartitionLogs(partition, lastId, batchSize);
+                    for (Log item : logs) {
+                        csvWriter.writeLine(toArchiveRow(item));
+                    }
+                    count += logs.size();
+                    if (logs.size() < batchSize) {
+                        break;
+                    }
+                    lastId = logs.get(logs.size() - 1).getId();
+                }
+            }
+            Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("归档日志分区：{}，记录数：{}，文件：{}", partition, count, archiveFile.toAbsolutePath());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("归档日志分区失败：{}", partition, e);
+            return false;
+        }
+    }
+
+    private static String[] toArchiveRow(Log item) {
+        return new String[]{
+                StrUtil.toStringOrNull(item.getId()),
+                item.getModule() != null ? item.getModule().name() : null,
+                item.getRequestMethod(),
+                item.getRequestParams(),
+                item.getResponseContent(),
+                item.getContent(),
+                item.getRequestUri(),
+                item.getIp(),
+                item.getProvince(),
+                item.getCity(),
+                StrUtil.toStringOrNull(item.getExecutionTime()),
+                item.getBrowser(),
+                item.getBrowserVersion(),
+                item.getOs(),
+                StrUtil.toStringOrNull(item.getCreateBy()),
+                StrUtil.toStringOrNull(item.getCreateTime())
+        };
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(MONTH_FORMATTER);
+    }
+
+    /**
+     * 解析月份分区名称，非月份分区返回 null
+     */
+    private static YearMonth parseMonth(String partition) {
+        String month = ReUtil.get(MONTH_PARTITION, partition, 1);
+        return month != null ? YearMonth.parse(month, MONTH_FORMATTER) : null;
+    }
+}
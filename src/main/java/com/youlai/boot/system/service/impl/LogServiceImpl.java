@@ -1,24 +1,29 @@
 package com.youlai.boot.system.service.impl;
 
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.common.base.CursorPage;
+import com.youlai.boot.common.enums.LogModuleEnum;
+import com.youlai.boot.core.log.index.LogSearchIndex;
 import com.youlai.boot.system.mapper.LogMapper;
-import com.youlai.boot.system.model.bo.VisitCount;
-import com.youlai.boot.system.model.bo.VisitStatsBO;
 import com.youlai.boot.system.model.entity.Log;
 import com.youlai.boot.system.model.query.LogPageQuery;
 import com.youlai.boot.system.model.vo.LogPageVO;
 import com.youlai.boot.system.model.vo.VisitStatsVO;
 import com.youlai.boot.system.model.vo.VisitTrendVO;
 import com.youlai.boot.system.service.LogService;
+import com.youlai.boot.system.service.VisitStatsService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 系统日志 服务实现类
@@ -27,9 +32,13 @@ import java.util.stream.Collectors;
  * @since 2.10.0
  */
 @Service
+@RequiredArgsConstructor
 public class LogServiceImpl extends ServiceImpl<LogMapper, Log>
         implements LogService {
 
+    private final VisitStatsService visitStatsService;
+    private final LogSearchIndex logSearchIndex;
+
     /**
      * 获取日志分页列表
      *
@@ -38,8 +47,55 @@ public class LogServiceImpl extends ServiceImpl<LogMapper, Log>
      */
     @Override
     public Page<LogPageVO> getLogPage(LogPageQuery queryParams) {
-        return this.baseMapper.getLogPage(new Page<>(queryParams.getPageNum(), queryParams.getPageSize()),
-                queryParams);
+        Page<LogPageVO> logPage = CursorPage.of(queryParams);
+        // 关键字优先走检索索引，命中的一页ID再回表查询；索引不可用时使用 LIKE 查询
+        List<String> createTime = queryParams.getCreateTime();
+        LogSearchIndex.SearchResult searchResult = logSearchIndex.search(
+                queryParams.getKeywords(),
+                parseTime(createTime, 0, " 00:00:00"),
+                parseTime(createTime, 1, " 23:59:59"),
+                queryParams.getSeek(),
+                logPage.offset(),
+                logPage.getSize()
+        );
+        if (searchResult == null) {
+            logPage = this.baseMapper.getLogPage(logPage, queryParams, matchModules(queryParams.getKeywords()));
+        } else {
+            List<Long> ids = searchResult.ids();
+            logPage.setRecords(ids.isEmpty() ? new ArrayList<>() : this.baseMapper.listLogsByIds(ids));
+            if (logPage.searchCount()) {
+                logPage.setTotal(searchResult.total());
+            }
+        }
+        CursorPage.complete(logPage, LogPageVO::getCreateTime, LogPageVO::getId);
+        return logPage;
+    }
+
+    /**
+     * 编码或名称包含关键字(忽略大小写)的日志模块，与检索索引对日志模块的匹配一致
+     */
+    private static List<LogModuleEnum> matchModules(String keywords) {
+        if (StrUtil.isBlank(keywords)) {
+            return List.of();
+        }
+        return Arrays.stream(LogModuleEnum.values())
+                .filter(module -> StrUtil.containsIgnoreCase(module.name(), keywords)
+                        || StrUtil.containsIgnoreCase(module.getModuleName(), keywords))
+                .toList();
+    }
+
+    /**
+     * 解析操作时间范围，只有日期时补全时间，与 SQL 查询的处理一致
+     */
+    private static LocalDateTime parseTime(List<String> createTime, int index, String defaultTime) {
+        if (createTime == null || createTime.size() <= index || StrUtil.isBlank(createTime.get(index))) {
+            return null;
+        }
+        String value = createTime.get(index);
+        if (value.length() == 10) {
+            value += defaultTime;
+        }
+        return LocalDateTimeUtil.parse(value, DatePattern.NORM_DATETIME_PATTERN);
     }
 
     /**
@@ -47,41 +103,11 @@ public class LogServiceImpl extends ServiceImpl<LogMapper, Log>
      *
      * @param startDate 开始时间
      * @param endDate   结束时间
-     * @return
+     * @return 访问趋势
      */
     @Override
     public VisitTrendVO getVisitTrend(LocalDate startDate, LocalDate endDate) {
-        VisitTrendVO visitTrend = new VisitTrendVO();
-        List<String> dates = new ArrayList<>();
-
-        // 获取日期范围内的日期
-        while (!startDate.isAfter(endDate)) {
-            dates.add(startDate.toString());
-            startDate = startDate.plusDays(1);
-        }
-        visitTrend.setDates(dates);
-
-        // 获取访问量和访问 IP 数的统计数据
-        List<VisitCount> pvCounts = this.baseMapper.getPvCounts(dates.get(0) + " 00:00:00", dates.get(dates.size() - 1) + " 23:59:59");
-        List<VisitCount> ipCounts = this.baseMapper.getIpCounts(dates.get(0) + " 00:00:00", dates.get(dates.size() - 1) + " 23:59:59");
-
-        // 将统计数据转换为 Map
-        Map<String, Integer> pvMap = pvCounts.stream().collect(Collectors.toMap(VisitCount::getDate, VisitCount::getCount));
-        Map<String, Integer> ipMap = ipCounts.stream().collect(Collectors.toMap(VisitCount::getDate, VisitCount::getCount));
-
-        // 匹配日期和访问量/访问 IP 数
-        List<Integer> pvList = new ArrayList<>();
-        List<Integer> ipList = new ArrayList<>();
-
-        for (String date : dates) {
-            pvList.add(pvMap.getOrDefault(date, 0));
-            ipList.add(ipMap.getOrDefault(date, 0));
-        }
-
-        visitTrend.setPvList(pvList);
-        visitTrend.setIpList(ipList);
-
-        return visitTrend;
+        return visitStatsService.getVisitTrend(startDate, endDate);
     }
 
     /**
@@ -89,29 +115,7 @@ public class LogServiceImpl extends ServiceImpl<LogMapper, Log>
      */
     @Override
     public VisitStatsVO getVisitStats() {
-        VisitStatsVO result = new VisitStatsVO();
-
-        // 访客数统计(UV)
-        VisitStatsBO uvStats = this.baseMapper.getUvStats();
-        if(uvStats!=null){
-            result.setTodayUvCount(uvStats.getTodayCount());
-            result.setTotalUvCount(uvStats.getTotalCount());
-            result.setUvGrowthRate(uvStats.getGrowthRate());
-        }
-
-        // 浏览量统计(PV)
-        VisitStatsBO pvStats = this.baseMapper.getPvStats();
-        if(pvStats!=null){
-            result.setTodayPvCount(pvStats.getTodayCount());
-            result.setTotalPvCount(pvStats.getTotalCount());
-            result.setPvGrowthRate(pvStats.getGrowthRate());
-        }
-
-        return result;
+        return visitStatsService.getVisitStats();
     }
 
 }
-
-
-
-
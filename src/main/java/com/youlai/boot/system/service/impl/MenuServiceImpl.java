@@ -8,8 +8,11 @@ import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.youlai.boot.common.result.Result;
+import com.youlai.boot.core.security.model.PrincipalSnapshot;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.system.converter.MenuConverter;
 import com.youlai.boot.system.mapper.MenuMapper;
@@ -26,9 +29,10 @@ import com.youlai.boot.common.model.KeyValue;
 import com.youlai.boot.common.model.Option;
 import com.youlai.boot.system.service.MenuService;
 import com.youlai.boot.system.service.RoleMenuService;
+import com.youlai.boot.core.web.DataVersionManager;
+import com.youlai.boot.common.enums.DataDomainEnum;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -48,6 +52,12 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
 
     private final RoleMenuService roleMenuService;
 
+    private final MenuSnapshotHolder menuSnapshotHolder;
+
+    private final DataVersionManager dataVersionManager;
+
+    private final ObjectMapper objectMapper;
+
 
     /**
      * 菜单列表
@@ -143,47 +153,36 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      */
     @Override
     public List<RouteVO> getCurrentUserRoutes() {
+        MenuSnapshotHolder.RouteTree routeTree = getCurrentUserRouteTree();
+        return routeTree != null ? routeTree.routes() : Collections.emptyList();
+    }
 
-        Set<String> roleCodes = SecurityUtils.getRoles();
-
-        if (CollectionUtil.isEmpty(roleCodes)) {
-            return Collections.emptyList();
+    /**
+     * 获取菜单路由列表响应 JSON
+     */
+    @Override
+    public byte[] getCurrentUserRoutesJson() {
+        MenuSnapshotHolder.RouteTree routeTree = getCurrentUserRouteTree();
+        if (routeTree != null) {
+            return routeTree.json();
         }
-        List<Menu> menuList;
-        if (SecurityUtils.isRoot()) {
-            // 超级管理员获取所有菜单
-            menuList = this.list(new LambdaQueryWrapper<Menu>()
-                    .ne(Menu::getType, MenuTypeEnum.BUTTON.getValue())
-                    .orderByAsc(Menu::getSort)
-            );
-        } else {
-            menuList = this.baseMapper.getMenusByRoleCodes(roleCodes);
+        try {
+            return objectMapper.writeValueAsBytes(Result.success(Collections.emptyList()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("路由序列化失败", e);
         }
-        return buildRoutes(SystemConstants.ROOT_NODE_ID, menuList);
     }
 
     /**
-     * 递归生成菜单路由层级列表
-     *
-     * @param parentId 父级ID
-     * @param menuList 菜单列表
-     * @return 路由层级列表
+     * 获取当前用户角色集合对应的路由树(按角色集合缓存)
      */
-    private List<RouteVO> buildRoutes(Long parentId, List<Menu> menuList) {
-        List<RouteVO> routeList = new ArrayList<>();
-
-        for (Menu menu : menuList) {
-            if (menu.getParentId().equals(parentId)) {
-                RouteVO routeVO = toRouteVo(menu);
-                List<RouteVO> children = buildRoutes(menu.getId(), menuList);
-                if (!children.isEmpty()) {
-                    routeVO.setChildren(children);
-                }
-                routeList.add(routeVO);
-            }
+    private MenuSnapshotHolder.RouteTree getCurrentUserRouteTree() {
+        PrincipalSnapshot principal = SecurityUtils.getPrincipal();
+        if (principal == null || CollectionUtil.isEmpty(principal.getRoles())) {
+            return null;
         }
-
-        return routeList;
+        // 超级管理员获取所有菜单
+        return menuSnapshotHolder.getRouteTree(principal.getRolesKey(), principal.getRoles(), principal.isRoot(), this::toRouteVo);
     }
 
     /**
@@ -219,7 +218,6 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
         String paramsJson = menu.getParams();
         // 将 JSON 字符串转换为 Map<String, String>
         if (StrUtil.isNotBlank(paramsJson)) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
                 Map<String, String> paramMap = objectMapper.readValue(paramsJson, new TypeReference<>() {
                 });
@@ -236,7 +234,6 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      * 新增/修改菜单
      */
     @Override
-    @CacheEvict(cacheNames = "menu", key = "'routes'")
     public boolean saveMenu(MenuForm menuForm) {
 
         MenuTypeEnum menuType = menuForm.getType();
@@ -286,6 +283,8 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
         }
         // 修改菜单如果有子菜单，则更新子菜单的树路径
         updateChildrenTreePath(entity.getId(), treePath);
+        menuSnapshotHolder.invalidate();
+        dataVersionManager.bump(DataDomainEnum.MENU);
         return result;
     }
 
@@ -335,12 +334,14 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      * @return 是否修改成功
      */
     @Override
-    @CacheEvict(cacheNames = "menu", key = "'routes'")
     public boolean updateMenuVisible(Long menuId, Integer visible) {
-        return this.update(new LambdaUpdateWrapper<Menu>()
+        boolean result = this.update(new LambdaUpdateWrapper<Menu>()
                 .eq(Menu::getId, menuId)
                 .set(Menu::getVisible, visible)
         );
+        menuSnapshotHolder.invalidate();
+        dataVersionManager.bump(DataDomainEnum.MENU);
+        return result;
     }
 
     /**
@@ -357,7 +358,6 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
         // 路由参数字符串 {"id":"1","name":"张三"} 转换为 [{key:"id", value:"1"}, {key:"name", value:"张三"}]
         String params = entity.getParams();
         if (StrUtil.isNotBlank(params)) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
                 // 解析 JSON 字符串为 Map<String, String>
                 Map<String, String> paramMap = objectMapper.readValue(params, new TypeReference<>() {
@@ -385,7 +385,6 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
      * @return 是否删除成功
      */
     @Override
-    @CacheEvict(cacheNames = "menu", key = "'routes'")
     public boolean deleteMenu(Long id) {
         boolean result = this.remove(new LambdaQueryWrapper<Menu>()
                 .eq(Menu::getId, id)
@@ -397,6 +396,8 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
         if (result) {
             roleMenuService.refreshRolePermsCache();
         }
+        menuSnapshotHolder.invalidate();
+        dataVersionManager.bump(DataDomainEnum.MENU);
         return result;
 
     }
@@ -465,6 +466,8 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
                 button.setTreePath(treePath + "," + button.getId());
                 this.updateById(button);
             }
+            menuSnapshotHolder.invalidate();
+            dataVersionManager.bump(DataDomainEnum.MENU);
         }
     }
 
@@ -0,0 +1,227 @@
+package com.youlai.boot.system.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.common.constant.SystemConstants;
+import com.youlai.boot.common.result.Result;
+import com.youlai.boot.system.enums.MenuTypeEnum;
+import com.youlai.boot.system.mapper.MenuMapper;
+import com.youlai.boot.system.mapper.RoleMenuMapper;
+import com.youlai.boot.system.model.bo.RoleMenusBO;
+import com.youlai.boot.system.model.entity.Menu;
+import com.youlai.boot.system.model.vo.RouteVO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 菜单路由快照
+ * <p>
+ * 在内存中持有全部目录/菜单/外链及启用角色的菜单授权，路由树按角色编码集合(已排序)缓存，
+ * 同时缓存序列化后的响应 JSON，获取路由时无需查询数据库和重复序列化。
+ * 菜单或角色授权变更后(事务提交后)丢弃快照，并通过 Redis 发布订阅通知其他节点，下次访问时重新加载。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuSnapshotHolder implements MessageListener {
+
+    /**
+     * 超级管理员路由树缓存键
+     */
+    private static final String ROOT_KEY = "*";
+
+    private final MenuMapper menuMapper;
+    private final RoleMenuMapper roleMenuMapper;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 失效次数，加载期间发生失效时丢弃加载结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 订阅菜单路由缓存失效消息
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.MENU_ROUTES_EVICT_TOPIC));
+    }
+
+    /**
+     * 获取路由树
+     *
+     * @param rolesKey  已排序的角色编码集合键
+     * @param roleCodes 角色编码集合
+     * @param root      是否超级管理员(获取所有菜单)
+     * @param converter 菜单转换为路由
+     * @return 路由树
+     */
+    public RouteTree getRouteTree(String rolesKey, Set<String> roleCodes, boolean root, Function<Menu, RouteVO> converter) {
+        Snapshot current = get();
+        String key = root ? ROOT_KEY : rolesKey;
+        return current.routeTrees.computeIfAbsent(key, k -> {
+            Predicate<Long> included;
+            if (root) {
+                included = menuId -> true;
+            } else {
+                Set<Long> menuIds = new HashSet<>();
+                for (String roleCode : roleCodes) {
+                    menuIds.addAll(current.menuIdsByRoleCode.getOrDefault(roleCode, Collections.emptySet()));
+                }
+                included = menuIds::contains;
+            }
+            List<RouteVO> routes = Collections.unmodifiableList(current.buildRoutes(SystemConstants.ROOT_NODE_ID, included, converter));
+            try {
+                return new RouteTree(routes, objectMapper.writeValueAsBytes(Result.success(routes)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("路由序列化失败", e);
+            }
+        });
+    }
+
+    /**
+     * 丢弃快照：在事务提交后(无事务时立即)清除本节点并通知其他节点
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish();
+                }
+            });
+        } else {
+            publish();
+        }
+    }
+
+    private void publish() {
+        invalidateLocal();
+        redisTemplate.convertAndSend(RedisConstants.MENU_ROUTES_EVICT_TOPIC, "routes");
+    }
+
+    private void invalidateLocal() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * 接收菜单路由缓存失效消息
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateLocal();
+        log.debug("菜单路由缓存失效");
+    }
+
+    private Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long loadingGeneration = generation.get();
+            List<Menu> menus = menuMapper.selectList(new LambdaQueryWrapper<Menu>()
+                    .ne(Menu::getType, MenuTypeEnum.BUTTON.getValue())
+                    .orderByAsc(Menu::getSort)
+            );
+            current = new Snapshot(menus, roleMenuMapper.listRoleMenus());
+            if (loadingGeneration == generation.get()) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 路由树及其序列化后的响应
+     *
+     * @param routes 路由树(共享实例，调用方不应修改)
+     * @param json   {@code Result.success(routes)} 序列化后的 JSON
+     */
+    public record RouteTree(List<RouteVO> routes, byte[] json) {
+    }
+
+    /**
+     * 菜单快照
+     */
+    private static final class Snapshot {
+
+        /**
+         * 父菜单ID -> 子菜单(按排序号排列)
+         */
+        private final Map<Long, List<Menu>> childrenByParentId = new LinkedHashMap<>();
+
+        /**
+         * 角色编码 -> 菜单ID集合
+         */
+        private final Map<String, Set<Long>> menuIdsByRoleCode = new HashMap<>();
+
+        /**
+         * 角色编码集合键 -> 路由树
+         */
+        private final Map<String, RouteTree> routeTrees = new ConcurrentHashMap<>();
+
+        Snapshot(List<Menu> menus, List<RoleMenusBO> roleMenus) {
+            for (Menu menu : menus) {
+                childrenByParentId.computeIfAbsent(menu.getParentId(), key -> new ArrayList<>()).add(menu);
+            }
+            for (RoleMenusBO roleMenu : roleMenus) {
+                menuIdsByRoleCode.put(roleMenu.getRoleCode(), roleMenu.getMenuIds());
+            }
+        }
+
+        /**
+         * 生成路由层级列表，只包含授权的菜单及其父菜单同样授权的子菜单
+         */
+        List<RouteVO> buildRoutes(Long parentId, Predicate<Long> included, Function<Menu, RouteVO> converter) {
+            List<RouteVO> routeList = new ArrayList<>();
+            for (Menu menu : childrenByParentId.getOrDefault(parentId, Collections.emptyList())) {
+                if (included.test(menu.getId())) {
+                    RouteVO routeVO = converter.apply(menu);
+                    List<RouteVO> children = buildRoutes(menu.getId(), included, converter);
+                    if (!children.isEmpty()) {
+                        routeVO.setChildren(children);
+                    }
+                    routeList.add(routeVO);
+                }
+            }
+            return routeList;
+        }
+    }
+}
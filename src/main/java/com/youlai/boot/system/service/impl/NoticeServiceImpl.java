@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.common.base.CursorPage;
 import com.youlai.boot.common.exception.BusinessException;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.shared.websocket.service.OnlineUserService;
@@ -67,10 +68,11 @@ public class NoticeServiceImpl extends ServiceImpl<NoticeMapper, Notice> impleme
     @Override
     public IPage<NoticePageVO> getNoticePage(NoticePageQuery queryParams) {
         Page<NoticeBO> noticePage = this.baseMapper.getNoticePage(
-                new Page<>(queryParams.getPageNum(), queryParams.getPageSize()),
+                CursorPage.of(queryParams),
                 queryParams
         );
-        return noticeConverter.toPageVo(noticePage);
+        CursorPage.complete(noticePage, NoticeBO::getCreateTime, NoticeBO::getId);
+        return noticePage.convert(noticeConverter::toPageVo);
     }
 
     /**
@@ -294,10 +296,12 @@ public class NoticeServiceImpl extends ServiceImpl<NoticeMapper, Notice> impleme
     @Override
     public IPage<UserNoticePageVO> getMyNoticePage(NoticePageQuery queryParams) {
         queryParams.setUserId(SecurityUtils.getUserId());
-        return userNoticeService.getMyNoticePage(
-                new Page<>(queryParams.getPageNum(), queryParams.getPageSize()),
+        IPage<UserNoticePageVO> noticePage = userNoticeService.getMyNoticePage(
+                CursorPage.of(queryParams),
                 queryParams
         );
+        CursorPage.complete(noticePage, UserNoticePageVO::getPublishTime, UserNoticePageVO::getId);
+        return noticePage;
     }
 
 }
@@ -1,20 +1,34 @@
 package com.youlai.boot.system.service.impl;
 
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.IdUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.youlai.boot.system.mapper.RoleMenuMapper;
 import com.youlai.boot.system.model.bo.RolePermsBO;
 import com.youlai.boot.system.model.entity.RoleMenu;
+import com.youlai.boot.common.constant.RedisConstants;
 import com.youlai.boot.common.constant.SecurityConstants;
+import com.youlai.boot.core.security.service.PermissionService;
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
 import com.youlai.boot.system.service.RoleMenuService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 
 /**
@@ -26,37 +40,133 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> implements RoleMenuService {
+public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> implements RoleMenuService, RuntimeStatsContributor {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder roleRefreshes = new LongAdder();
+    private final AtomicLong maxRebuildMillis = new AtomicLong();
+    private final AtomicLong maxRefreshMillis = new AtomicLong();
+    private volatile int lastRebuildRoles;
+    private volatile long lastRebuildMillis;
+    private volatile int lastRefreshChanged;
+    private volatile int lastRefreshRemoved;
+    private volatile long lastRefreshMillis;
+
     /**
      * 初始化权限缓存
      */
     @PostConstruct
     public void initRolePermsCache() {
         log.info("初始化权限缓存... ");
-        refreshRolePermsCache();
+        rebuildRolePermsCache();
+    }
+
+    /**
+     * 重建权限缓存
+     * <p>
+     * 新的权限映射先通过一次 HSET 写入临时键，再与 RENAME 在同一管道中提交，原子替换旧缓存
+     */
+    @Override
+    public void rebuildRolePermsCache() {
+        long startTime = System.currentTimeMillis();
+        Map<String, Set<String>> rolePermsMap = listRolePerms();
+
+        if (rolePermsMap.isEmpty()) {
+            redisTemplate.delete(SecurityConstants.ROLE_PERMS_PREFIX);
+        } else {
+            // 临时键带随机后缀，避免多个节点同时重建时相互覆盖
+            String stagingKey = SecurityConstants.ROLE_PERMS_PREFIX + "staging:" + IdUtil.fastSimpleUUID();
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHash().putAll(stagingKey, rolePermsMap);
+                    operations.rename(stagingKey, SecurityConstants.ROLE_PERMS_PREFIX);
+                    return null;
+                }
+            });
+        }
+        publishRolePermsChange(PermissionService.ALL_ROLES);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        rebuilds.increment();
+        lastRebuildRoles = rolePermsMap.size();
+        lastRebuildMillis = elapsed;
+        maxRebuildMillis.accumulateAndGet(elapsed, Math::max);
+        log.info("权限缓存重建完成，角色数：{}，耗时：{} ms", rolePermsMap.size(), elapsed);
     }
 
     /**
      * 刷新权限缓存
+     * <p>
+     * 对比缓存中的角色权限与数据库中的最新数据，只删除、写入发生变化的角色
      */
     @Override
     public void refreshRolePermsCache() {
-        // 清理权限缓存
-        redisTemplate.opsForHash().delete(SecurityConstants.ROLE_PERMS_PREFIX, "*");
+        long startTime = System.currentTimeMillis();
+        Map<String, Set<String>> rolePermsMap = listRolePerms();
+        Map<Object, Object> cachedRolePermsMap = redisTemplate.opsForHash().entries(SecurityConstants.ROLE_PERMS_PREFIX);
+
+        // 已移除的角色
+        List<Object> removedRoleCodes = cachedRolePermsMap.keySet().stream()
+                .filter(roleCode -> !rolePermsMap.containsKey(roleCode))
+                .collect(Collectors.toList());
+        // 新增或权限变化的角色
+        Map<String, Set<String>> changedRolePermsMap = new HashMap<>();
+        rolePermsMap.forEach((roleCode, perms) -> {
+            Object cachedPerms = cachedRolePermsMap.get(roleCode);
+            if (!(cachedPerms instanceof Collection<?> cached) || !perms.equals(new HashSet<>(cached))) {
+                changedRolePermsMap.put(roleCode, perms);
+            }
+        });
+
+        if (!removedRoleCodes.isEmpty() || !changedRolePermsMap.isEmpty()) {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    if (!removedRoleCodes.isEmpty()) {
+                        operations.opsForHash().delete(SecurityConstants.ROLE_PERMS_PREFIX, removedRoleCodes.toArray());
+                    }
+                    if (!changedRolePermsMap.isEmpty()) {
+                        operations.opsForHash().putAll(SecurityConstants.ROLE_PERMS_PREFIX, changedRolePermsMap);
+                    }
+                    return null;
+                }
+            });
+            removedRoleCodes.forEach(roleCode -> publishRolePermsChange((String) roleCode));
+            changedRolePermsMap.keySet().forEach(this::publishRolePermsChange);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        refreshes.increment();
+        lastRefreshChanged = changedRolePermsMap.size();
+        lastRefreshRemoved = removedRoleCodes.size();
+        lastRefreshMillis = elapsed;
+        maxRefreshMillis.accumulateAndGet(elapsed, Math::max);
+        log.info("权限缓存增量刷新完成，角色数：{}，移除：{}，变更：{}，耗时：{} ms",
+                rolePermsMap.size(), removedRoleCodes.size(), changedRolePermsMap.size(), elapsed);
+    }
 
+    /**
+     * 查询所有角色的权限(忽略无权限的角色)
+     *
+     * @return 角色编码 -> 权限标识集合
+     */
+    private Map<String, Set<String>> listRolePerms() {
         List<RolePermsBO> list = this.baseMapper.getRolePermsList(null);
+        Map<String, Set<String>> rolePermsMap = new HashMap<>();
         if (CollectionUtil.isNotEmpty(list)) {
             list.forEach(item -> {
-                String roleCode = item.getRoleCode();
-                Set<String> perms = item.getPerms();
-                if (CollectionUtil.isNotEmpty(perms)) {
-                    redisTemplate.opsForHash().put(SecurityConstants.ROLE_PERMS_PREFIX, roleCode, perms);
+                if (CollectionUtil.isNotEmpty(item.getPerms())) {
+                    rolePermsMap.put(item.getRoleCode(), item.getPerms());
                 }
             });
         }
+        return rolePermsMap;
     }
 
     /**
@@ -64,21 +174,18 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
      */
     @Override
     public void refreshRolePermsCache(String roleCode) {
+        roleRefreshes.increment();
         // 清理权限缓存
         redisTemplate.opsForHash().delete(SecurityConstants.ROLE_PERMS_PREFIX, roleCode);
 
         List<RolePermsBO> list = this.baseMapper.getRolePermsList(roleCode);
         if (CollectionUtil.isNotEmpty(list)) {
             RolePermsBO rolePerms = list.get(0);
-            if (rolePerms == null) {
-                return;
-            }
-
-            Set<String> perms = rolePerms.getPerms();
-            if (CollectionUtil.isNotEmpty(perms)) {
-                redisTemplate.opsForHash().put(SecurityConstants.ROLE_PERMS_PREFIX, roleCode, perms);
+            if (rolePerms != null && CollectionUtil.isNotEmpty(rolePerms.getPerms())) {
+                redisTemplate.opsForHash().put(SecurityConstants.ROLE_PERMS_PREFIX, roleCode, rolePerms.getPerms());
             }
         }
+        publishRolePermsChange(roleCode);
     }
 
     /**
@@ -86,6 +193,7 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
      */
     @Override
     public void refreshRolePermsCache(String oldRoleCode, String newRoleCode) {
+        roleRefreshes.increment();
         // 清理旧角色权限缓存
         redisTemplate.opsForHash().delete(SecurityConstants.ROLE_PERMS_PREFIX, oldRoleCode);
 
@@ -93,13 +201,45 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
         List<RolePermsBO> list = this.baseMapper.getRolePermsList(newRoleCode);
         if (CollectionUtil.isNotEmpty(list)) {
             RolePermsBO rolePerms = list.get(0);
-            if (rolePerms == null) {
-                return;
+            if (rolePerms != null) {
+                redisTemplate.opsForHash().put(SecurityConstants.ROLE_PERMS_PREFIX, newRoleCode, rolePerms.getPerms());
             }
-
-            Set<String> perms = rolePerms.getPerms();
-            redisTemplate.opsForHash().put(SecurityConstants.ROLE_PERMS_PREFIX, newRoleCode, perms);
         }
+        publishRolePermsChange(oldRoleCode);
+        publishRolePermsChange(newRoleCode);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "rolePermsCache";
+    }
+
+    /**
+     * 获取权限缓存重建和刷新的统计信息
+     */
+    @Override
+    public RolePermsCacheStats getStats() {
+        return new RolePermsCacheStats(
+                rebuilds.sum(),
+                lastRebuildRoles,
+                lastRebuildMillis,
+                maxRebuildMillis.get(),
+                refreshes.sum(),
+                lastRefreshChanged,
+                lastRefreshRemoved,
+                lastRefreshMillis,
+                maxRefreshMillis.get(),
+                roleRefreshes.sum()
+        );
+    }
+
+    /**
+     * 通知所有节点清除角色的本地权限匹配器
+     *
+     * @param roleCode 角色编码，{@link PermissionService#ALL_ROLES} 表示全部
+     */
+    private void publishRolePermsChange(String roleCode) {
+        redisTemplate.convertAndSend(RedisConstants.ROLE_PERMS_EVICT_TOPIC, roleCode);
     }
 
     /**
@@ -17,12 +17,14 @@ import com.youlai.boot.system.model.query.RolePageQuery;
 import com.youlai.boot.system.model.vo.RolePageVO;
 import com.youlai.boot.common.constant.SystemConstants;
 import com.youlai.boot.common.model.Option;
+import com.youlai.boot.core.security.service.UserAuthInfoCache;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.system.service.RoleMenuService;
 import com.youlai.boot.system.service.RoleService;
 import com.youlai.boot.system.service.UserRoleService;
+import com.youlai.boot.common.enums.DataDomainEnum;
+import com.youlai.boot.core.web.DataVersionManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +45,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     private final RoleMenuService roleMenuService;
     private final UserRoleService userRoleService;
     private final RoleConverter roleConverter;
+    private final UserAuthInfoCache userAuthInfoCache;
+    private final MenuSnapshotHolder menuSnapshotHolder;
+    private final DataVersionManager dataVersionManager;
 
     /**
      * 角色分页列表
@@ -123,6 +128,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
 
         boolean result = this.saveOrUpdate(role);
         if (result) {
+            dataVersionManager.bump(DataDomainEnum.ROLE);
             // 判断角色编码或状态是否修改，修改了则刷新权限缓存
             if (oldRole != null
                     && (
@@ -130,6 +136,16 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
                             !ObjectUtil.equals(oldRole.getStatus(), roleForm.getStatus())
             )) {
                 roleMenuService.refreshRolePermsCache(oldRole.getCode(), roleCode);
+                menuSnapshotHolder.invalidate();
+            }
+            // 角色编码、状态或数据权限修改后，清除拥有该角色的用户认证信息缓存
+            if (oldRole != null
+                    && (
+                    !StrUtil.equals(oldRole.getCode(), roleCode) ||
+                            !ObjectUtil.equals(oldRole.getStatus(), roleForm.getStatus()) ||
+                            !ObjectUtil.equals(oldRole.getDataScope(), roleForm.getDataScope())
+            )) {
+                userAuthInfoCache.evictRole(oldRole.getCode(), roleCode);
             }
         }
         return result;
@@ -167,6 +183,10 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         if (result) {
             // 刷新角色的权限缓存
             roleMenuService.refreshRolePermsCache(role.getCode());
+            menuSnapshotHolder.invalidate();
+            dataVersionManager.bump(DataDomainEnum.ROLE);
+            // 清除拥有该角色的用户认证信息缓存
+            userAuthInfoCache.evictRole(role.getCode());
         }
         return result;
     }
@@ -195,6 +215,8 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
             if (deleteResult) {
                 // 删除成功，刷新权限缓存
                 roleMenuService.refreshRolePermsCache(role.getCode());
+                menuSnapshotHolder.invalidate();
+                dataVersionManager.bump(DataDomainEnum.ROLE);
             }
         }
     }
@@ -218,7 +240,6 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
      */
     @Override
     @Transactional
-    @CacheEvict(cacheNames = "menu", key = "'routes'")
     public void assignMenusToRole(Long roleId, List<Long> menuIds) {
         Role role = this.getById(roleId);
         if (role == null) {
@@ -240,6 +261,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
 
         // 刷新角色的权限缓存
         roleMenuService.refreshRolePermsCache(role.getCode());
+        // 清除菜单路由缓存
+        menuSnapshotHolder.invalidate();
+        dataVersionManager.bump(DataDomainEnum.ROLE);
     }
 
     /**
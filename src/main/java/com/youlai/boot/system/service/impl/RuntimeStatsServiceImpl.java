@@ -0,0 +1,48 @@
+package com.youlai.boot.system.service.impl;
+
+import com.youlai.boot.core.stats.RuntimeStatsContributor;
+import com.youlai.boot.core.web.LatencyMonitor;
+import com.youlai.boot.system.model.vo.EndpointLatencyVO;
+import com.youlai.boot.system.service.RuntimeStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 运行统计 服务实现类
+ * <p>
+ * 汇总所有 {@link RuntimeStatsContributor} 的统计信息，新增统计项无需修改本类
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Service
+@RequiredArgsConstructor
+public class RuntimeStatsServiceImpl implements RuntimeStatsService {
+
+    private final List<RuntimeStatsContributor> contributors;
+    private final LatencyMonitor latencyMonitor;
+
+    /**
+     * 获取运行统计，按统计项名称排序
+     */
+    @Override
+    public Map<String, Object> getRuntimeStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        for (RuntimeStatsContributor contributor : contributors) {
+            stats.put(contributor.getStatsName(), contributor.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 接口耗时统计
+     */
+    @Override
+    public List<EndpointLatencyVO> getLatencyStats() {
+        return latencyMonitor.getLatencyStats();
+    }
+}
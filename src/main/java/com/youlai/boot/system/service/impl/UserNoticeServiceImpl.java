@@ -52,10 +52,7 @@ public class UserNoticeServiceImpl extends ServiceImpl<UserNoticeMapper, UserNot
      */
     @Override
     public IPage<UserNoticePageVO> getMyNoticePage(Page<NoticePageVO> page, NoticePageQuery queryParams) {
-        return this.getBaseMapper().getMyNoticePage(
-                new Page<>(queryParams.getPageNum(), queryParams.getPageSize()),
-                queryParams
-        );
+        return this.getBaseMapper().getMyNoticePage(page, queryParams);
     }
 
 
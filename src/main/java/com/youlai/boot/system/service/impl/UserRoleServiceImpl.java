@@ -3,17 +3,23 @@ package com.youlai.boot.system.service.impl;
 import cn.hutool.core.collection.CollectionUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.core.security.service.UserAuthInfoCache;
 import com.youlai.boot.system.mapper.UserRoleMapper;
 import com.youlai.boot.system.model.entity.UserRole;
 import com.youlai.boot.system.service.UserRoleService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> implements UserRoleService {
 
+    private final UserAuthInfoCache userAuthInfoCache;
+
+
     /**
      * 保存用户角色
      *
@@ -64,6 +70,8 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
                 );
             }
         }
+        // 清除用户认证信息缓存
+        userAuthInfoCache.evictUser(userId);
         return true;
 
     }
@@ -8,12 +8,14 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.common.base.CursorPage;
 import com.youlai.boot.common.constant.RedisConstants;
 import com.youlai.boot.common.constant.SystemConstants;
 import com.youlai.boot.common.exception.BusinessException;
 import com.youlai.boot.common.model.Option;
 import com.youlai.boot.core.security.manager.TokenManager;
 import com.youlai.boot.core.security.service.PermissionService;
+import com.youlai.boot.core.security.service.UserAuthInfoCache;
 import com.youlai.boot.core.security.util.SecurityUtils;
 import com.youlai.boot.shared.mail.service.MailService;
 import com.youlai.boot.shared.sms.enums.SmsTypeEnum;
@@ -73,6 +75,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     private final UserConverter userConverter;
 
+    private final UserAuthInfoCache userAuthInfoCache;
+
+
     /**
      * 获取用户分页列表
      *
@@ -82,15 +87,16 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Override
     public IPage<UserPageVO> getUserPage(UserPageQuery queryParams) {
 
-        // 参数构建
-        int pageNum = queryParams.getPageNum();
-        int pageSize = queryParams.getPageSize();
-        Page<UserBO> page = new Page<>(pageNum, pageSize);
+        // 参数构建(传入游标时为游标分页)
+        Page<UserBO> page = CursorPage.of(queryParams);
         // 查询数据
         Page<UserBO> userPage = this.baseMapper.getUserPage(page, queryParams);
+        CursorPage.complete(userPage,
+                "create_time".equals(queryParams.getField()) ? UserBO::getCreateTime : UserBO::getUpdateTime,
+                UserBO::getId);
 
         // 实体转换
-        return userConverter.toPageVo(userPage);
+        return userPage.convert(userConverter::toPageVo);
     }
 
     /**
@@ -163,6 +169,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (result) {
             // 保存用户角色
             userRoleService.saveUserRoles(entity.getId(), userForm.getRoleIds());
+            // 清除用户认证信息缓存
+            userAuthInfoCache.evictUser(userId);
         }
         return result;
     }
@@ -180,55 +188,57 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         List<Long> ids = Arrays.stream(idsStr.split(","))
                 .map(Long::parseLong)
                 .collect(Collectors.toList());
-        return this.removeByIds(ids);
+        boolean result = this.removeByIds(ids);
+        if (result) {
+            ids.forEach(userAuthInfoCache::evictUser);
+        }
+        return result;
 
     }
 
     /**
-     * 根据用户名获取认证信息
+     * 根据用户名获取认证信息(优先读取缓存)
      *
      * @param username 用户名
      * @return 用户认证信息 {@link UserAuthInfo}
      */
     @Override
     public UserAuthInfo getUserAuthInfo(String username) {
-        UserAuthInfo userAuthInfo = this.baseMapper.getUserAuthInfo(username);
-        if (userAuthInfo != null) {
-            Set<String> roles = userAuthInfo.getRoles();
-            // 获取最大范围的数据权限
-            Integer dataScope = roleService.getMaximumDataScope(roles);
-            userAuthInfo.setDataScope(dataScope);
-        }
-        return userAuthInfo;
+        return userAuthInfoCache.getByUsername(username,
+                key -> fillDataScope(this.baseMapper.getUserAuthInfo(key)));
     }
 
     /**
-     * 根据 openid 获取用户认证信息
+     * 根据 openid 获取用户认证信息(优先读取缓存)
      *
      * @param openid 微信
      * @return {@link UserAuthInfo}
      */
     @Override
     public UserAuthInfo getUserAuthInfoByOpenId(String openid) {
-        UserAuthInfo userAuthInfo = this.baseMapper.getUserAuthInfoByOpenId(openid);
-        if (userAuthInfo != null) {
-            Set<String> roles = userAuthInfo.getRoles();
-            // 获取最大范围的数据权限
-            Integer dataScope = roleService.getMaximumDataScope(roles);
-            userAuthInfo.setDataScope(dataScope);
-        }
-        return userAuthInfo;
+        return userAuthInfoCache.getByOpenId(openid,
+                key -> fillDataScope(this.baseMapper.getUserAuthInfoByOpenId(key)));
     }
 
     /**
-     * 根据手机号获取用户认证信息
+     * 根据手机号获取用户认证信息(优先读取缓存)
      *
      * @param mobile 手机号
      * @return {@link UserAuthInfo}
      */
     @Override
     public UserAuthInfo getUserAuthInfoByMobile(String mobile) {
-        UserAuthInfo userAuthInfo = this.baseMapper.getUserAuthInfoByMobile(mobile);
+        return userAuthInfoCache.getByMobile(mobile,
+                key -> fillDataScope(this.baseMapper.getUserAuthInfoByMobile(key)));
+    }
+
+    /**
+     * 计算用户认证信息的最大数据权限范围
+     *
+     * @param userAuthInfo 用户认证信息
+     * @return 用户认证信息
+     */
+    private UserAuthInfo fillDataScope(UserAuthInfo userAuthInfo) {
         if (userAuthInfo != null) {
             Set<String> roles = userAuthInfo.getRoles();
             // 获取最大范围的数据权限
@@ -345,7 +355,11 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         Long userId = SecurityUtils.getUserId();
         User entity = userConverter.toEntity(formData);
         entity.setId(userId);
-        return this.updateById(entity);
+        boolean result = this.updateById(entity);
+        if (result) {
+            userAuthInfoCache.evictUser(userId);
+        }
+        return result;
     }
 
 
@@ -382,9 +396,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         );
 
         if (result) {
+            // 清除用户认证信息缓存
+            userAuthInfoCache.evictUser(userId);
             // 加入黑名单，重新登录
             String accessToken = SecurityUtils.getTokenFromRequest();
             tokenManager.blacklistToken(accessToken);
+            // 踢出该用户的其他会话
+            tokenManager.invalidateUserTokens(userId);
         }
         return result;
     }
@@ -398,10 +416,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public boolean resetPassword(Long userId, String password) {
-        return this.update(new LambdaUpdateWrapper<User>()
+        boolean result = this.update(new LambdaUpdateWrapper<User>()
                 .eq(User::getId, userId)
                 .set(User::getPassword, passwordEncoder.encode(password))
         );
+        if (result) {
+            userAuthInfoCache.evictUser(userId);
+        }
+        return result;
     }
 
     /**
@@ -461,11 +483,16 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         redisTemplate.delete(redisCacheKey);
 
         // 更新手机号码
-        return this.update(
+        boolean result = this.update(
                 new LambdaUpdateWrapper<User>()
                         .eq(User::getId, currentUserId)
                         .set(User::getMobile, mobile)
         );
+        if (result) {
+            // 原手机号对应的认证信息缓存失效
+            userAuthInfoCache.evictUser(currentUserId);
+        }
+        return result;
     }
 
     /**
@@ -0,0 +1,419 @@
+package com.youlai.boot.system.service.impl;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.youlai.boot.common.constant.RedisConstants;
+import com.youlai.boot.core.log.LogEvent;
+import com.youlai.boot.system.mapper.LogMapper;
+import com.youlai.boot.system.mapper.VisitDailyMapper;
+import com.youlai.boot.system.model.entity.VisitDaily;
+import com.youlai.boot.system.model.vo.VisitStatsVO;
+import com.youlai.boot.system.model.vo.VisitTrendVO;
+import com.youlai.boot.system.service.VisitStatsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 访问统计 服务实现类
+ * <p>
+ * 日志写入线程每批访问在 Redis 中以一次管道请求累加当天的浏览量(总数、按小时、按接口)，
+ * 并将IP加入按小时划分的 HyperLogLog 和累计 HyperLogLog；后台线程定期将今天和昨天的统计写入
+ * sys_visit_daily / sys_visit_daily_uri。访问统计只读取 Redis 中固定数量的键，
+ * 访问趋势按主键范围读取日统计表，均与日志量无关。
+ * <p>
+ * Redis 中按日的统计只保留 {@link #RETENTION_DAYS} 天，历史数据以日统计表为准；
+ * 首次部署或 Redis 数据丢失后可执行回填任务根据 sys_log 重建。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VisitStatsServiceImpl extends ServiceImpl<VisitDailyMapper, VisitDaily> implements VisitStatsService {
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * 当天浏览量总数的 Hash 字段
+     */
+    private static final String TOTAL_FIELD = "total";
+
+    /**
+     * Redis 中按日统计的保留天数
+     */
+    private static final int RETENTION_DAYS = 3;
+
+    /**
+     * 写入日统计表的间隔(秒)
+     */
+    private static final long FLUSH_INTERVAL_SECONDS = 60;
+
+    /**
+     * 回填时每次 PFADD 的IP数
+     */
+    private static final int PFADD_BATCH_SIZE = 1000;
+
+    /**
+     * 接口路径最大长度，与 sys_visit_daily_uri.request_uri 一致
+     */
+    private static final int MAX_URI_LENGTH = 255;
+
+    private final LogMapper logMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryBuilder.create()
+                        .setNamePrefix("visit-stats-flush-")
+                        .setDaemon(true)
+                        .build());
+        flushExecutor.scheduleWithFixedDelay(this::flushRecent, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        flushRecent();
+    }
+
+    /**
+     * 写入今天和昨天(跨天后补齐昨天最后的访问)的统计
+     */
+    private void flushRecent() {
+        LocalDate today = LocalDate.now();
+        try {
+            flush(today.minusDays(1));
+            flush(today);
+        } catch (Exception e) {
+            log.warn("访问统计写入失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 记录一批访问，统计失败不影响业务
+     * <p>
+     * 先在内存中按天、小时和接口汇总，再通过一次管道写入，每个键每批只执行一次 HINCRBY / PFADD
+     *
+     * @param events 待写入的操作日志
+     */
+    @Override
+    public void recordVisits(List<LogEvent> events) {
+        if (CollectionUtil.isEmpty(events)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // pvKey -> (field -> count)
+        Map<String, Map<String, Long>> pvCounts = new HashMap<>();
+        // uriKey -> (endpoint -> count)
+        Map<String, Map<String, Long>> uriCounts = new HashMap<>();
+        // uvKey -> ips
+        Map<String, Set<String>> hourlyIps = new HashMap<>();
+        Set<String> ips = new HashSet<>();
+        for (LogEvent event : events) {
+            LocalDateTime time = event.log().getCreateTime() != null ? event.log().getCreateTime() : now;
+            String day = time.format(DAY_FORMATTER);
+            String hour = hourField(time.getHour());
+            Map<String, Long> dayCounts = pvCounts.computeIfAbsent(RedisConstants.VISIT_PV_PREFIX + day, k -> new HashMap<>());
+            dayCounts.merge(TOTAL_FIELD, 1L, Long::sum);
+            dayCounts.merge(hour, 1L, Long::sum);
+            if (StrUtil.isNotBlank(event.endpoint())) {
+                uriCounts.computeIfAbsent(RedisConstants.VISIT_URI_PREFIX + day, k -> new HashMap<>())
+                        .merge(event.endpoint(), 1L, Long::sum);
+            }
+            String ip = event.log().getIp();
+            if (StrUtil.isNotBlank(ip)) {
+                hourlyIps.computeIfAbsent(RedisConstants.VISIT_UV_PREFIX + day + hour, k -> new HashSet<>()).add(ip);
+                ips.add(ip);
+            }
+        }
+
+        Duration retention = Duration.ofDays(RETENTION_DAYS);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    Map<String, Map<String, Long>> hashCounts = new HashMap<>(pvCounts);
+                    hashCounts.putAll(uriCounts);
+                    hashCounts.forEach((key, counts) -> {
+                        counts.forEach((field, count) -> ops.opsForHash().increment(key, field, count));
+                        ops.expire(key, retention);
+                    });
+                    hourlyIps.forEach((key, hourIps) -> {
+                        ops.opsForHyperLogLog().add(key, hourIps.toArray());
+                        ops.expire(key, retention);
+                    });
+                    if (!ips.isEmpty()) {
+                        ops.opsForHyperLogLog().add(RedisConstants.VISIT_UV_TOTAL_KEY, ips.toArray());
+                    }
+                    ops.opsForValue().increment(RedisConstants.VISIT_PV_TOTAL_KEY, events.size());
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("访问统计记录失败，数量：{}，{}", events.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 将实时统计结果写入日统计表，已有记录保留较大值
+     *
+     * @param statDate 统计日期
+     */
+    @Override
+    public void flush(LocalDate statDate) {
+        String day = statDate.format(DAY_FORMATTER);
+        Object total = redisTemplate.opsForHash().get(RedisConstants.VISIT_PV_PREFIX + day, TOTAL_FIELD);
+        if (total == null) {
+            // 没有实时统计数据
+            return;
+        }
+        this.baseMapper.mergeDaily(statDate, Convert.toLong(total, 0L), countUv(statDate, 23));
+
+        Map<Object, Object> uriCounts = redisTemplate.opsForHash().entries(RedisConstants.VISIT_URI_PREFIX + day);
+        if (CollectionUtil.isNotEmpty(uriCounts)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            uriCounts.forEach((uri, count) ->
+                    counts.merge(StrUtil.maxLength(String.valueOf(uri), MAX_URI_LENGTH - 3), Convert.toLong(count, 0L), Long::sum));
+            this.baseMapper.mergeDailyUri(statDate, counts);
+        }
+    }
+
+    /**
+     * 根据历史日志回填日统计和访客 HyperLogLog
+     * <p>
+     * 逐日处理，每天只按 create_time 索引范围扫描当天的日志；今天的数据由实时统计负责，不回填
+     *
+     * @param startDate 开始日期，为空时从最早的日志开始
+     * @param endDate   结束日期，为空或不早于今天时截止到昨天
+     */
+    @Override
+    public void backfill(LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        if (startDate == null) {
+            LocalDateTime earliest = logMapper.getEarliestCreateTime();
+            if (earliest == null) {
+                return;
+            }
+            startDate = earliest.toLocalDate();
+        }
+        if (endDate == null || !endDate.isBefore(today)) {
+            endDate = today.minusDays(1);
+        }
+
+        long start = System.currentTimeMillis();
+        int days = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+            this.baseMapper.backfillDaily(dayStart, dayEnd);
+            this.baseMapper.backfillDailyUri(dayStart, dayEnd);
+            addIps(RedisConstants.VISIT_UV_TOTAL_KEY, logMapper.listDistinctIps(dayStart, dayEnd));
+            // Redis 保留期内的日期按小时回填，用于与昨天同一时段的对比
+            if (date.isAfter(today.minusDays(RETENTION_DAYS))) {
+                backfillHourly(date);
+            }
+            days++;
+        }
+
+        // 累计浏览量 = 今天之前的日统计合计 + 今天的实时统计
+        Object todayPv = redisTemplate.opsForHash().get(RedisConstants.VISIT_PV_PREFIX + today.format(DAY_FORMATTER), TOTAL_FIELD);
+        long totalPv = this.baseMapper.sumPvBefore(today) + Convert.toLong(todayPv, 0L);
+        redisTemplate.opsForValue().set(RedisConstants.VISIT_PV_TOTAL_KEY, totalPv);
+        log.info("访问统计回填完成，日期：{} ~ {}，天数：{}，耗时：{}ms", startDate, endDate, days, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按小时回填一天的浏览量和访客 HyperLogLog
+     */
+    private void backfillHourly(LocalDate date) {
+        String day = date.format(DAY_FORMATTER);
+        String pvKey = RedisConstants.VISIT_PV_PREFIX + day;
+        Duration retention = Duration.ofDays(RETENTION_DAYS);
+
+        Map<String, Object> hourlyCounts = new HashMap<>();
+        long total = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            LocalDateTime hourStart = date.atTime(hour, 0);
+            LocalDateTime hourEnd = hourStart.plusHours(1);
+            long count = logMapper.countVisits(hourStart, hourEnd);
+            hourlyCounts.put(hourField(hour), count);
+            total += count;
+
+            String uvKey = RedisConstants.VISIT_UV_PREFIX + day + hourField(hour);
+            redisTemplate.delete(uvKey);
+            if (addIps(uvKey, logMapper.listDistinctIps(hourStart, hourEnd))) {
+                redisTemplate.expire(uvKey, retention);
+            }
+        }
+        hourlyCounts.put(TOTAL_FIELD, total);
+        redisTemplate.delete(pvKey);
+        redisTemplate.opsForHash().putAll(pvKey, hourlyCounts);
+        redisTemplate.expire(pvKey, retention);
+    }
+
+    /**
+     * 分批将IP加入 HyperLogLog
+     *
+     * @return 是否有IP加入
+     */
+    private boolean addIps(String key, List<String> ips) {
+        if (CollectionUtil.isEmpty(ips)) {
+            return false;
+        }
+        for (List<String> batch : CollectionUtil.split(ips, PFADD_BATCH_SIZE)) {
+            redisTemplate.opsForHyperLogLog().add(key, batch.toArray());
+        }
+        return true;
+    }
+
+    /**
+     * 获取访问趋势
+     * <p>
+     * 按主键范围读取日统计表，今天和昨天取实时统计与日统计中的较大值(日统计每分钟写入一次)
+     *
+     * @param startDate 开始时间
+     * @param endDate   结束时间
+     */
+    @Override
+    public VisitTrendVO getVisitTrend(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, VisitDaily> dailyMap = this.list(new LambdaQueryWrapper<VisitDaily>()
+                        .between(VisitDaily::getStatDate, startDate, endDate)
+                ).stream()
+                .collect(Collectors.toMap(VisitDaily::getStatDate, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        List<String> dates = new ArrayList<>();
+        List<Integer> pvList = new ArrayList<>();
+        List<Integer> ipList = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            VisitDaily daily = dailyMap.get(date);
+            long pv = daily != null ? daily.getPv() : 0;
+            long uv = daily != null ? daily.getUv() : 0;
+            if (!date.isAfter(today) && date.isAfter(today.minusDays(2))) {
+                Object livePv = redisTemplate.opsForHash().get(RedisConstants.VISIT_PV_PREFIX + date.format(DAY_FORMATTER), TOTAL_FIELD);
+                pv = Math.max(pv, Convert.toLong(livePv, 0L));
+                uv = Math.max(uv, countUv(date, 23));
+            }
+            dates.add(date.toString());
+            pvList.add(toInt(pv));
+            ipList.add(toInt(uv));
+        }
+
+        VisitTrendVO visitTrend = new VisitTrendVO();
+        visitTrend.setDates(dates);
+        visitTrend.setPvList(pvList);
+        visitTrend.setIpList(ipList);
+        return visitTrend;
+    }
+
+    /**
+     * 获取访问统计
+     * <p>
+     * 今天与昨天同一时段(截至当前小时)对比计算增长率
+     */
+    @Override
+    public VisitStatsVO getVisitStats() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate yesterday = today.minusDays(1);
+        int currentHour = now.getHour();
+
+        // 浏览量统计(PV)
+        Object todayPvValue = redisTemplate.opsForHash().get(RedisConstants.VISIT_PV_PREFIX + today.format(DAY_FORMATTER), TOTAL_FIELD);
+        long todayPv = Convert.toLong(todayPvValue, 0L);
+        List<Object> hourFields = new ArrayList<>();
+        for (int hour = 0; hour <= currentHour; hour++) {
+            hourFields.add(hourField(hour));
+        }
+        long yesterdayPv = redisTemplate.opsForHash()
+                .multiGet(RedisConstants.VISIT_PV_PREFIX + yesterday.format(DAY_FORMATTER), hourFields)
+                .stream()
+                .mapToLong(count -> Convert.toLong(count, 0L))
+                .sum();
+        Long totalPv = Convert.toLong(redisTemplate.opsForValue().get(RedisConstants.VISIT_PV_TOTAL_KEY));
+        if (totalPv == null) {
+            // 累计浏览量丢失时根据日统计表重建
+            totalPv = this.baseMapper.sumPvBefore(today) + todayPv;
+            redisTemplate.opsForValue().setIfAbsent(RedisConstants.VISIT_PV_TOTAL_KEY, totalPv);
+        }
+
+        // 访客数统计(UV)
+        long todayUv = countUv(today, currentHour);
+        long yesterdayUv = countUv(yesterday, currentHour);
+        Long totalUv = redisTemplate.opsForHyperLogLog().size(RedisConstants.VISIT_UV_TOTAL_KEY);
+
+        VisitStatsVO result = new VisitStatsVO();
+        result.setTodayUvCount(toInt(todayUv));
+        result.setTotalUvCount(toInt(Convert.toLong(totalUv, 0L)));
+        result.setUvGrowthRate(growthRate(todayUv, yesterdayUv));
+        result.setTodayPvCount(toInt(todayPv));
+        result.setTotalPvCount(toInt(totalPv));
+        result.setPvGrowthRate(growthRate(todayPv, yesterdayPv));
+        return result;
+    }
+
+    /**
+     * 统计一天中 0 点至指定小时(含)的访客数，多个小时的 HyperLogLog 合并计数
+     */
+    private long countUv(LocalDate date, int lastHour) {
+        String day = date.format(DAY_FORMATTER);
+        String[] keys = new String[lastHour + 1];
+        for (int hour = 0; hour <= lastHour; hour++) {
+            keys[hour] = RedisConstants.VISIT_UV_PREFIX + day + hourField(hour);
+        }
+        return Convert.toLong(redisTemplate.opsForHyperLogLog().size(keys), 0L);
+    }
+
+    private static String hourField(int hour) {
+        return hour < 10 ? "0" + hour : String.valueOf(hour);
+    }
+
+    private static BigDecimal growthRate(long today, long yesterday) {
+        if (yesterday == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(today - yesterday).divide(BigDecimal.valueOf(yesterday), 2, RoundingMode.HALF_UP);
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,52 @@
+-- GCRA(通用信元速率算法)限流脚本，一次调用校验多个限流键，全部通过才记录本次请求
+-- KEYS[i]       限流键，值为理论到达时间(毫秒)
+-- ARGV[2i - 1]  窗口内允许的最大请求数
+-- ARGV[2i]      窗口长度(毫秒)
+-- 返回 {是否放行(1/0), 限流阈值, 剩余次数, 重置时间(毫秒), 重试等待时间(毫秒)}，取剩余次数最少的规则
+
+-- 使用 Redis 服务器时间，避免多节点时钟偏差；低版本 Redis 需开启命令复制才允许在 TIME 之后写入
+if redis.replicate_commands then
+    redis.replicate_commands()
+end
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + tonumber(time[2]) / 1000
+
+local allowed = 1
+local limit, remaining, reset, retryAfter = 0, -1, 0, 0
+local tats = {}
+
+for i, key in ipairs(KEYS) do
+    local max = tonumber(ARGV[2 * i - 1])
+    local period = tonumber(ARGV[2 * i])
+    local interval = period / max
+
+    local tat = tonumber(redis.call('GET', key)) or now
+    if tat < now then
+        tat = now
+    end
+    local newTat = tat + interval
+
+    local keyRemaining, keyReset
+    if newTat - now > period then
+        allowed = 0
+        keyRemaining = 0
+        keyReset = tat - now
+        retryAfter = math.max(retryAfter, newTat - period - now)
+    else
+        keyRemaining = math.floor((period - (newTat - now)) / interval)
+        keyReset = newTat - now
+    end
+    tats[i] = newTat
+
+    if remaining < 0 or keyRemaining < remaining then
+        limit, remaining, reset = max, keyRemaining, keyReset
+    end
+end
+
+if allowed == 1 then
+    for i, key in ipairs(KEYS) do
+        redis.call('SET', key, string.format('%.3f', tats[i]), 'PX', math.ceil(tats[i] - now))
+    end
+end
+
+return {allowed, limit, remaining, math.ceil(reset), math.ceil(retryAfter)}
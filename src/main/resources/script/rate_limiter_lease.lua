@@ -0,0 +1,21 @@
+-- 限流额度租约脚本，从当前固定窗口的全局额度中租用一批请求许可
+-- KEYS[1]  当前窗口的全局额度键(前缀:窗口起始时间，由调用方计算)
+-- ARGV[1]  窗口内允许的最大请求数
+-- ARGV[2]  窗口长度(毫秒)
+-- ARGV[3]  申请的许可数量
+-- 返回 {租到的许可数量, 全局剩余额度}
+
+local key = KEYS[1]
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local used = tonumber(redis.call('GET', key)) or 0
+local granted = math.max(0, math.min(requested, limit - used))
+if granted > 0 then
+    redis.call('INCRBY', key, granted)
+    -- 每个窗口使用独立的键，保留两个窗口长度，节点间时钟存在偏差时不会提前删除仍在使用的额度键
+    redis.call('PEXPIRE', key, window * 2)
+end
+
+return {granted, math.max(0, limit - used - granted)}
@@ -0,0 +1,9 @@
+-- 防重复提交：释放幂等键，仅当幂等键仍由本次请求占用时删除
+-- KEYS[1]  幂等键
+-- ARGV[1]  本次请求的占位值
+-- 返回 是否删除(1/0)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,12 @@
+-- 防重复提交：保存首次响应，仅当幂等键仍由本次请求占用时写入
+-- KEYS[1]  幂等键
+-- ARGV[1]  本次请求的占位值
+-- ARGV[2]  首次响应
+-- ARGV[3]  有效期(秒)
+-- 返回 是否写入(1/0)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('SET', KEYS[1], ARGV[2], 'EX', tonumber(ARGV[3]))
+    return 1
+end
+return 0
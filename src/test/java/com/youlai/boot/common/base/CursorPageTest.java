@@ -0,0 +1,80 @@
+package com.youlai.boot.common.base;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.youlai.boot.system.model.query.UserPageQuery;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 游标分页测试
+ * <p>
+ * 覆盖排序值为空的记录落在页尾的情况：游标使用 {@link PageCursor#NULL_SORT_VALUE}，
+ * 用户列表 SQL 以相同的 COALESCE 表达式排序和比较游标。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+class CursorPageTest {
+
+    private static final String NULL_SORT_EXPRESSION = "COALESCE(u.update_time, '1970-01-01 00:00:00')";
+
+    @Test
+    void nullSortValueAtPageEndProducesSentinelCursor() {
+        BasePageQuery queryParams = new BasePageQuery();
+        queryParams.setCursor("");
+        queryParams.setPageSize(1);
+        Page<Row> page = CursorPage.of(queryParams);
+
+        // 升序时排序值为空的记录排在最前，本页最后一条为 root(更新时间为空)
+        page.setRecords(new ArrayList<>(List.of(new Row(1L, null), new Row(2L, LocalDateTime.of(2024, 1, 1, 0, 0)))));
+        CursorPage.complete(page, Row::updateTime, Row::id);
+
+        CursorPage<Row> cursorPage = (CursorPage<Row>) page;
+        assertThat(cursorPage.isHasNext()).isTrue();
+        assertThat(cursorPage.getRecords()).extracting(Row::id).containsExactly(1L);
+
+        PageCursor next = PageCursor.decode(cursorPage.getNextCursor());
+        assertThat(next.getSortValue()).isEqualTo(PageCursor.NULL_SORT_VALUE);
+        assertThat(next.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void userPageSeeksAndOrdersOnNonNullSortExpression() throws Exception {
+        Configuration configuration = new Configuration();
+        String resource = "mapper/system/UserMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+
+        UserPageQuery queryParams = new UserPageQuery();
+        queryParams.setCursor(new PageCursor(PageCursor.NULL_SORT_VALUE, 1L, -1).encode());
+        CursorPage.of(queryParams);
+        Map<String, Object> params = new HashMap<>();
+        params.put("queryParams", queryParams);
+
+        BoundSql boundSql = configuration.getMappedStatement("com.youlai.boot.system.mapper.UserMapper.getUserPage")
+                .getBoundSql(params);
+        String sql = boundSql.getSql().replaceAll("\\s+", " ");
+
+        // 游标条件和排序使用同一表达式，游标位于排序值为空的记录时后续页仍可继续查询
+        assertThat(sql).contains(NULL_SORT_EXPRESSION + " < ?");
+        assertThat(sql).contains("OR (" + NULL_SORT_EXPRESSION + " = ? AND u.id < ?)");
+        assertThat(sql).contains("ORDER BY " + NULL_SORT_EXPRESSION + " DESC, u.id DESC");
+        assertThat(sql).doesNotContain("u.update_time < ?");
+    }
+
+    private record Row(Long id, LocalDateTime updateTime) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.youlai.boot.core.ratelimit;
+
+import com.youlai.boot.config.property.SecurityProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 额度租约限流器测试
+ * <p>
+ * 多个限流器实例模拟集群节点，共享一个按租约脚本语义实现的内存 Redis，验证多线程并发下集群总放行数不超过全局阈值。
+ * 窗口由手动推进的时钟划分，结果不依赖线程调度和执行速度。
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+class LeasingRateLimiterTest {
+
+    private static final int NODES = 4;
+    private static final int THREADS_PER_NODE = 4;
+    private static final long LIMIT = 200;
+    private static final long WINDOW_MILLIS = 200;
+    private static final int LEASE_SIZE = 10;
+    private static final int WINDOWS = 6;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    private final List<LeasingRateLimiter> limiters = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        limiters.forEach(LeasingRateLimiter::destroy);
+    }
+
+    @Test
+    void globalLimitHoldsAcrossNodes() throws Exception {
+        FakeLeaseRedis redis = new FakeLeaseRedis();
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getRateLimit().setLeaseSize(LEASE_SIZE);
+        securityProperties.getRateLimit().setLeaseTimeToLive(1000L);
+        MutableClock clock = new MutableClock(WINDOW_MILLIS * 1000);
+        for (int i = 0; i < NODES; i++) {
+            limiters.add(new LeasingRateLimiter(redis, securityProperties, clock));
+        }
+        List<RateLimitRule> rules = List.of(new RateLimitRule("test:rate_limiter:api", LIMIT, WINDOW_MILLIS));
+
+        int threads = NODES * THREADS_PER_NODE;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int window = 0; window < WINDOWS; window++) {
+                // 时钟停在窗口内，窗口内的请求全部完成后再进入下一个窗口，按窗口统计不受调度影响
+                clock.set(WINDOW_MILLIS * (1000 + window) + WINDOW_MILLIS / 2);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    LeasingRateLimiter limiter = limiters.get(i % NODES);
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        // [放行数, 拒绝数, 返回 null 的次数]
+                        long[] counts = new long[3];
+                        for (int n = 0; n < REQUESTS_PER_THREAD; n++) {
+                            RateLimitResult result = limiter.tryAcquire(rules);
+                            counts[result == null ? 2 : result.allowed() ? 0 : 1]++;
+                        }
+                        return counts;
+                    }));
+                }
+                start.countDown();
+
+                long allowed = 0;
+                long denied = 0;
+                for (Future<long[]> future : futures) {
+                    long[] counts = future.get(10, TimeUnit.SECONDS);
+                    assertThat(counts[2]).as("window %d null results", window).isZero();
+                    allowed += counts[0];
+                    denied += counts[1];
+                }
+                // 放行的请求都来自该窗口租出的额度
+                assertThat(allowed).as("window %d allowed", window).isLessThanOrEqualTo(LIMIT);
+                // 持续超限时，除各节点未用完的租约外额度都被用完
+                assertThat(allowed).as("window %d allowed", window).isGreaterThanOrEqualTo(LIMIT / 2);
+                assertThat(denied).as("window %d denied", window).isPositive();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(redis.grantedByKey()).hasSize(WINDOWS);
+        assertThat(redis.grantedByKey().values()).allSatisfy(granted -> assertThat(granted).isLessThanOrEqualTo(LIMIT));
+    }
+
+    @Test
+    void deniedWhenGlobalQuotaExhausted() {
+        FakeLeaseRedis redis = new FakeLeaseRedis();
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getRateLimit().setLeaseSize(LEASE_SIZE);
+        // 固定时钟，测试期间不会跨窗口
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(60_000), ZoneOffset.UTC);
+        List<RateLimitRule> rules = List.of(new RateLimitRule("test:rate_limiter:quota", 15, 60_000));
+        LeasingRateLimiter first = new LeasingRateLimiter(redis, securityProperties, clock);
+        LeasingRateLimiter second = new LeasingRateLimiter(redis, securityProperties, clock);
+        limiters.add(first);
+        limiters.add(second);
+
+        // 第一个节点租走 10 个许可，第二个节点只能租到剩余的 5 个
+        assertThat(first.tryAcquire(rules).allowed()).isTrue();
+        int secondAllowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (second.tryAcquire(rules).allowed()) {
+                secondAllowed++;
+            }
+        }
+        assertThat(secondAllowed).isEqualTo(5);
+        assertThat(redis.grantedTotal()).isEqualTo(15);
+    }
+
+    /**
+     * 手动推进的时钟
+     */
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        MutableClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void set(long millis) {
+            this.millis.set(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 按 rate_limiter_lease.lua 语义实现的内存 Redis，脚本串行执行
+     */
+    private static final class FakeLeaseRedis extends RedisTemplate<String, Object> {
+
+        private final Map<String, Long> used = new HashMap<>();
+        private long grantedTotal;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer,
+                                          RedisSerializer<T> resultSerializer, List<String> keys, Object... args) {
+            long limit = Long.parseLong((String) args[0]);
+            long requested = Long.parseLong((String) args[2]);
+
+            String key = keys.get(0);
+            long usedCount = used.getOrDefault(key, 0L);
+            long granted = Math.max(0, Math.min(requested, limit - usedCount));
+            used.put(key, usedCount + granted);
+            grantedTotal += granted;
+            return (T) List.of(granted, Math.max(0, limit - usedCount - granted));
+        }
+
+        synchronized long grantedTotal() {
+            return grantedTotal;
+        }
+
+        synchronized Map<String, Long> grantedByKey() {
+            return new HashMap<>(used);
+        }
+    }
+}
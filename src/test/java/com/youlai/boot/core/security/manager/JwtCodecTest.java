@@ -0,0 +1,166 @@
+package com.youlai.boot.core.security.manager;
+
+import cn.hutool.jwt.JWTPayload;
+import cn.hutool.jwt.JWTUtil;
+import com.youlai.boot.common.constant.JwtClaimConstants;
+import com.youlai.boot.core.security.model.SysUserDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JWT 编解码器测试
+ *
+ * @author Ray.Hao
+ * @since 2.22.0
+ */
+class JwtCodecTest {
+
+    private static final byte[] KEY = "SecretKey012345678901234567890123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtCodec codec = new JwtCodec(KEY, false);
+    private final JwtCodec compactCodec = new JwtCodec(KEY, true);
+
+    @Test
+    void encodeThenDecodeStandardClaims() {
+        String token = codec.encode(user("admin"), List.of("ROLE_ADMIN", "ROLE_GUEST"), "jti-1", 1000L, 2000L);
+
+        JwtCodec.JwtClaims claims = codec.decode(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getJti()).isEqualTo("jti-1");
+        assertThat(claims.getIssuedAt()).isEqualTo(1000L);
+        assertThat(claims.getExpiresAt()).isEqualTo(2000L);
+        SysUserDetails userDetails = claims.getUserDetails();
+        assertThat(userDetails.getUserId()).isEqualTo(2L);
+        assertThat(userDetails.getDeptId()).isEqualTo(3L);
+        assertThat(userDetails.getDataScope()).isEqualTo(1);
+        assertThat(userDetails.getUsername()).isEqualTo("admin");
+        assertThat(authorities(userDetails)).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_GUEST");
+    }
+
+    @Test
+    void compactClaimsRestoreRolePrefix() {
+        String token = compactCodec.encode(user("admin"), List.of("ROLE_ADMIN"), "jti-1", 1000L, null);
+
+        String payload = payload(token);
+        assertThat(payload).contains("\"" + JwtClaimConstants.COMPACT_ROLES + "\":[\"ADMIN\"]");
+        assertThat(payload).doesNotContain("\"exp\"");
+
+        // 标准格式的解码器同样可以解析紧凑格式
+        JwtCodec.JwtClaims claims = codec.decode(token);
+        assertThat(claims).isNotNull();
+        assertThat(claims.getExpiresAt()).isNull();
+        assertThat(claims.getUserDetails().getUserId()).isEqualTo(2L);
+        assertThat(authorities(claims.getUserDetails())).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void escapedStringsRoundTrip() {
+        String username = "a\"b\\c\n\u0001中文";
+        String token = codec.encode(user(username), List.of(), "jti-1", 1000L, 2000L);
+
+        JwtCodec.JwtClaims claims = codec.decode(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getUserDetails().getUsername()).isEqualTo(username);
+        assertThat(claims.getUserDetails().getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void decodeTokenIssuedByHutool() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(JwtClaimConstants.USER_ID, 2L);
+        payload.put(JwtClaimConstants.DEPT_ID, 3L);
+        payload.put(JwtClaimConstants.DATA_SCOPE, 1);
+        payload.put(JwtClaimConstants.AUTHORITIES, Set.of("ROLE_ADMIN"));
+        payload.put(JWTPayload.SUBJECT, "admin");
+        payload.put(JWTPayload.JWT_ID, "jti-1");
+        payload.put(JWTPayload.ISSUED_AT, 1000L);
+        payload.put(JWTPayload.EXPIRES_AT, 2000L);
+        payload.put("nested", Map.of("list", List.of(1, 2), "flag", true));
+        String token = JWTUtil.createToken(payload, KEY);
+
+        JwtCodec.JwtClaims claims = codec.decode(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getJti()).isEqualTo("jti-1");
+        assertThat(claims.getExpiresAt()).isEqualTo(2000L);
+        assertThat(claims.getUserDetails().getUsername()).isEqualTo("admin");
+        assertThat(claims.getUserDetails().getDataScope()).isEqualTo(1);
+        assertThat(authorities(claims.getUserDetails())).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void rejectTamperedOrForeignTokens() {
+        String token = codec.encode(user("admin"), List.of("ROLE_ADMIN"), "jti-1", 1000L, 2000L);
+        String[] parts = token.split("\\.");
+
+        // 篡改载荷
+        String forgedPayload = base64Url(payload(token).replace("\"admin\"", "\"root\""));
+        assertThat(codec.decode(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+        // 其他密钥签名
+        JwtCodec otherCodec = new JwtCodec("AnotherKey0123456789012345678901234567".getBytes(StandardCharsets.UTF_8), false);
+        assertThat(otherCodec.decode(token)).isNull();
+        // alg 不是 HS256 时即使签名正确也拒绝
+        String noneHeader = base64Url("{\"typ\":\"JWT\",\"alg\":\"none\"}");
+        String resigned = JWTUtil.createToken(Map.of("alg", "none"), Map.of("sub", "admin"), KEY);
+        assertThat(codec.decode(resigned)).isNull();
+        assertThat(codec.decode(noneHeader + "." + parts[1] + ".")).isNull();
+    }
+
+    @Test
+    void rejectMalformedTokens() {
+        String token = codec.encode(user("admin"), List.of(), "jti-1", 1000L, 2000L);
+
+        assertThat(codec.decode(null)).isNull();
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("abc")).isNull();
+        assertThat(codec.decode("a.b")).isNull();
+        assertThat(codec.decode(token + ".extra")).isNull();
+        assertThat(codec.decode(".payload.signature")).isNull();
+        assertThat(codec.decode("a.b.!!!")).isNull();
+    }
+
+    @Test
+    void activeWithinIssuedAtAndExpiresAt() {
+        JwtCodec.JwtClaims claims = codec.decode(codec.encode(user("admin"), List.of(), "jti-1", 1000L, 2000L));
+
+        assertThat(claims.isActive(999L)).isFalse();
+        assertThat(claims.isActive(1000L)).isTrue();
+        assertThat(claims.isActive(2000L)).isTrue();
+        assertThat(claims.isActive(2001L)).isFalse();
+    }
+
+    private static SysUserDetails user(String username) {
+        SysUserDetails userDetails = new SysUserDetails();
+        userDetails.setUserId(2L);
+        userDetails.setDeptId(3L);
+        userDetails.setDataScope(1);
+        userDetails.setUsername(username);
+        return userDetails;
+    }
+
+    private static Set<String> authorities(SysUserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private static String payload(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}